@@ -3,6 +3,7 @@ package io.coti.basenode.communication;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.coti.basenode.communication.interfaces.ISerializer;
@@ -12,6 +13,8 @@ import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
@@ -55,6 +58,14 @@ public class JacksonSerializer implements ISerializer {
         }
     }
 
+    public <T extends IPropagatable> void deserializeStream(InputStream input, Consumer<T> consumer) throws IOException {
+        try (MappingIterator<T> iterator = serializer.readerFor(IPropagatable.class).readValues(input)) {
+            while (iterator.hasNextValue()) {
+                consumer.accept(iterator.nextValue());
+            }
+        }
+    }
+
     public <T extends IPropagatable> T deserialize(String string) {
         try {
             return (T) serializer.readValue(string, IPropagatable.class);
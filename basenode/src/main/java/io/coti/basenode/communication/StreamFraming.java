@@ -0,0 +1,66 @@
+package io.coti.basenode.communication;
+
+import io.coti.basenode.data.interfaces.IPropagatable;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.*;
+import java.util.function.Consumer;
+
+public class StreamFraming {
+
+    public static final String FRAMING_HEADER = "Coti-Stream-Framing";
+    public static final String LENGTH_PREFIXED = "length-prefixed";
+    private static final int MAXIMUM_FRAME_SIZE = 64 * 1024 * 1024;
+
+    private StreamFraming() {
+
+    }
+
+    public static void requestLengthPrefixed(ClientHttpRequest request) {
+        request.getHeaders().set(FRAMING_HEADER, LENGTH_PREFIXED);
+    }
+
+    public static boolean isLengthPrefixed(String framing) {
+        return LENGTH_PREFIXED.equals(framing);
+    }
+
+    public static void setLengthPrefixed(HttpServletResponse response) {
+        response.setHeader(FRAMING_HEADER, LENGTH_PREFIXED);
+    }
+
+    public static void writeFrame(OutputStream output, byte[] frame) throws IOException {
+        output.write(frame.length >>> 24);
+        output.write(frame.length >>> 16);
+        output.write(frame.length >>> 8);
+        output.write(frame.length);
+        output.write(frame);
+    }
+
+    public static <T extends IPropagatable> void readStream(ClientHttpResponse response, JacksonSerializer jacksonSerializer, Consumer<T> consumer) throws IOException {
+        if (isLengthPrefixed(response.getHeaders().getFirst(FRAMING_HEADER))) {
+            readFrames(response.getBody(), jacksonSerializer, consumer);
+        } else {
+            jacksonSerializer.deserializeStream(response.getBody(), consumer);
+        }
+    }
+
+    private static <T extends IPropagatable> void readFrames(InputStream input, JacksonSerializer jacksonSerializer, Consumer<T> consumer) throws IOException {
+        DataInputStream dataInput = new DataInputStream(new BufferedInputStream(input));
+        int firstLengthByte;
+        while ((firstLengthByte = dataInput.read()) != -1) {
+            int frameLength = (firstLengthByte << 24) | (dataInput.readUnsignedByte() << 16) | (dataInput.readUnsignedByte() << 8) | dataInput.readUnsignedByte();
+            if (frameLength < 0 || frameLength > MAXIMUM_FRAME_SIZE) {
+                throw new IOException("Invalid stream frame length " + frameLength);
+            }
+            byte[] frame = new byte[frameLength];
+            dataInput.readFully(frame);
+            T propagatable = jacksonSerializer.deserialize(frame);
+            if (propagatable == null) {
+                throw new IOException("Invalid stream frame of length " + frameLength);
+            }
+            consumer.accept(propagatable);
+        }
+    }
+}
@@ -19,6 +19,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @Service
@@ -37,6 +38,8 @@ public class ZeroMQPropagationPublisher implements IPropagationPublisher {
     private boolean contextTerminated;
     @Autowired
     private ISerializer serializer;
+    private final AtomicLong publishedMessages = new AtomicLong(0);
+    private final AtomicLong publishedBytes = new AtomicLong(0);
 
     public void init(String propagationPort, NodeType publisherNodeType) {
         publishMessageQueue = new LinkedBlockingQueue<>();
@@ -56,17 +59,19 @@ public class ZeroMQPropagationPublisher implements IPropagationPublisher {
     }
 
     public <T extends IPropagatable> void propagate(T toPropagate, List<NodeType> subscriberNodeTypes) {
-
-        subscriberNodeTypes.forEach(subscriberNodeType -> propagateToNode(toPropagate, subscriberNodeType));
-
-    }
-
-    private <T extends IPropagatable> void propagateToNode(T toPropagate, NodeType subscriberNodeType) {
+        if (subscriberNodeTypes.isEmpty()) {
+            return;
+        }
         String serverAddress = "tcp://" + publisherIp + ":" + propagationPort;
-        log.debug("Propagating {} to {}", toPropagate.getHash(), Channel.getChannelString(toPropagate.getClass(), serverAddress, publisherNodeType, subscriberNodeType));
         byte[] message = serializer.serialize(toPropagate);
+        subscriberNodeTypes.forEach(subscriberNodeType -> propagateToNode(toPropagate, message, serverAddress, subscriberNodeType));
+    }
+
+    private <T extends IPropagatable> void propagateToNode(T toPropagate, byte[] message, String serverAddress, NodeType subscriberNodeType) {
+        String channel = Channel.getChannelString(toPropagate.getClass(), serverAddress, publisherNodeType, subscriberNodeType);
+        log.debug("Propagating {} to {}", toPropagate.getHash(), channel);
         if (!zeroMQContext.isClosed()) {
-            publishMessageQueue.add(new ZeroMQMessageData(Channel.getChannelString(toPropagate.getClass(), serverAddress, publisherNodeType, subscriberNodeType), message));
+            publishMessageQueue.add(new ZeroMQMessageData(channel, message));
         }
     }
 
@@ -105,8 +110,11 @@ public class ZeroMQPropagationPublisher implements IPropagationPublisher {
     }
 
     private void publish(ZeroMQMessageData messageData) {
-        propagator.sendMore(messageData.getChannel().getBytes());
+        byte[] channel = messageData.getChannel().getBytes();
+        propagator.sendMore(channel);
         propagator.send(messageData.getMessage());
+        publishedMessages.incrementAndGet();
+        publishedBytes.addAndGet((long) channel.length + messageData.getMessage().length);
     }
 
     private void publishRemainingMessages() {
@@ -118,6 +126,14 @@ public class ZeroMQPropagationPublisher implements IPropagationPublisher {
         }
     }
 
+    public long getPublishedMessages() {
+        return publishedMessages.get();
+    }
+
+    public long getPublishedBytes() {
+        return publishedBytes.get();
+    }
+
     public void shutdown() {
         if (propagator != null) {
             log.info("Shutting down {}", this.getClass().getSimpleName());
@@ -11,5 +11,9 @@ public interface IPropagationPublisher {
 
     <T extends IPropagatable> void propagate(T toPropagate, List<NodeType> subscriberNodeTypes);
 
+    long getPublishedMessages();
+
+    long getPublishedBytes();
+
     void shutdown();
 }
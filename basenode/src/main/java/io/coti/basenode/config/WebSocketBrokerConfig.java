@@ -1,15 +1,22 @@
 package io.coti.basenode.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketBrokerConfig implements WebSocketMessageBrokerConfigurer {
 
+    @Value("${websocket.send.time.limit.millis: 5000}")
+    private int sendTimeLimitInMillis;
+    @Value("${websocket.send.buffer.size.limit: 262144}")
+    private int sendBufferSizeLimit;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         registry.setApplicationDestinationPrefixes("/app")
@@ -20,4 +27,15 @@ public class WebSocketBrokerConfig implements WebSocketMessageBrokerConfigurer {
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/websocket").setAllowedOrigins("*").withSockJS();
     }
-}
\ No newline at end of file
+
+    /**
+     * Limits the outbound buffer of each subscriber session. A subscriber that does not read its frames within the send time
+     * limit, or whose unsent frames exceed the buffer size limit, is disconnected instead of holding back the other subscribers,
+     * and receives the latest state when it subscribes again.
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitInMillis)
+                .setSendBufferSizeLimit(sendBufferSizeLimit);
+    }
+}
@@ -0,0 +1,21 @@
+package io.coti.basenode.controllers;
+
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.prometheus.client.exporter.common.TextFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin/metrics")
+public class MetricsController {
+
+    @Autowired
+    private PrometheusMeterRegistry meterRegistry;
+
+    @GetMapping(produces = TextFormat.CONTENT_TYPE_004)
+    public String getMetrics() {
+        return meterRegistry.scrape();
+    }
+}
@@ -1,7 +1,11 @@
 package io.coti.basenode.crypto;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.SignatureData;
+import lombok.extern.slf4j.Slf4j;
 import org.bouncycastle.asn1.sec.SECNamedCurves;
 import org.bouncycastle.asn1.x9.X9ECParameters;
 import org.bouncycastle.crypto.params.ECDomainParameters;
@@ -22,10 +26,15 @@ import java.security.KeyFactory;
 import java.security.NoSuchAlgorithmException;
 import java.security.PublicKey;
 import java.security.spec.InvalidKeySpecException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Predicate;
 import java.util.zip.CRC32;
 import java.util.zip.Checksum;
 
+@Slf4j
 public class CryptoHelper {
 
     private static final String EC_SPEC = "secp256k1";
@@ -35,27 +44,82 @@ public class CryptoHelper {
     private static final ECParameterSpec spec = new ECParameterSpec(curve.getCurve(), curve.getG(), curve.getN(), curve.getH());
     public static final int ADDRESS_SIZE_IN_BYTES = 68;
     public static final int ADDRESS_CHECKSUM_SIZE_IN_BYTES = 4;
+    private static final int PUBLIC_KEY_CACHE_SIZE = 10000;
+    private static final Cache<String, ECPublicKeyParameters> publicKeyCache = CacheBuilder.newBuilder().maximumSize(PUBLIC_KEY_CACHE_SIZE).recordStats().build();
+    private static final int SIGNATURE_VERIFICATION_THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final int SIGNATURE_VERIFICATION_QUEUE_SIZE = 1000;
+    private static final long IDLE_THREAD_KEEP_ALIVE_SECONDS = 60;
+    private static final ThreadPoolExecutor signatureVerificationExecutor = createSignatureVerificationExecutor();
 
     private CryptoHelper() {
 
     }
 
     public static PublicKey getPublicKeyFromHexString(String pubKeyHex) throws NoSuchAlgorithmException, InvalidKeySpecException {
-        String pointX = pubKeyHex.substring(0, (pubKeyHex.length() / 2));
-        String pointY = pubKeyHex.substring(pubKeyHex.length() / 2);
-
-        BigInteger p256X = new BigInteger(pointX, 16);
-        BigInteger p256Y = new BigInteger(pointY, 16);
-
-        ECPoint point = curve.getCurve().createPoint(p256X, p256Y);
-        ECPublicKeySpec publicSpec = new ECPublicKeySpec(point, spec);
+        ECPublicKeySpec publicSpec = new ECPublicKeySpec(getPublicKeyParameters(pubKeyHex).getQ(), spec);
         KeyFactory keyfac = KeyFactory.getInstance(EC_ALGORITHM, new BouncyCastleProvider());
 
         return keyfac.generatePublic(publicSpec);
     }
 
+    private static ECPublicKeyParameters getPublicKeyParameters(String pubKeyHex) {
+        ECPublicKeyParameters publicKeyParameters = publicKeyCache.getIfPresent(pubKeyHex);
+        if (publicKeyParameters == null) {
+            String pointX = pubKeyHex.substring(0, (pubKeyHex.length() / 2));
+            String pointY = pubKeyHex.substring(pubKeyHex.length() / 2);
+
+            BigInteger p256X = new BigInteger(pointX, 16);
+            BigInteger p256Y = new BigInteger(pointY, 16);
+
+            ECPoint point = curve.getCurve().createPoint(p256X, p256Y);
+            publicKeyParameters = new ECPublicKeyParameters(point, domain);
+            publicKeyCache.put(pubKeyHex, publicKeyParameters);
+        }
+        return publicKeyParameters;
+    }
+
     public static boolean verifyByPublicKey(byte[] originalMessageToVerify, String rHex, String sHex, String publicKey) throws InvalidKeySpecException, NoSuchAlgorithmException {
-        return verifyByPublicKey(originalMessageToVerify, rHex, sHex, getPublicKeyFromHexString(publicKey));
+        return verifyByPublicKey(originalMessageToVerify, rHex, sHex, getPublicKeyParameters(publicKey));
+    }
+
+    /**
+     * Verifies the items on a dedicated bounded pool rather than the common ForkJoin pool. When the queue of the pool is full, the calling
+     * thread verifies the item itself. A verification nested in a verification of the pool runs sequentially, so that the pool threads never
+     * wait for each other. The remaining verifications are cancelled once an item fails.
+     */
+    public static <T> boolean verifyInParallel(List<T> items, Predicate<T> verifier) {
+        if (items.size() <= 1 || Thread.currentThread() instanceof SignatureVerificationThread) {
+            return items.stream().allMatch(verifier);
+        }
+        List<Future<Boolean>> verifications = new ArrayList<>(items.size());
+        try {
+            items.forEach(item -> verifications.add(signatureVerificationExecutor.submit(() -> verifier.test(item))));
+            for (Future<Boolean> verification : verifications) {
+                if (!verification.get()) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            log.error("Parallel verification error", e.getCause());
+            return false;
+        } finally {
+            verifications.forEach(verification -> verification.cancel(true));
+        }
+    }
+
+    static CacheStats getPublicKeyCacheStats() {
+        return publicKeyCache.stats();
+    }
+
+    private static ThreadPoolExecutor createSignatureVerificationExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(SIGNATURE_VERIFICATION_THREADS, SIGNATURE_VERIFICATION_THREADS, IDLE_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(SIGNATURE_VERIFICATION_QUEUE_SIZE), SignatureVerificationThread::new, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     public static byte[] removeLeadingZerosFromAddress(byte[] addressBytesWithoutChecksum) {
@@ -123,8 +187,12 @@ public class CryptoHelper {
     }
 
     public static boolean verifyByPublicKey(byte[] originalDataToVerify, String rHex, String sHex, PublicKey publicKey) {
+        return verifyByPublicKey(originalDataToVerify, rHex, sHex, new ECPublicKeyParameters(((ECPublicKey) publicKey).getQ(), domain));
+    }
+
+    private static boolean verifyByPublicKey(byte[] originalDataToVerify, String rHex, String sHex, ECPublicKeyParameters publicKeyParameters) {
         ECDSASigner signer = new ECDSASigner();
-        signer.init(false, new ECPublicKeyParameters(((ECPublicKey) publicKey).getQ(), domain));
+        signer.init(false, publicKeyParameters);
         BigInteger r = new BigInteger(rHex, 16);
         BigInteger s = new BigInteger(sHex, 16);
         return signer.verifySignature(originalDataToVerify, r, s);
@@ -183,4 +251,12 @@ public class CryptoHelper {
         digest.update(input);
         return new Hash(digest.digest());
     }
+
+    private static class SignatureVerificationThread extends Thread {
+
+        private SignatureVerificationThread(Runnable runnable) {
+            super(runnable, "Signature verification");
+            setDaemon(true);
+        }
+    }
 }
@@ -8,6 +8,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.security.NoSuchAlgorithmException;
 import java.security.spec.InvalidKeySpecException;
+import java.util.List;
 
 @Slf4j
 public abstract class SignatureCrypto<T extends ISignable & ISignValidatable> extends SignatureCreationCrypto<T> {
@@ -21,6 +22,10 @@ public abstract class SignatureCrypto<T extends ISignable & ISignValidatable> ex
         }
     }
 
+    public boolean verifySignatures(List<T> signValidatables) {
+        return CryptoHelper.verifyInParallel(signValidatables, this::verifySignature);
+    }
+
     public SignatureData getSignature(T signValidatable) {
         return signValidatable.getSignature();
     }
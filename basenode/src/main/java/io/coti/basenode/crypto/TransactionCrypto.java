@@ -78,11 +78,12 @@ public class TransactionCrypto extends SignatureCrypto<TransactionData> {
 
         if (!this.isTransactionHashCorrect(transactionData))
             return false;
-        for (BaseTransactionData baseTransactionData : transactionData.getBaseTransactions()) {
-            if (!BaseTransactionCrypto.getByBaseTransactionClass(baseTransactionData.getClass()).isBaseTransactionValid(transactionData, baseTransactionData))
-                return false;
-        }
-        return true;
+        return areBaseTransactionsValid(transactionData);
+    }
+
+    public boolean areBaseTransactionsValid(TransactionData transactionData) {
+        return CryptoHelper.verifyInParallel(transactionData.getBaseTransactions(), baseTransactionData ->
+                BaseTransactionCrypto.getByBaseTransactionClass(baseTransactionData.getClass()).isBaseTransactionValid(transactionData, baseTransactionData));
     }
 
 
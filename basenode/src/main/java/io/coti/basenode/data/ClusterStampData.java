@@ -2,19 +2,23 @@ package io.coti.basenode.data;
 
 import io.coti.basenode.data.interfaces.ISignValidatable;
 import io.coti.basenode.data.interfaces.ISignable;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
-
-import java.util.ArrayList;
-import java.util.List;
+import org.bouncycastle.crypto.digests.KeccakDigest;
 
 @Slf4j
 @Data
 public class ClusterStampData implements ISignable, ISignValidatable {
 
     private Hash zeroSpendServerHash;
-    private List<byte[]> signatureMessage = new ArrayList<>();
-    private int messageByteSize = 0;
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final KeccakDigest signatureMessageDigest = new KeccakDigest(256);
     private SignatureData zeroSpendSignature;
 
     @Override
@@ -37,7 +41,18 @@ public class ClusterStampData implements ISignable, ISignValidatable {
         zeroSpendServerHash = signerHash;
     }
 
-    public void incrementMessageByteSize(long addedMessageByteSize) {
-        messageByteSize += addedMessageByteSize;
+    /**
+     * Hashes the next part of the signature message, so that the clusterstamp lines are not kept in memory until the signature
+     * is checked.
+     */
+    public void updateSignatureMessage(byte[] signatureMessagePart) {
+        signatureMessageDigest.update(signatureMessagePart, 0, signatureMessagePart.length);
+    }
+
+    public byte[] getSignatureMessageHash() {
+        KeccakDigest digest = new KeccakDigest(signatureMessageDigest);
+        byte[] signatureMessageHash = new byte[digest.getDigestSize()];
+        digest.doFinal(signatureMessageHash, 0);
+        return signatureMessageHash;
     }
 }
\ No newline at end of file
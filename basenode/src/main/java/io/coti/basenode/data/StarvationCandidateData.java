@@ -0,0 +1,26 @@
+package io.coti.basenode.data;
+
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.Comparator;
+
+@Data
+public class StarvationCandidateData implements Comparable<StarvationCandidateData> {
+
+    private static final Comparator<StarvationCandidateData> CHAIN_ATTACHMENT_TIME_COMPARATOR =
+            Comparator.comparing(StarvationCandidateData::getChainAttachmentTime)
+                    .thenComparing(starvationCandidateData -> starvationCandidateData.getTransactionData().getHash().toHexString());
+    private TransactionData transactionData;
+    private Instant chainAttachmentTime;
+
+    public StarvationCandidateData(TransactionData transactionData, Instant chainAttachmentTime) {
+        this.transactionData = transactionData;
+        this.chainAttachmentTime = chainAttachmentTime;
+    }
+
+    @Override
+    public int compareTo(StarvationCandidateData other) {
+        return CHAIN_ATTACHMENT_TIME_COMPARATOR.compare(this, other);
+    }
+}
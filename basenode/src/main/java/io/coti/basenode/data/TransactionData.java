@@ -89,6 +89,33 @@ public class TransactionData implements IPropagatable, Comparable<TransactionDat
         this(baseTransactions, transactionHash, transactionDescription, trustScoreResults, createTime, senderHash, null, type);
     }
 
+    public TransactionData(TransactionData transactionData) {
+        this.baseTransactions = transactionData.getBaseTransactions();
+        this.hash = transactionData.getHash();
+        this.amount = transactionData.getAmount();
+        this.type = transactionData.getType();
+        this.leftParentHash = transactionData.getLeftParentHash();
+        this.rightParentHash = transactionData.getRightParentHash();
+        this.trustChainConsensus = transactionData.isTrustChainConsensus();
+        this.trustChainTrustScore = transactionData.getTrustChainTrustScore();
+        this.trustChainConsensusTime = transactionData.getTrustChainConsensusTime();
+        this.transactionConsensusUpdateTime = transactionData.getTransactionConsensusUpdateTime();
+        this.createTime = transactionData.getCreateTime();
+        this.attachmentTime = transactionData.getAttachmentTime();
+        this.senderTrustScore = transactionData.getSenderTrustScore();
+        this.senderHash = transactionData.getSenderHash();
+        this.senderSignature = transactionData.getSenderSignature();
+        this.nodeHash = transactionData.getNodeHash();
+        this.nodeSignature = transactionData.getNodeSignature();
+        this.childrenTransactionHashes = transactionData.getChildrenTransactionHashes() != null ? new ArrayList<>(transactionData.getChildrenTransactionHashes()) : null;
+        this.valid = transactionData.isValid();
+        this.isVisit = transactionData.isVisit();
+        this.transactionDescription = transactionData.getTransactionDescription();
+        this.dspConsensusResult = transactionData.getDspConsensusResult();
+        this.trustScoreResults = transactionData.getTrustScoreResults();
+        this.nonces = transactionData.getNonces();
+    }
+
     private void initTransactionData() {
         this.childrenTransactionHashes = new ArrayList<>();
     }
@@ -6,6 +6,8 @@ import io.coti.basenode.database.interfaces.IDatabaseConnector;
 import io.coti.basenode.exceptions.DataBaseException;
 import io.coti.basenode.model.Collection;
 import io.coti.basenode.model.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.rocksdb.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,12 +19,18 @@ import org.springframework.util.SerializationUtils;
 import java.io.File;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class BaseNodeRocksDBConnector implements IDatabaseConnector {
 
+    private static final String READ_TIMER_NAME = "coti.db.read";
+    private static final String WRITE_TIMER_NAME = "coti.db.write";
+    private static final String BATCH_WRITE_TIMER_NAME = "coti.db.batch.write";
+
     @Value("${database.folder.name}")
     private String databaseFolderName;
     @Value("${application.name}")
@@ -31,17 +39,38 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
     private boolean dropNotListedColumnFamilies;
     @Value("${reset.transactions}")
     private boolean resetTransactions;
+    @Value("${db.block.cache.size.mb}")
+    private long blockCacheSizeMb;
+    @Value("${db.write.buffer.size.mb}")
+    private long writeBufferSizeMb;
+    @Value("${db.bloom.filter.bits.per.key}")
+    private int bloomFilterBitsPerKey;
+    @Value("${db.compression.type}")
+    private CompressionType compressionType;
+    @Value("#{'${db.column.family.profiles}'.split(',')}")
+    private List<String> columnFamilyProfileOverrides;
     @Autowired
     private ApplicationContext ctx;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    private final Map<String, Timer> readTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> writeTimers = new ConcurrentHashMap<>();
     private String dbPath;
     private RocksDB db;
     protected List<String> columnFamilyClassNames;
     protected List<String> resetColumnFamilyNames = new ArrayList<>();
     private List<String> resetTransactionColumnFamilyNames;
     private Map<String, ColumnFamilyHandle> classNameToColumnFamilyHandleMapping = new LinkedHashMap<>();
+    protected Map<String, ColumnFamilyProfile> columnFamilyProfiles = new HashMap<>();
+    private Map<ColumnFamilyProfile, ColumnFamilyOptions> profileToColumnFamilyOptionsMapping = new EnumMap<>(ColumnFamilyProfile.class);
+    private Cache blockCache;
+    private Filter bloomFilter;
+    private final Map<WritePolicy, WriteOptions> writePolicyToWriteOptionsMapping = new EnumMap<>(WritePolicy.class);
 
     public void init() {
         setColumnFamily();
+        setColumnFamilyProfiles();
+        overrideColumnFamilyProfiles();
         init(applicationName + databaseFolderName);
         log.info("{} is up", this.getClass().getSimpleName());
     }
@@ -68,11 +97,42 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
         ));
     }
 
+    protected void setColumnFamilyProfiles() {
+        columnFamilyProfiles.put(Transactions.class.getName(), ColumnFamilyProfile.POINT_LOOKUP);
+        columnFamilyProfiles.put(Addresses.class.getName(), ColumnFamilyProfile.POINT_LOOKUP);
+        columnFamilyProfiles.put(TransactionIndexes.class.getName(), ColumnFamilyProfile.APPEND_INDEX);
+        columnFamilyProfiles.put(AddressTransactionsHistories.class.getName(), ColumnFamilyProfile.SCAN_HISTORY);
+    }
+
+    private void overrideColumnFamilyProfiles() {
+        columnFamilyProfileOverrides.stream().map(String::trim).filter(override -> !override.isEmpty()).forEach(override -> {
+            String[] columnFamilyAndProfile = override.split(":");
+            if (columnFamilyAndProfile.length != 2) {
+                throw new DataBaseException(String.format("Invalid column family profile %s. Expected format is ColumnFamily:Profile", override));
+            }
+            String columnFamilyName = columnFamilyAndProfile[0].trim();
+            ColumnFamilyProfile columnFamilyProfile;
+            try {
+                columnFamilyProfile = ColumnFamilyProfile.valueOf(columnFamilyAndProfile[1].trim());
+            } catch (IllegalArgumentException e) {
+                throw new DataBaseException(String.format("Invalid profile in column family profile %s. Available profiles are %s", override, Arrays.toString(ColumnFamilyProfile.values())));
+            }
+            List<String> matchingColumnFamilyNames = columnFamilyClassNames.stream().filter(columnFamilyClassName ->
+                    columnFamilyClassName.equals(columnFamilyName) || columnFamilyClassName.endsWith("." + columnFamilyName)
+            ).collect(Collectors.toList());
+            if (matchingColumnFamilyNames.isEmpty()) {
+                throw new DataBaseException(String.format("Unknown column family in column family profile %s", override));
+            }
+            matchingColumnFamilyNames.forEach(matchingColumnFamilyName -> columnFamilyProfiles.put(matchingColumnFamilyName, columnFamilyProfile));
+        });
+    }
+
     public void init(String dbPath) {
         this.dbPath = dbPath;
         try {
             initColumnFamilyClasses();
             loadLibrary();
+            createWriteOptions();
             createDbDirectory();
             if (dropNotListedColumnFamilies) {
                 openDBAndDropNotListedColumnFamilies();
@@ -153,7 +213,7 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
                     columnFamilyHandle.close();
                     classNameToColumnFamilyHandleMapping.remove(columnFamilyName);
                     if (create) {
-                        columnFamilyHandle = db.createColumnFamily(new ColumnFamilyDescriptor(columnFamilyName.getBytes()));
+                        columnFamilyHandle = db.createColumnFamily(new ColumnFamilyDescriptor(columnFamilyName.getBytes(), getColumnFamilyOptions(columnFamilyName)));
                         classNameToColumnFamilyHandleMapping.put(columnFamilyName, columnFamilyHandle);
                         log.info("Column family {} reset", columnFamilyName);
                     } else {
@@ -178,6 +238,7 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
             initiateColumnFamilyDescriptors(dbColumnFamilies, columnFamilyDescriptors);
             dbOptions.setCreateIfMissing(true);
             dbOptions.setCreateMissingColumnFamilies(true);
+            dbOptions.setIncreaseParallelism(Runtime.getRuntime().availableProcessors());
             db = RocksDB.open(dbOptions, dbPath, columnFamilyDescriptors, columnFamilyHandles);
             populateColumnFamilies(dbColumnFamilies, columnFamilyHandles);
         } catch (Exception e) {
@@ -189,7 +250,10 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
     private void initColumnFamilyClasses() {
         for (int i = 1; i < columnFamilyClassNames.size(); i++) {
             try {
-                ((Collection) ctx.getBean(Class.forName(columnFamilyClassNames.get(i)))).init();
+                Object columnFamilyBean = ctx.getBean(Class.forName(columnFamilyClassNames.get(i)));
+                if (columnFamilyBean instanceof Collection) {
+                    ((Collection) columnFamilyBean).init();
+                }
             } catch (Exception e) {
                 throw new DataBaseException("Error at init column family classes.", e);
             }
@@ -206,7 +270,46 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
 
     private void initiateColumnFamilyDescriptors(List<String> dbColumnFamilies, List<ColumnFamilyDescriptor> columnFamilyDescriptors) {
         List<String> columnFamilyNamesToInit = Optional.ofNullable(dbColumnFamilies).orElse(columnFamilyClassNames);
-        columnFamilyNamesToInit.forEach(columnFamilyName -> columnFamilyDescriptors.add(new ColumnFamilyDescriptor(columnFamilyName.getBytes())));
+        columnFamilyNamesToInit.forEach(columnFamilyName -> columnFamilyDescriptors.add(new ColumnFamilyDescriptor(columnFamilyName.getBytes(), getColumnFamilyOptions(columnFamilyName))));
+    }
+
+    private ColumnFamilyOptions getColumnFamilyOptions(String columnFamilyName) {
+        ColumnFamilyProfile columnFamilyProfile = columnFamilyProfiles.getOrDefault(columnFamilyName, ColumnFamilyProfile.DEFAULT);
+        return profileToColumnFamilyOptionsMapping.computeIfAbsent(columnFamilyProfile, this::createColumnFamilyOptions);
+    }
+
+    private ColumnFamilyOptions createColumnFamilyOptions(ColumnFamilyProfile columnFamilyProfile) {
+        if (blockCache == null) {
+            blockCache = new LRUCache(blockCacheSizeMb * 1024 * 1024);
+            bloomFilter = new BloomFilter(bloomFilterBitsPerKey, false);
+        }
+        BlockBasedTableConfig tableConfig = new BlockBasedTableConfig()
+                .setBlockCache(blockCache)
+                .setBlockSize(columnFamilyProfile.getBlockSizeKb() * 1024L)
+                .setCacheIndexAndFilterBlocks(true)
+                .setPinL0FilterAndIndexBlocksInCache(true);
+        if (columnFamilyProfile.isBloomFilter()) {
+            tableConfig.setFilterPolicy(bloomFilter);
+        }
+        ColumnFamilyOptions columnFamilyOptions = new ColumnFamilyOptions()
+                .setTableFormatConfig(tableConfig)
+                .setWriteBufferSize(writeBufferSizeMb * 1024 * 1024 * columnFamilyProfile.getWriteBufferMultiplier())
+                .setCompressionType(compressionType)
+                .setBottommostCompressionType(columnFamilyProfile.getBottommostCompressionType())
+                .setLevelCompactionDynamicLevelBytes(true);
+        log.info("Created RocksDB column family options for profile {}", columnFamilyProfile);
+        return columnFamilyOptions;
+    }
+
+    private void closeColumnFamilyOptions() {
+        profileToColumnFamilyOptionsMapping.values().forEach(ColumnFamilyOptions::close);
+        profileToColumnFamilyOptionsMapping.clear();
+        if (blockCache != null) {
+            bloomFilter.close();
+            blockCache.close();
+            bloomFilter = null;
+            blockCache = null;
+        }
     }
 
     @Override
@@ -250,11 +353,14 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
 
     @Override
     public byte[] getByKey(String columnFamilyName, byte[] key) {
+        long startTime = System.nanoTime();
         try {
             return db.get(classNameToColumnFamilyHandleMapping.get(columnFamilyName), key);
         } catch (RocksDBException e) {
             log.error("Error at getting by key from db", e);
             return null;
+        } finally {
+            getTimer(readTimers, READ_TIMER_NAME, columnFamilyName).record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
         }
     }
 
@@ -281,23 +387,29 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
 
     @Override
     public boolean put(String columnFamilyName, byte[] key, byte[] value) {
+        long startTime = System.nanoTime();
         try {
             db.put(classNameToColumnFamilyHandleMapping.get(columnFamilyName), key, value);
             return true;
         } catch (Exception e) {
             log.error("Error at putting to db", e);
             return false;
+        } finally {
+            getTimer(writeTimers, WRITE_TIMER_NAME, columnFamilyName).record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
         }
     }
 
     @Override
     public boolean put(String columnFamilyName, WriteOptions writeOptions, byte[] key, byte[] value) {
+        long startTime = System.nanoTime();
         try {
             db.put(classNameToColumnFamilyHandleMapping.get(columnFamilyName), writeOptions, key, value);
             return true;
         } catch (Exception e) {
             log.error("Error at putting to db with write options", e);
             return false;
+        } finally {
+            getTimer(writeTimers, WRITE_TIMER_NAME, columnFamilyName).record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
         }
     }
 
@@ -313,15 +425,28 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
 
     @Override
     public boolean putBatch(WriteBatch writeBatch) {
+        return putBatch(writeBatch, WritePolicy.DEFAULT);
+    }
+
+    @Override
+    public boolean putBatch(WriteBatch writeBatch, WritePolicy writePolicy) {
+        long startTime = System.nanoTime();
         try {
-            db.write(new WriteOptions(), writeBatch);
+            db.write(writePolicyToWriteOptionsMapping.get(writePolicy), writeBatch);
             return true;
         } catch (RocksDBException e) {
             log.error("Error at putting by batch to db", e);
             return false;
+        } finally {
+            meterRegistry.timer(BATCH_WRITE_TIMER_NAME).record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
         }
     }
 
+    private Timer getTimer(Map<String, Timer> timers, String timerName, String columnFamilyName) {
+        return timers.computeIfAbsent(columnFamilyName, name ->
+                meterRegistry.timer(timerName, "column.family", name.substring(name.lastIndexOf('.') + 1)));
+    }
+
     @Override
     public void delete(String columnFamilyName, byte[] key) {
         try {
@@ -331,6 +456,16 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
         }
     }
 
+    @Override
+    public boolean delete(String columnFamilyName, WriteBatch writeBatch, byte[] key) {
+        try {
+            writeBatch.delete(classNameToColumnFamilyHandleMapping.get(columnFamilyName), key);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
     @Override
     public IEntity get(Class<?> entityClass, Hash key) {
         try {
@@ -370,6 +505,19 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
         }
     }
 
+    private void createWriteOptions() {
+        if (writePolicyToWriteOptionsMapping.isEmpty()) {
+            for (WritePolicy writePolicy : WritePolicy.values()) {
+                writePolicyToWriteOptionsMapping.put(writePolicy, writePolicy.createWriteOptions());
+            }
+        }
+    }
+
+    private void closeWriteOptions() {
+        writePolicyToWriteOptionsMapping.values().forEach(WriteOptions::close);
+        writePolicyToWriteOptionsMapping.clear();
+    }
+
     private void closeDB() {
         Iterator<ColumnFamilyHandle> iterator = classNameToColumnFamilyHandleMapping.values().iterator();
         while (iterator.hasNext()) {
@@ -385,6 +533,8 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
     public void shutdown() {
         log.info("Shutting down {}", this.getClass().getSimpleName());
         closeDB();
+        closeColumnFamilyOptions();
+        closeWriteOptions();
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package io.coti.basenode.database;
+
+import org.rocksdb.CompressionType;
+
+public enum ColumnFamilyProfile {
+    DEFAULT(false, 1, 4, CompressionType.DISABLE_COMPRESSION_OPTION),
+    POINT_LOOKUP(true, 1, 4, CompressionType.DISABLE_COMPRESSION_OPTION),
+    APPEND_INDEX(true, 2, 4, CompressionType.DISABLE_COMPRESSION_OPTION),
+    SCAN_HISTORY(true, 1, 32, CompressionType.ZSTD_COMPRESSION);
+
+    private final boolean bloomFilter;
+    private final int writeBufferMultiplier;
+    private final int blockSizeKb;
+    private final CompressionType bottommostCompressionType;
+
+    ColumnFamilyProfile(boolean bloomFilter, int writeBufferMultiplier, int blockSizeKb, CompressionType bottommostCompressionType) {
+        this.bloomFilter = bloomFilter;
+        this.writeBufferMultiplier = writeBufferMultiplier;
+        this.blockSizeKb = blockSizeKb;
+        this.bottommostCompressionType = bottommostCompressionType;
+    }
+
+    public boolean isBloomFilter() {
+        return bloomFilter;
+    }
+
+    public int getWriteBufferMultiplier() {
+        return writeBufferMultiplier;
+    }
+
+    public int getBlockSizeKb() {
+        return blockSizeKb;
+    }
+
+    public CompressionType getBottommostCompressionType() {
+        return bottommostCompressionType;
+    }
+}
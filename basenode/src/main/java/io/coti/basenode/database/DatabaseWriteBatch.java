@@ -0,0 +1,73 @@
+package io.coti.basenode.database;
+
+import io.coti.basenode.database.interfaces.IDatabaseConnector;
+import io.coti.basenode.exceptions.DataBaseException;
+import org.rocksdb.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A unit of work over several column families. Puts and deletes are collected in a single {@link WriteBatch} and written
+ * atomically on commit, and the actions registered with {@link #afterCommit(Runnable)}, such as cache invalidations, run only
+ * after a successful commit.
+ */
+public class DatabaseWriteBatch implements AutoCloseable {
+
+    private final IDatabaseConnector databaseConnector;
+    private final WriteBatch writeBatch = new WriteBatch();
+    private final List<Runnable> afterCommitActions = new ArrayList<>();
+    private boolean committed;
+
+    public DatabaseWriteBatch(IDatabaseConnector databaseConnector) {
+        this.databaseConnector = databaseConnector;
+    }
+
+    public void put(String columnFamilyName, byte[] key, byte[] value) {
+        checkNotCommitted();
+        if (!databaseConnector.put(columnFamilyName, writeBatch, key, value)) {
+            throw new DataBaseException(String.format("Error at adding a put to %s to a write batch", columnFamilyName));
+        }
+    }
+
+    public void delete(String columnFamilyName, byte[] key) {
+        checkNotCommitted();
+        if (!databaseConnector.delete(columnFamilyName, writeBatch, key)) {
+            throw new DataBaseException(String.format("Error at adding a delete from %s to a write batch", columnFamilyName));
+        }
+    }
+
+    public void afterCommit(Runnable afterCommitAction) {
+        checkNotCommitted();
+        afterCommitActions.add(afterCommitAction);
+    }
+
+    public int count() {
+        return writeBatch.count();
+    }
+
+    public boolean commit() {
+        return commit(WritePolicy.DEFAULT);
+    }
+
+    public boolean commit(WritePolicy writePolicy) {
+        checkNotCommitted();
+        committed = true;
+        if (!databaseConnector.putBatch(writeBatch, writePolicy)) {
+            return false;
+        }
+        afterCommitActions.forEach(Runnable::run);
+        return true;
+    }
+
+    private void checkNotCommitted() {
+        if (committed) {
+            throw new IllegalStateException("Write batch was already committed");
+        }
+    }
+
+    @Override
+    public void close() {
+        writeBatch.close();
+    }
+}
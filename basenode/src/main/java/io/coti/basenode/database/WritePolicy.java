@@ -0,0 +1,21 @@
+package io.coti.basenode.database;
+
+import org.rocksdb.WriteOptions;
+
+public enum WritePolicy {
+    DEFAULT(false, false),
+    SYNC(true, false),
+    NO_WAL(false, true);
+
+    private final boolean sync;
+    private final boolean disableWAL;
+
+    WritePolicy(boolean sync, boolean disableWAL) {
+        this.sync = sync;
+        this.disableWAL = disableWAL;
+    }
+
+    public WriteOptions createWriteOptions() {
+        return new WriteOptions().setSync(sync).setDisableWAL(disableWAL);
+    }
+}
@@ -2,6 +2,8 @@ package io.coti.basenode.database.interfaces;
 
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.interfaces.IEntity;
+import io.coti.basenode.database.DatabaseWriteBatch;
+import io.coti.basenode.database.WritePolicy;
 import org.rocksdb.RocksIterator;
 import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
@@ -24,10 +26,18 @@ public interface IDatabaseConnector {
 
     boolean putBatch(WriteBatch writeBatch);
 
+    boolean putBatch(WriteBatch writeBatch, WritePolicy writePolicy);
+
+    default DatabaseWriteBatch createWriteBatch() {
+        return new DatabaseWriteBatch(this);
+    }
+
     byte[] getByKey(String columnFamilyName, byte[] key);
 
     void delete(String columnFamilyName, byte[] key);
 
+    boolean delete(String columnFamilyName, WriteBatch writeBatch, byte[] key);
+
     RocksIterator getIterator(String columnFamilyName);
 
     boolean isEmpty(String columnFamilyName);
@@ -1,9 +1,15 @@
 package io.coti.basenode.model;
 
 import io.coti.basenode.data.AddressTransactionsHistory;
+import io.coti.basenode.model.codec.AddressTransactionsHistoryCodec;
 import org.springframework.stereotype.Service;
 
 @Service
 public class AddressTransactionsHistories extends Collection<AddressTransactionsHistory> {
 
+    @Override
+    public void init() {
+        super.init();
+        entityCodec = new AddressTransactionsHistoryCodec();
+    }
 }
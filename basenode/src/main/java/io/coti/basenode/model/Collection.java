@@ -2,50 +2,95 @@ package io.coti.basenode.model;
 
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.interfaces.IEntity;
+import io.coti.basenode.database.DatabaseWriteBatch;
+import io.coti.basenode.database.WritePolicy;
 import io.coti.basenode.database.interfaces.IDatabaseConnector;
+import io.coti.basenode.exceptions.DataBaseException;
+import io.coti.basenode.model.codec.JavaSerializationEntityCodec;
+import io.coti.basenode.model.codec.interfaces.IEntityCodec;
 import lombok.extern.slf4j.Slf4j;
 import org.rocksdb.RocksIterator;
-import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.util.SerializationUtils;
+import org.springframework.core.env.Environment;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
 import java.util.function.Consumer;
 
 @Slf4j
 public abstract class Collection<T extends IEntity> {
 
     private static final int LOCK_BYTE_ARRAY_SIZE = 2;
+    private static final String CACHE_SIZE_PROPERTY_PREFIX = "db.cache.size.";
+    private static final int SCAN_BATCH_SIZE = 500;
+    private static final int DECODED_BATCHES_PER_THREAD = 2;
     @Autowired
     public IDatabaseConnector databaseConnector;
+    @Autowired
+    private Environment environment;
     protected String columnFamilyName = getClass().getName();
+    protected IEntityCodec<T> entityCodec = new JavaSerializationEntityCodec<>();
     private Map<Hash, byte[]> lockByteArrayMap;
+    private CollectionCache<T> cache;
 
     public void init() {
         log.info("Collection init running. Class: " + columnFamilyName);
+        initCache();
+    }
+
+    private void initCache() {
+        long cacheSize = environment.getProperty(CACHE_SIZE_PROPERTY_PREFIX + getClass().getSimpleName(), Long.class, 0L);
+        if (cacheSize > 0) {
+            cache = new CollectionCache<>(cacheSize);
+            log.info("Collection {} cache enabled with size {}", getClass().getSimpleName(), cacheSize);
+        }
     }
 
     public void put(IEntity entity) {
-        databaseConnector.put(columnFamilyName, entity.getHash().getBytes(), SerializationUtils.serialize(entity));
+        databaseConnector.put(columnFamilyName, entity.getHash().getBytes(), entityCodec.encode(entity));
+        invalidateCache(entity.getHash());
     }
 
     public void put(WriteOptions writeOptions, IEntity entity) {
-        databaseConnector.put(columnFamilyName, writeOptions, entity.getHash().getBytes(), SerializationUtils.serialize(entity));
+        databaseConnector.put(columnFamilyName, writeOptions, entity.getHash().getBytes(), entityCodec.encode(entity));
+        invalidateCache(entity.getHash());
+    }
+
+    public void put(DatabaseWriteBatch databaseWriteBatch, IEntity entity) {
+        put(databaseWriteBatch, entity.getHash(), entity);
+    }
+
+    private void put(DatabaseWriteBatch databaseWriteBatch, Hash hash, IEntity entity) {
+        databaseWriteBatch.put(columnFamilyName, hash.getBytes(), entityCodec.encode(entity));
+        databaseWriteBatch.afterCommit(() -> invalidateCache(hash));
     }
 
     public void putBatch(Map<Hash, ? extends IEntity> entities) {
-        WriteBatch writeBatch = new WriteBatch();
-        entities.forEach((hash, entity) ->
-                databaseConnector.put(columnFamilyName, writeBatch, hash.getBytes(), SerializationUtils.serialize(entity))
-        );
-        databaseConnector.putBatch(writeBatch);
+        putBatch(entities, WritePolicy.DEFAULT);
+    }
+
+    public void putBatch(Map<Hash, ? extends IEntity> entities, WritePolicy writePolicy) {
+        try (DatabaseWriteBatch databaseWriteBatch = databaseConnector.createWriteBatch()) {
+            entities.forEach((hash, entity) -> put(databaseWriteBatch, hash, entity));
+            databaseWriteBatch.commit(writePolicy);
+        }
     }
 
     public void delete(IEntity entity) {
         databaseConnector.delete(columnFamilyName, entity.getHash().getBytes());
+        invalidateCache(entity.getHash());
+    }
+
+    public void delete(DatabaseWriteBatch databaseWriteBatch, IEntity entity) {
+        Hash hash = entity.getHash();
+        databaseWriteBatch.delete(columnFamilyName, hash.getBytes());
+        databaseWriteBatch.afterCommit(() -> invalidateCache(hash));
     }
 
     public T getByHash(String hashStringInHexRepresentation) {
@@ -53,8 +98,31 @@ public abstract class Collection<T extends IEntity> {
     }
 
     public T getByHash(Hash hash) {
-        byte[] bytes = databaseConnector.getByKey(columnFamilyName, hash.getBytes());
-        T deserialized = (T) SerializationUtils.deserialize(bytes);
+        if (cache != null) {
+            T cachedEntity = cache.get(hash, () -> getByHashFromDB(hash));
+            return cachedEntity != null ? copyCachedEntity(cachedEntity) : null;
+        }
+        return getByHashFromDB(hash);
+    }
+
+    /**
+     * Returns a copy of a cached entity that the caller may change before putting it. Collections with a cache configured should override
+     * it with a cheap copy of the fields their callers change, as the default copy encodes and decodes the entity.
+     */
+    protected T copyCachedEntity(T entity) {
+        return decode(entity.getHash(), entityCodec.encode(entity));
+    }
+
+    public boolean existsByHash(Hash hash) {
+        return (cache != null && cache.contains(hash)) || databaseConnector.getByKey(columnFamilyName, hash.getBytes()) != null;
+    }
+
+    private T getByHashFromDB(Hash hash) {
+        return decode(hash, databaseConnector.getByKey(columnFamilyName, hash.getBytes()));
+    }
+
+    private T decode(Hash hash, byte[] bytes) {
+        T deserialized = entityCodec.decode(bytes);
         if (deserialized instanceof IEntity) {
             deserialized.setHash(hash);
         }
@@ -66,7 +134,7 @@ public abstract class Collection<T extends IEntity> {
         try {
             iterator.seekToFirst();
             while (iterator.isValid()) {
-                T deserialized = (T) SerializationUtils.deserialize(iterator.value());
+                T deserialized = entityCodec.decode(iterator.value());
                 deserialized.setHash(new Hash(iterator.key()));
                 consumer.accept(deserialized);
                 iterator.next();
@@ -76,6 +144,78 @@ public abstract class Collection<T extends IEntity> {
         }
     }
 
+    public void forEach(Consumer<T> consumer, int decodeThreads) {
+        if (decodeThreads <= 1) {
+            forEach(consumer);
+            return;
+        }
+        ExecutorService decodeExecutor = Executors.newFixedThreadPool(decodeThreads);
+        BlockingQueue<Future<List<T>>> decodedBatches = new ArrayBlockingQueue<>(decodeThreads * DECODED_BATCHES_PER_THREAD);
+        Thread scanThread = new Thread(() -> scanInBatches(decodeExecutor, decodedBatches), columnFamilyName + " scan");
+        scanThread.start();
+        try {
+            List<T> batch;
+            while ((batch = decodedBatches.take().get()) != null) {
+                batch.forEach(consumer);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataBaseException(String.format("Interrupted while iterating %s", columnFamilyName), e);
+        } catch (ExecutionException e) {
+            throw new DataBaseException(String.format("Error at parallel decoding of %s", columnFamilyName), e.getCause());
+        } finally {
+            scanThread.interrupt();
+            decodeExecutor.shutdownNow();
+        }
+    }
+
+    private void scanInBatches(ExecutorService decodeExecutor, BlockingQueue<Future<List<T>>> decodedBatches) {
+        RocksIterator iterator = null;
+        try {
+            iterator = databaseConnector.getIterator(columnFamilyName);
+            iterator.seekToFirst();
+            while (iterator.isValid()) {
+                List<byte[]> keys = new ArrayList<>(SCAN_BATCH_SIZE);
+                List<byte[]> values = new ArrayList<>(SCAN_BATCH_SIZE);
+                while (iterator.isValid() && keys.size() < SCAN_BATCH_SIZE) {
+                    keys.add(iterator.key());
+                    values.add(iterator.value());
+                    iterator.next();
+                }
+                decodedBatches.put(decodeExecutor.submit(() -> decodeBatch(keys, values)));
+            }
+            decodedBatches.put(CompletableFuture.completedFuture(null));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            CompletableFuture<List<T>> failedBatch = new CompletableFuture<>();
+            failedBatch.completeExceptionally(e);
+            putFailedBatch(decodedBatches, failedBatch);
+        } finally {
+            if (iterator != null) {
+                iterator.close();
+            }
+        }
+    }
+
+    private void putFailedBatch(BlockingQueue<Future<List<T>>> decodedBatches, Future<List<T>> failedBatch) {
+        try {
+            decodedBatches.put(failedBatch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<T> decodeBatch(List<byte[]> keys, List<byte[]> values) {
+        List<T> batch = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            T deserialized = entityCodec.decode(values.get(i));
+            deserialized.setHash(new Hash(keys.get(i)));
+            batch.add(deserialized);
+        }
+        return batch;
+    }
+
     public void lockAndGetByHash(Hash hash, Consumer<T> consumer) {
         if (lockByteArrayMap == null) {
             throw new IllegalArgumentException(String.format("Collection %s is not lockable", columnFamilyName));
@@ -89,11 +229,15 @@ public abstract class Collection<T extends IEntity> {
             throw new IllegalArgumentException("Hash lock object doesn't exist");
         }
         synchronized (lockByteArray) {
-            T entity = getByHash(hash);
+            T entity = getByHashFromDB(hash);
             consumer.accept(entity);
         }
     }
 
+    public T decode(byte[] bytes) {
+        return entityCodec.decode(bytes);
+    }
+
     public RocksIterator getIterator() {
         return databaseConnector.getIterator(columnFamilyName);
     }
@@ -110,6 +254,7 @@ public abstract class Collection<T extends IEntity> {
 
     public void deleteByHash(Hash hash) {
         databaseConnector.delete(columnFamilyName, hash.getBytes());
+        invalidateCache(hash);
     }
 
     public void deleteAll() {
@@ -122,6 +267,19 @@ public abstract class Collection<T extends IEntity> {
             }
         } finally {
             iterator.close();
+            if (cache != null) {
+                cache.invalidateAll();
+            }
+        }
+    }
+
+    public Optional<CollectionCache<T>> getCache() {
+        return Optional.ofNullable(cache);
+    }
+
+    private void invalidateCache(Hash hash) {
+        if (cache != null) {
+            cache.invalidate(hash);
         }
     }
 
@@ -0,0 +1,69 @@
+package io.coti.basenode.model;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import io.coti.basenode.data.Hash;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the decoded entities of a collection by hash. The cached instances are shared, so the collection hands every reader its own copy
+ * and an entity changed by a caller is never visible to other readers before it is put.
+ */
+public class CollectionCache<T> {
+
+    private static final int INVALIDATION_STRIPES = 64;
+    private final Cache<Hash, T> cache;
+    private final AtomicLongArray invalidationStamps = new AtomicLongArray(INVALIDATION_STRIPES);
+
+    public CollectionCache(long maximumSize) {
+        cache = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+    }
+
+    public T get(Hash hash, Supplier<T> loader) {
+        T entity = cache.getIfPresent(hash);
+        if (entity != null) {
+            return entity;
+        }
+        int stripe = getStripe(hash);
+        long stamp = invalidationStamps.get(stripe);
+        entity = loader.get();
+        if (entity != null) {
+            cache.put(hash, entity);
+            if (invalidationStamps.get(stripe) != stamp) {
+                cache.asMap().remove(hash, entity);
+            }
+        }
+        return entity;
+    }
+
+    public boolean contains(Hash hash) {
+        return cache.asMap().containsKey(hash);
+    }
+
+    public void invalidate(Hash hash) {
+        invalidationStamps.incrementAndGet(getStripe(hash));
+        cache.invalidate(hash);
+    }
+
+    public void invalidateAll() {
+        for (int i = 0; i < INVALIDATION_STRIPES; i++) {
+            invalidationStamps.incrementAndGet(i);
+        }
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private int getStripe(Hash hash) {
+        return (hash.hashCode() & Integer.MAX_VALUE) % INVALIDATION_STRIPES;
+    }
+}
@@ -1,9 +1,20 @@
 package io.coti.basenode.model;
 
 import io.coti.basenode.data.TransactionIndexData;
+import io.coti.basenode.model.codec.TransactionIndexDataCodec;
 import org.springframework.stereotype.Component;
 
 @Component
 public class TransactionIndexes extends Collection<TransactionIndexData> {
 
-}
\ No newline at end of file
+    @Override
+    public void init() {
+        super.init();
+        entityCodec = new TransactionIndexDataCodec();
+    }
+
+    @Override
+    protected TransactionIndexData copyCachedEntity(TransactionIndexData transactionIndexData) {
+        return new TransactionIndexData(transactionIndexData.getTransactionHash(), transactionIndexData.getIndex(), transactionIndexData.getAccumulatedHash());
+    }
+}
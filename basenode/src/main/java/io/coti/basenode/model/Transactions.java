@@ -1,6 +1,7 @@
 package io.coti.basenode.model;
 
 import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.model.codec.TransactionDataCodec;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -11,6 +12,12 @@ public class Transactions extends Collection<TransactionData> {
     @Override
     public void init() {
         super.init();
+        entityCodec = new TransactionDataCodec();
         generateLockObjects();
     }
+
+    @Override
+    protected TransactionData copyCachedEntity(TransactionData transactionData) {
+        return new TransactionData(transactionData);
+    }
 }
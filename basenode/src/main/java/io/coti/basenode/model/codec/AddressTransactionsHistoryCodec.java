@@ -0,0 +1,31 @@
+package io.coti.basenode.model.codec;
+
+import io.coti.basenode.data.AddressTransactionsHistory;
+
+public class AddressTransactionsHistoryCodec extends CompactBinaryEntityCodec<AddressTransactionsHistory> {
+
+    private static final int VERSION = 1;
+
+    public AddressTransactionsHistoryCodec() {
+        super(AddressTransactionsHistory.class);
+    }
+
+    @Override
+    protected int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    protected void writeEntity(CompactBinaryOutput output, AddressTransactionsHistory addressTransactionsHistory) {
+        output.writeInstant(addressTransactionsHistory.getCreationTime());
+        output.writeCollection(addressTransactionsHistory.getTransactionsHistory(), CompactBinaryOutput::writeHash);
+    }
+
+    @Override
+    protected AddressTransactionsHistory readEntity(CompactBinaryInput input, int version) {
+        AddressTransactionsHistory addressTransactionsHistory = new AddressTransactionsHistory(null);
+        addressTransactionsHistory.setCreationTime(input.readInstant());
+        input.readCollection(size -> addressTransactionsHistory.getTransactionsHistory(), CompactBinaryInput::readHash);
+        return addressTransactionsHistory;
+    }
+}
@@ -0,0 +1,88 @@
+package io.coti.basenode.model.codec;
+
+import io.coti.basenode.data.interfaces.IEntity;
+import io.coti.basenode.exceptions.DataBaseException;
+import io.coti.basenode.model.codec.interfaces.IEntityCodec;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Constructor;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+public abstract class CompactBinaryEntityCodec<T extends IEntity> implements IEntityCodec<T> {
+
+    private static final byte COMPACT_FORMAT_MARKER = (byte) 0xC0;
+    private static final int HEADER_SIZE = 2;
+    private static final Map<Class<?>, Constructor<?>> constructors = new ConcurrentHashMap<>();
+    private final Class<T> entityClass;
+    private final JavaSerializationEntityCodec<T> legacyCodec = new JavaSerializationEntityCodec<>();
+
+    protected CompactBinaryEntityCodec(Class<T> entityClass) {
+        this.entityClass = entityClass;
+    }
+
+    protected abstract int getVersion();
+
+    protected abstract void writeEntity(CompactBinaryOutput output, T entity);
+
+    protected abstract T readEntity(CompactBinaryInput input, int version);
+
+    @Override
+    public byte[] encode(IEntity entity) {
+        if (entity.getClass() != entityClass) {
+            return legacyCodec.encode(entity);
+        }
+        try {
+            CompactBinaryOutput output = new CompactBinaryOutput();
+            output.writeByte(COMPACT_FORMAT_MARKER);
+            output.writeByte(getVersion());
+            writeEntity(output, entityClass.cast(entity));
+            return output.toByteArray();
+        } catch (Exception e) {
+            log.warn("Falling back to java serialization for {} {}: {}", entityClass.getSimpleName(), entity.getHash(), e.getMessage());
+            return legacyCodec.encode(entity);
+        }
+    }
+
+    @Override
+    public T decode(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        if (JavaSerializationEntityCodec.isJavaSerialized(bytes)) {
+            return legacyCodec.decode(bytes);
+        }
+        if (bytes.length < HEADER_SIZE || bytes[0] != COMPACT_FORMAT_MARKER) {
+            throw new DataBaseException(String.format("Unknown encoding of %s", entityClass.getSimpleName()));
+        }
+        int version = bytes[1];
+        if (version < 1 || version > getVersion()) {
+            throw new DataBaseException(String.format("Unsupported encoding version %s of %s", version, entityClass.getSimpleName()));
+        }
+        try {
+            return readEntity(new CompactBinaryInput(bytes, HEADER_SIZE), version);
+        } catch (Exception e) {
+            throw new DataBaseException(String.format("Error decoding %s of version %s", entityClass.getSimpleName(), version), e);
+        }
+    }
+
+    protected static <E> E newInstance(Class<E> instanceClass) {
+        try {
+            Constructor<?> constructor = constructors.computeIfAbsent(instanceClass, CompactBinaryEntityCodec::getAccessibleConstructor);
+            return instanceClass.cast(constructor.newInstance());
+        } catch (Exception e) {
+            throw new IllegalStateException(String.format("Unable to instantiate %s", instanceClass.getSimpleName()), e);
+        }
+    }
+
+    private static Constructor<?> getAccessibleConstructor(Class<?> instanceClass) {
+        try {
+            Constructor<?> constructor = instanceClass.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(String.format("No default constructor for %s", instanceClass.getSimpleName()), e);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package io.coti.basenode.model.codec;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.SignatureData;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+public class CompactBinaryInput {
+
+    private final byte[] buffer;
+    private int position;
+
+    public CompactBinaryInput(byte[] buffer, int offset) {
+        this.buffer = buffer;
+        this.position = offset;
+    }
+
+    public int readByte() {
+        checkAvailable(1);
+        return buffer[position++];
+    }
+
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    public Boolean readNullableBoolean() {
+        int value = readByte();
+        return value == 0 ? null : value == 2;
+    }
+
+    public int readInt() {
+        checkAvailable(Integer.BYTES);
+        int value = 0;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            value = (value << 8) | (buffer[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    public long readLong() {
+        checkAvailable(Long.BYTES);
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = (value << 8) | (buffer[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    public double readDouble() {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    public Double readNullableDouble() {
+        return readBoolean() ? readDouble() : null;
+    }
+
+    public long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int currentByte = readByte();
+            value |= (long) (currentByte & 0x7F) << shift;
+            if ((currentByte & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed variable length number");
+    }
+
+    public int readVarInt() {
+        return (int) readVarLong();
+    }
+
+    public int readSignedVarInt() {
+        int value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public byte[] readBytes() {
+        int length = readVarInt() - 1;
+        if (length < 0) {
+            return null;
+        }
+        checkAvailable(length);
+        byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+        position += length;
+        return bytes;
+    }
+
+    public Hash readHash() {
+        byte[] bytes = readBytes();
+        return bytes == null ? null : new Hash(bytes);
+    }
+
+    public String readString() {
+        byte[] bytes = readBytes();
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public BigDecimal readBigDecimal() {
+        if (!readBoolean()) {
+            return null;
+        }
+        int scale = readSignedVarInt();
+        return new BigDecimal(new BigInteger(readBytes()), scale);
+    }
+
+    public Instant readInstant() {
+        if (!readBoolean()) {
+            return null;
+        }
+        long epochSecond = readLong();
+        return Instant.ofEpochSecond(epochSecond, readVarInt());
+    }
+
+    public SignatureData readSignature() {
+        if (!readBoolean()) {
+            return null;
+        }
+        String r = readString();
+        return new SignatureData(r, readString());
+    }
+
+    public int[] readIntArray() {
+        int length = readVarInt() - 1;
+        if (length < 0) {
+            return null;
+        }
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = readInt();
+        }
+        return values;
+    }
+
+    public <E> List<E> readList(Function<CompactBinaryInput, E> elementReader) {
+        return readCollection(ArrayList::new, elementReader);
+    }
+
+    public <E, C extends Collection<E>> C readCollection(IntFunction<C> collectionSupplier, Function<CompactBinaryInput, E> elementReader) {
+        int size = readVarInt() - 1;
+        if (size < 0) {
+            return null;
+        }
+        C collection = collectionSupplier.apply(size);
+        for (int i = 0; i < size; i++) {
+            collection.add(elementReader.apply(this));
+        }
+        return collection;
+    }
+
+    public boolean hasRemaining() {
+        return position < buffer.length;
+    }
+
+    private void checkAvailable(int length) {
+        if (length < 0 || position + length > buffer.length) {
+            throw new IllegalStateException(String.format("Unexpected end of encoded entity at position %s", position));
+        }
+    }
+}
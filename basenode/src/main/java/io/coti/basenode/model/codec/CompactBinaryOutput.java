@@ -0,0 +1,157 @@
+package io.coti.basenode.model.codec;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.SignatureData;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.BiConsumer;
+
+public class CompactBinaryOutput {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 256;
+    private byte[] buffer;
+    private int position;
+
+    public CompactBinaryOutput() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public CompactBinaryOutput(int initialCapacity) {
+        buffer = new byte[initialCapacity];
+    }
+
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    public void writeNullableBoolean(Boolean value) {
+        writeByte(value == null ? 0 : (value ? 2 : 1));
+    }
+
+    public void writeInt(int value) {
+        ensureCapacity(Integer.BYTES);
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+    }
+
+    public void writeLong(long value) {
+        ensureCapacity(Long.BYTES);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+    }
+
+    public void writeDouble(double value) {
+        writeLong(Double.doubleToRawLongBits(value));
+    }
+
+    public void writeNullableDouble(Double value) {
+        writeBoolean(value != null);
+        if (value != null) {
+            writeDouble(value);
+        }
+    }
+
+    public void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeVarInt(int value) {
+        writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    public void writeSignedVarInt(int value) {
+        writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    public void writeBytes(byte[] bytes) {
+        if (bytes == null) {
+            writeVarInt(0);
+            return;
+        }
+        writeVarInt(bytes.length + 1);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    public void writeHash(Hash hash) {
+        if (hash != null && hash.getBytes() == null) {
+            throw new IllegalArgumentException("Hash without bytes can not be encoded");
+        }
+        writeBytes(hash == null ? null : hash.getBytes());
+    }
+
+    public void writeString(String value) {
+        writeBytes(value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public void writeBigDecimal(BigDecimal value) {
+        writeBoolean(value != null);
+        if (value != null) {
+            writeSignedVarInt(value.scale());
+            writeBytes(value.unscaledValue().toByteArray());
+        }
+    }
+
+    public void writeInstant(Instant instant) {
+        writeBoolean(instant != null);
+        if (instant != null) {
+            writeLong(instant.getEpochSecond());
+            writeVarInt(instant.getNano());
+        }
+    }
+
+    public void writeSignature(SignatureData signatureData) {
+        writeBoolean(signatureData != null);
+        if (signatureData != null) {
+            writeString(signatureData.getR());
+            writeString(signatureData.getS());
+        }
+    }
+
+    public void writeIntArray(int[] values) {
+        if (values == null) {
+            writeVarInt(0);
+            return;
+        }
+        writeVarInt(values.length + 1);
+        for (int value : values) {
+            writeInt(value);
+        }
+    }
+
+    public <E> void writeCollection(Collection<E> collection, BiConsumer<CompactBinaryOutput, E> elementWriter) {
+        if (collection == null) {
+            writeVarInt(0);
+            return;
+        }
+        writeVarInt(collection.size() + 1);
+        collection.forEach(element -> elementWriter.accept(this, element));
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void ensureCapacity(int additionalBytes) {
+        if (position + additionalBytes > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, position + additionalBytes));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package io.coti.basenode.model.codec;
+
+import io.coti.basenode.data.interfaces.IEntity;
+import io.coti.basenode.model.codec.interfaces.IEntityCodec;
+import org.springframework.util.SerializationUtils;
+
+public class JavaSerializationEntityCodec<T extends IEntity> implements IEntityCodec<T> {
+
+    private static final byte[] STREAM_MAGIC = new byte[]{(byte) 0xAC, (byte) 0xED};
+
+    @Override
+    public byte[] encode(IEntity entity) {
+        return SerializationUtils.serialize(entity);
+    }
+
+    @Override
+    public T decode(byte[] bytes) {
+        return (T) SerializationUtils.deserialize(bytes);
+    }
+
+    public static boolean isJavaSerialized(byte[] bytes) {
+        return bytes != null && bytes.length >= STREAM_MAGIC.length && bytes[0] == STREAM_MAGIC[0] && bytes[1] == STREAM_MAGIC[1];
+    }
+}
@@ -0,0 +1,249 @@
+package io.coti.basenode.model.codec;
+
+import io.coti.basenode.data.*;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public class TransactionDataCodec extends CompactBinaryEntityCodec<TransactionData> {
+
+    private static final int VERSION = 1;
+
+    public TransactionDataCodec() {
+        super(TransactionData.class);
+    }
+
+    @Override
+    protected int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    protected void writeEntity(CompactBinaryOutput output, TransactionData transactionData) {
+        output.writeHash(transactionData.getHash());
+        output.writeCollection(transactionData.getBaseTransactions(), this::writeBaseTransaction);
+        output.writeBigDecimal(transactionData.getAmount());
+        output.writeString(transactionData.getType() == null ? null : transactionData.getType().name());
+        output.writeHash(transactionData.getLeftParentHash());
+        output.writeHash(transactionData.getRightParentHash());
+        output.writeBoolean(transactionData.isTrustChainConsensus());
+        output.writeDouble(transactionData.getTrustChainTrustScore());
+        output.writeInstant(transactionData.getTrustChainConsensusTime());
+        output.writeInstant(transactionData.getTransactionConsensusUpdateTime());
+        output.writeInstant(transactionData.getCreateTime());
+        output.writeInstant(transactionData.getAttachmentTime());
+        output.writeDouble(transactionData.getSenderTrustScore());
+        output.writeHash(transactionData.getSenderHash());
+        output.writeSignature(transactionData.getSenderSignature());
+        output.writeHash(transactionData.getNodeHash());
+        output.writeSignature(transactionData.getNodeSignature());
+        output.writeCollection(transactionData.getChildrenTransactionHashes(), CompactBinaryOutput::writeHash);
+        output.writeNullableBoolean(transactionData.isValid());
+        output.writeString(transactionData.getTransactionDescription());
+        writeDspConsensusResult(output, transactionData.getDspConsensusResult());
+        output.writeCollection(transactionData.getTrustScoreResults(), this::writeTransactionTrustScore);
+        output.writeIntArray(transactionData.getNonces());
+    }
+
+    @Override
+    protected TransactionData readEntity(CompactBinaryInput input, int version) {
+        Hash hash = input.readHash();
+        TransactionData transactionData = new TransactionData(input.readList(this::readBaseTransaction));
+        transactionData.setHash(hash);
+        transactionData.setAmount(input.readBigDecimal());
+        String type = input.readString();
+        transactionData.setType(type == null ? null : TransactionType.valueOf(type));
+        transactionData.setLeftParentHash(input.readHash());
+        transactionData.setRightParentHash(input.readHash());
+        transactionData.setTrustChainConsensus(input.readBoolean());
+        transactionData.setTrustChainTrustScore(input.readDouble());
+        transactionData.setTrustChainConsensusTime(input.readInstant());
+        transactionData.setTransactionConsensusUpdateTime(input.readInstant());
+        transactionData.setCreateTime(input.readInstant());
+        transactionData.setAttachmentTime(input.readInstant());
+        transactionData.setSenderTrustScore(input.readDouble());
+        transactionData.setSenderHash(input.readHash());
+        transactionData.setSenderSignature(input.readSignature());
+        transactionData.setNodeHash(input.readHash());
+        transactionData.setNodeSignature(input.readSignature());
+        transactionData.setChildrenTransactionHashes(input.readList(CompactBinaryInput::readHash));
+        transactionData.setValid(input.readNullableBoolean());
+        transactionData.setTransactionDescription(input.readString());
+        transactionData.setDspConsensusResult(readDspConsensusResult(input));
+        transactionData.setTrustScoreResults(input.readList(this::readTransactionTrustScore));
+        transactionData.setNonces(input.readIntArray());
+        return transactionData;
+    }
+
+    private void writeBaseTransaction(CompactBinaryOutput output, BaseTransactionData baseTransactionData) {
+        BaseTransactionName baseTransactionName = BaseTransactionName.getName(baseTransactionData.getClass());
+        if (baseTransactionName == null) {
+            throw new IllegalArgumentException("Unknown base transaction class " + baseTransactionData.getClass().getName());
+        }
+        output.writeString(baseTransactionName.name());
+        output.writeHash(baseTransactionData.getHash());
+        output.writeHash(baseTransactionData.getAddressHash());
+        output.writeBigDecimal(baseTransactionData.getAmount());
+        output.writeInstant(baseTransactionData.getCreateTime());
+        output.writeSignature(baseTransactionData.getSignatureData());
+        if (baseTransactionData instanceof OutputBaseTransactionData) {
+            output.writeBigDecimal(((OutputBaseTransactionData) baseTransactionData).getOriginalAmount());
+        }
+        switch (baseTransactionName) {
+            case PIBT:
+                PaymentInputBaseTransactionData paymentInputBaseTransactionData = (PaymentInputBaseTransactionData) baseTransactionData;
+                output.writeCollection(paymentInputBaseTransactionData.getItems(), this::writePaymentItem);
+                output.writeString(paymentInputBaseTransactionData.getEncryptedMerchantName());
+                break;
+            case NFBT:
+                output.writeBigDecimal(((NetworkFeeData) baseTransactionData).getReducedAmount());
+                output.writeCollection(((NetworkFeeData) baseTransactionData).getTrustScoreNodeResult(), this::writeTrustScoreNodeResult);
+                break;
+            case RRBT:
+                output.writeBigDecimal(((RollingReserveData) baseTransactionData).getReducedAmount());
+                output.writeCollection(((RollingReserveData) baseTransactionData).getTrustScoreNodeResult(), this::writeTrustScoreNodeResult);
+                break;
+            case RBT:
+                output.writeHash(((ReceiverBaseTransactionData) baseTransactionData).getReceiverDescription());
+                break;
+            default:
+                break;
+        }
+    }
+
+    private BaseTransactionData readBaseTransaction(CompactBinaryInput input) {
+        BaseTransactionName baseTransactionName = BaseTransactionName.valueOf(input.readString());
+        BaseTransactionData baseTransactionData = newInstance(baseTransactionName.getBaseTransactionClass());
+        baseTransactionData.setHash(input.readHash());
+        baseTransactionData.setAddressHash(input.readHash());
+        setIfPresent(input.readBigDecimal(), baseTransactionData::setAmount);
+        baseTransactionData.setCreateTime(input.readInstant());
+        baseTransactionData.setSignatureData(input.readSignature());
+        if (baseTransactionData instanceof OutputBaseTransactionData) {
+            setIfPresent(input.readBigDecimal(), ((OutputBaseTransactionData) baseTransactionData)::setOriginalAmount);
+        }
+        switch (baseTransactionName) {
+            case PIBT:
+                PaymentInputBaseTransactionData paymentInputBaseTransactionData = (PaymentInputBaseTransactionData) baseTransactionData;
+                paymentInputBaseTransactionData.setItems(input.readList(this::readPaymentItem));
+                paymentInputBaseTransactionData.setEncryptedMerchantName(input.readString());
+                break;
+            case NFBT:
+                setIfPresent(input.readBigDecimal(), ((NetworkFeeData) baseTransactionData)::setReducedAmount);
+                ((NetworkFeeData) baseTransactionData).setTrustScoreNodeResult(input.readList(this::readTrustScoreNodeResult));
+                break;
+            case RRBT:
+                setIfPresent(input.readBigDecimal(), ((RollingReserveData) baseTransactionData)::setReducedAmount);
+                ((RollingReserveData) baseTransactionData).setTrustScoreNodeResult(input.readList(this::readTrustScoreNodeResult));
+                break;
+            case RBT:
+                ((ReceiverBaseTransactionData) baseTransactionData).setReceiverDescription(input.readHash());
+                break;
+            default:
+                break;
+        }
+        return baseTransactionData;
+    }
+
+    private <V> void setIfPresent(V value, Consumer<V> setter) {
+        if (value != null) {
+            setter.accept(value);
+        }
+    }
+
+    private void writePaymentItem(CompactBinaryOutput output, PaymentItemData paymentItemData) {
+        output.writeBoolean(paymentItemData.getItemId() != null);
+        if (paymentItemData.getItemId() != null) {
+            output.writeLong(paymentItemData.getItemId());
+        }
+        output.writeBigDecimal(paymentItemData.getItemPrice());
+        output.writeString(paymentItemData.getItemName());
+        output.writeInt(paymentItemData.getItemQuantity());
+    }
+
+    private PaymentItemData readPaymentItem(CompactBinaryInput input) {
+        PaymentItemData paymentItemData = new PaymentItemData();
+        paymentItemData.setItemId(input.readBoolean() ? input.readLong() : null);
+        paymentItemData.setItemPrice(input.readBigDecimal());
+        paymentItemData.setItemName(input.readString());
+        paymentItemData.setItemQuantity(input.readInt());
+        return paymentItemData;
+    }
+
+    private void writeTrustScoreNodeResult(CompactBinaryOutput output, TrustScoreNodeResultData trustScoreNodeResultData) {
+        output.writeHash(trustScoreNodeResultData.getTrustScoreNodeHash());
+        output.writeSignature(trustScoreNodeResultData.getSignature());
+        output.writeBoolean(trustScoreNodeResultData.isValid());
+    }
+
+    private TrustScoreNodeResultData readTrustScoreNodeResult(CompactBinaryInput input) {
+        TrustScoreNodeResultData trustScoreNodeResultData = newInstance(TrustScoreNodeResultData.class);
+        trustScoreNodeResultData.setTrustScoreNodeHash(input.readHash());
+        trustScoreNodeResultData.setSignature(input.readSignature());
+        trustScoreNodeResultData.setValid(input.readBoolean());
+        return trustScoreNodeResultData;
+    }
+
+    private void writeTransactionTrustScore(CompactBinaryOutput output, TransactionTrustScoreData transactionTrustScoreData) {
+        output.writeNullableDouble(transactionTrustScoreData.getTrustScore());
+        output.writeHash(transactionTrustScoreData.getTrustScoreNodeHash());
+        output.writeSignature(transactionTrustScoreData.getTrustScoreNodeSignature());
+    }
+
+    private TransactionTrustScoreData readTransactionTrustScore(CompactBinaryInput input) {
+        TransactionTrustScoreData transactionTrustScoreData = newInstance(TransactionTrustScoreData.class);
+        transactionTrustScoreData.setTrustScore(input.readNullableDouble());
+        transactionTrustScoreData.setTrustScoreNodeHash(input.readHash());
+        transactionTrustScoreData.setTrustScoreNodeSignature(input.readSignature());
+        return transactionTrustScoreData;
+    }
+
+    private void writeDspConsensusResult(CompactBinaryOutput output, DspConsensusResult dspConsensusResult) {
+        output.writeBoolean(dspConsensusResult != null);
+        if (dspConsensusResult == null) {
+            return;
+        }
+        if (dspConsensusResult.getClass() != DspConsensusResult.class) {
+            throw new IllegalArgumentException("Unknown dsp consensus result class " + dspConsensusResult.getClass().getName());
+        }
+        output.writeHash(dspConsensusResult.getTransactionHash());
+        output.writeHash(dspConsensusResult.getZeroSpendServerHash());
+        output.writeLong(dspConsensusResult.getIndex());
+        output.writeInstant(dspConsensusResult.getIndexingTime());
+        output.writeSignature(dspConsensusResult.getZeroSpendSignature());
+        output.writeCollection(dspConsensusResult.getDspVotes(), this::writeDspVote);
+        output.writeBoolean(dspConsensusResult.isDspConsensus());
+    }
+
+    private DspConsensusResult readDspConsensusResult(CompactBinaryInput input) {
+        if (!input.readBoolean()) {
+            return null;
+        }
+        DspConsensusResult dspConsensusResult = new DspConsensusResult(input.readHash());
+        dspConsensusResult.setZeroSpendServerHash(input.readHash());
+        dspConsensusResult.setIndex(input.readLong());
+        dspConsensusResult.setIndexingTime(input.readInstant());
+        dspConsensusResult.setZeroSpendSignature(input.readSignature());
+        List<DspVote> dspVotes = input.readList(this::readDspVote);
+        dspConsensusResult.setDspVotes(dspVotes);
+        dspConsensusResult.setDspConsensus(input.readBoolean());
+        return dspConsensusResult;
+    }
+
+    private void writeDspVote(CompactBinaryOutput output, DspVote dspVote) {
+        if (dspVote.getClass() != DspVote.class) {
+            throw new IllegalArgumentException("Unknown dsp vote class " + dspVote.getClass().getName());
+        }
+        output.writeBoolean(dspVote.isValidTransaction());
+        output.writeHash(dspVote.getVoterDspHash());
+        output.writeSignature(dspVote.getSignature());
+    }
+
+    private DspVote readDspVote(CompactBinaryInput input) {
+        DspVote dspVote = newInstance(DspVote.class);
+        dspVote.setValidTransaction(input.readBoolean());
+        dspVote.setVoterDspHash(input.readHash());
+        dspVote.setSignature(input.readSignature());
+        return dspVote;
+    }
+}
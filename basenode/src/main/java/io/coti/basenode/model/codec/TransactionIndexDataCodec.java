@@ -0,0 +1,29 @@
+package io.coti.basenode.model.codec;
+
+import io.coti.basenode.data.TransactionIndexData;
+
+public class TransactionIndexDataCodec extends CompactBinaryEntityCodec<TransactionIndexData> {
+
+    private static final int VERSION = 1;
+
+    public TransactionIndexDataCodec() {
+        super(TransactionIndexData.class);
+    }
+
+    @Override
+    protected int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    protected void writeEntity(CompactBinaryOutput output, TransactionIndexData transactionIndexData) {
+        output.writeHash(transactionIndexData.getTransactionHash());
+        output.writeLong(transactionIndexData.getIndex());
+        output.writeBytes(transactionIndexData.getAccumulatedHash());
+    }
+
+    @Override
+    protected TransactionIndexData readEntity(CompactBinaryInput input, int version) {
+        return new TransactionIndexData(input.readHash(), input.readLong(), input.readBytes());
+    }
+}
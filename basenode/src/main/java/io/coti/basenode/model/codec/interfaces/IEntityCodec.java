@@ -0,0 +1,11 @@
+package io.coti.basenode.model.codec.interfaces;
+
+import io.coti.basenode.data.interfaces.IEntity;
+
+public interface IEntityCodec<T extends IEntity> {
+
+    byte[] encode(IEntity entity);
+
+    T decode(byte[] bytes);
+
+}
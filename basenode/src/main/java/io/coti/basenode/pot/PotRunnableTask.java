@@ -7,10 +7,16 @@ public class PotRunnableTask implements Comparable<PotRunnableTask>, Runnable {
 
     private byte[] targetDifficulty;
     private TransactionData transactionData;
+    private int workerThreads;
 
     public PotRunnableTask(TransactionData transactionData, byte[] targetDifficulty) {
+        this(transactionData, targetDifficulty, 1);
+    }
+
+    public PotRunnableTask(TransactionData transactionData, byte[] targetDifficulty, int workerThreads) {
         this.transactionData = transactionData;
         this.targetDifficulty = targetDifficulty;
+        this.workerThreads = workerThreads;
     }
 
     public int getPriority() {
@@ -27,7 +33,7 @@ public class PotRunnableTask implements Comparable<PotRunnableTask>, Runnable {
 
 
     public void potAction(TransactionData transactionData) {
-        ProofOfTrust pot = new ProofOfTrust(transactionData.getRoundedSenderTrustScore());
+        ProofOfTrust pot = new ProofOfTrust(transactionData.getRoundedSenderTrustScore(), workerThreads);
         int[] nonces = pot.hash(transactionData.getHash().getBytes(), this.targetDifficulty);
         transactionData.setNonces(nonces);
     }
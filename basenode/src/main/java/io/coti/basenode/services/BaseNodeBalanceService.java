@@ -1,61 +1,83 @@
 package io.coti.basenode.services;
 
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Striped;
 import io.coti.basenode.data.BaseTransactionData;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.TransactionData;
 import io.coti.basenode.http.GetBalancesRequest;
 import io.coti.basenode.http.GetBalancesResponse;
+import io.coti.basenode.services.interfaces.IBalanceMap;
 import io.coti.basenode.services.interfaces.IBalanceService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class BaseNodeBalanceService implements IBalanceService {
 
-    protected Map<Hash, BigDecimal> balanceMap;
-    protected Map<Hash, BigDecimal> preBalanceMap;
+    private static final int ADDRESS_LOCK_STRIPES = 1024;
+    private final Striped<Lock> addressLocks = Striped.lock(ADDRESS_LOCK_STRIPES);
+    @Value("${balance.fixed.point}")
+    private boolean fixedPointBalances;
+    protected IBalanceMap balanceMap;
+    protected IBalanceMap preBalanceMap;
 
     public void init() {
-        balanceMap = new ConcurrentHashMap<>();
-        preBalanceMap = new ConcurrentHashMap<>();
+        balanceMap = createBalanceMap();
+        preBalanceMap = createBalanceMap();
         log.info("{} is up", this.getClass().getSimpleName());
     }
 
+    private IBalanceMap createBalanceMap() {
+        return fixedPointBalances ? new FixedPointBalanceMap() : new BigDecimalBalanceMap();
+    }
+
     @Override
-    public synchronized boolean checkBalancesAndAddToPreBalance(List<BaseTransactionData> baseTransactions) {
-        Map<Hash, BigDecimal> balanceInChangeMap = new HashMap<>();
+    public boolean checkBalancesAndAddToPreBalance(List<BaseTransactionData> baseTransactions) {
+        Set<Hash> addressHashes = baseTransactions.stream().map(BaseTransactionData::getAddressHash).collect(Collectors.toCollection(LinkedHashSet::new));
+        List<Lock> locks = Lists.newArrayList(addressLocks.bulkGet(addressHashes));
+        locks.forEach(Lock::lock);
+        try {
+            if (!checkBalances(baseTransactions)) {
+                return false;
+            }
+            baseTransactions.forEach(baseTransactionData -> preBalanceMap.add(baseTransactionData.getAddressHash(), baseTransactionData.getAmount()));
+        } finally {
+            Lists.reverse(locks).forEach(Lock::unlock);
+        }
+        addressHashes.forEach(this::continueHandleBalanceChanges);
+        return true;
+    }
+
+    private boolean checkBalances(List<BaseTransactionData> baseTransactions) {
         Map<Hash, BigDecimal> preBalanceInChangeMap = new HashMap<>();
         for (BaseTransactionData baseTransactionData : baseTransactions) {
 
             BigDecimal amount = baseTransactionData.getAmount();
             Hash addressHash = baseTransactionData.getAddressHash();
-            balanceInChangeMap.putIfAbsent(addressHash, balanceMap.containsKey(addressHash) ? balanceMap.get(addressHash) : BigDecimal.ZERO);
-            preBalanceInChangeMap.putIfAbsent(addressHash, preBalanceMap.containsKey(addressHash) ? preBalanceMap.get(addressHash) : BigDecimal.ZERO);
-            if (amount.add(balanceInChangeMap.get(addressHash)).signum() < 0) {
+            BigDecimal balance = balanceMap.getOrZero(addressHash);
+            BigDecimal preBalance = preBalanceInChangeMap.computeIfAbsent(addressHash, preBalanceMap::getOrZero);
+            if (amount.add(balance).signum() < 0) {
                 log.error("Error in Balance check. Address {}  amount {} current Balance {} ", addressHash,
-                        amount, balanceInChangeMap.get(addressHash));
+                        amount, balance);
                 return false;
             }
-            if (amount.add(preBalanceInChangeMap.get(addressHash)).signum() < 0) {
+            if (amount.add(preBalance).signum() < 0) {
                 log.error("Error in PreBalance check. Address {}  amount {} current PreBalance {} ", addressHash,
-                        amount, preBalanceInChangeMap.get(addressHash));
+                        amount, preBalance);
                 return false;
             }
-            preBalanceInChangeMap.put(addressHash, amount.add(preBalanceInChangeMap.get(addressHash)));
+            preBalanceInChangeMap.put(addressHash, amount.add(preBalance));
         }
-        preBalanceInChangeMap.forEach((addressHash, preBalanceInChange) -> {
-            preBalanceMap.put(addressHash, preBalanceInChange);
-            continueHandleBalanceChanges(addressHash);
-        });
         return true;
     }
 
@@ -70,8 +92,8 @@ public class BaseNodeBalanceService implements IBalanceService {
         BigDecimal balance;
         BigDecimal preBalance;
         for (Hash hash : getBalancesRequest.getAddresses()) {
-            balance = balanceMap.containsKey(hash) ? balanceMap.get(hash) : new BigDecimal(0);
-            preBalance = preBalanceMap.containsKey(hash) ? preBalanceMap.get(hash) : new BigDecimal(0);
+            balance = balanceMap.getOrZero(hash);
+            preBalance = preBalanceMap.getOrZero(hash);
             getBalancesResponse.addAddressBalanceToResponse(hash, balance, preBalance);
         }
         return ResponseEntity.status(HttpStatus.OK).body(getBalancesResponse);
@@ -80,7 +102,7 @@ public class BaseNodeBalanceService implements IBalanceService {
     @Override
     public void rollbackBaseTransactions(TransactionData transactionData) {
         transactionData.getBaseTransactions().forEach(baseTransactionData ->
-                preBalanceMap.computeIfPresent(baseTransactionData.getAddressHash(), (addressHash, amount) -> amount.add(baseTransactionData.getAmount().negate()))
+                preBalanceMap.addIfPresent(baseTransactionData.getAddressHash(), baseTransactionData.getAmount().negate())
         );
     }
 
@@ -111,6 +133,11 @@ public class BaseNodeBalanceService implements IBalanceService {
         log.trace("Loading from clusterstamp into inMem balance+preBalance address {} and amount {}", addressHash, amount);
     }
 
+    @Override
+    public void updateBalancesFromClusterStamp(Map<Hash, BigDecimal> addressHashToAmountMap) {
+        addressHashToAmountMap.forEach(this::updateBalanceFromClusterStamp);
+    }
+
     @Override
     public void updatePreBalanceFromClusterStamp() {
         preBalanceMap.putAll(balanceMap);
@@ -118,26 +145,22 @@ public class BaseNodeBalanceService implements IBalanceService {
 
     @Override
     public void updateBalance(Hash addressHash, BigDecimal amount) {
-        balanceMap.computeIfPresent(addressHash, (currentHash, currentAmount) ->
-                currentAmount.add(amount));
-        balanceMap.putIfAbsent(addressHash, amount);
+        balanceMap.add(addressHash, amount);
     }
 
     @Override
     public void updatePreBalance(Hash addressHash, BigDecimal amount) {
-        preBalanceMap.computeIfPresent(addressHash, (currentHash, currentAmount) ->
-                currentAmount.add(amount));
-        preBalanceMap.putIfAbsent(addressHash, amount);
+        preBalanceMap.add(addressHash, amount);
     }
 
     @Override
     public BigDecimal getBalanceByAddress(Hash addressHash) {
-        return balanceMap.containsKey(addressHash) ? balanceMap.get(addressHash) : BigDecimal.ZERO;
+        return balanceMap.getOrZero(addressHash);
     }
 
     @Override
     public BigDecimal getPreBalanceByAddress(Hash addressHash) {
-        return preBalanceMap.containsKey(addressHash) ? preBalanceMap.get(addressHash) : BigDecimal.ZERO;
+        return preBalanceMap.getOrZero(addressHash);
     }
 
 }
\ No newline at end of file
@@ -20,6 +20,8 @@ import java.io.File;
 import java.io.FileReader;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.*;
 
 @Slf4j
 @Service
@@ -35,6 +37,7 @@ public class BaseNodeClusterStampService implements IClusterStampService {
     protected static final String BAD_CSV_FILE_FORMAT = "Bad csv file format";
     private static final String SIGNATURE_LINE_TOKEN = "# Signature";
     private static final int NUMBER_OF_SIGNATURE_LINE_DETAILS = 2;
+    private static final int BALANCE_LINES_CHUNK_SIZE = 10000;
     @Autowired
     protected IBalanceService balanceService;
     @Autowired
@@ -46,11 +49,22 @@ public class BaseNodeClusterStampService implements IClusterStampService {
     @Autowired
     protected INetworkService networkService;
 
+    /**
+     * Streams the clusterstamp file. Balance lines are parsed in chunks on a thread pool while the file is read, and the parsed
+     * chunks are consumed in file order, so the signature message is hashed and the balances are loaded exactly as if the file
+     * was processed line by line, and the first malformed line of the file is the one reported.
+     */
     @Override
     public void loadClusterStamp() {
         String clusterStampFileLocation = clusterStampFilePrefix + CLUSTERSTAMP_FILE_SUFFIX;
         File clusterstampFile = new File(clusterStampFileLocation);
         ClusterStampData clusterStampData = new ClusterStampData();
+        int parserThreads = Runtime.getRuntime().availableProcessors();
+        ExecutorService clusterStampParserExecutor = Executors.newFixedThreadPool(parserThreads, runnable -> {
+            Thread thread = new Thread(runnable, "Clusterstamp parser");
+            thread.setDaemon(true);
+            return thread;
+        });
 
         try (BufferedReader bufferedReader = new BufferedReader(new FileReader(clusterstampFile))) {
             String line;
@@ -58,40 +72,57 @@ public class BaseNodeClusterStampService implements IClusterStampService {
             int signatureRelevantLines = 0;
             boolean reachedSignatureSection = false;
             boolean finishedBalances = false;
+            Deque<Future<ClusterStampBalancesChunk>> parsedBalancesChunks = new ArrayDeque<>();
+            List<String> balanceLines = new ArrayList<>(BALANCE_LINES_CHUNK_SIZE);
+            int firstBalanceLineNumber = 1;
 
             while ((line = bufferedReader.readLine()) != null) {
                 line = line.trim();
                 relevantLineNumber++;
                 if (line.isEmpty()) {
                     if (relevantLineNumber < NUMBER_OF_GENESIS_ADDRESSES_MIN_LINES) {
-                        throw new ClusterStampValidationException(BAD_CSV_FILE_FORMAT);
+                        throw new ClusterStampValidationException(getBadLineMessage(relevantLineNumber, "empty line"));
                     } else {
-                        if (!finishedBalances)
+                        if (!finishedBalances) {
                             finishedBalances = true;
-                        else
-                            throw new ClusterStampValidationException(BAD_CSV_FILE_FORMAT);
+                            submitBalanceLines(clusterStampParserExecutor, parsedBalancesChunks, balanceLines, firstBalanceLineNumber);
+                            loadParsedBalancesChunks(clusterStampData, parsedBalancesChunks, 0);
+                        } else
+                            throw new ClusterStampValidationException(getBadLineMessage(relevantLineNumber, "unexpected empty line"));
                     }
                 } else {
                     if (!finishedBalances) {
-                        fillBalanceFromLine(clusterStampData, line);
+                        if (balanceLines.isEmpty()) {
+                            firstBalanceLineNumber = relevantLineNumber;
+                        }
+                        balanceLines.add(line);
+                        if (balanceLines.size() == BALANCE_LINES_CHUNK_SIZE) {
+                            submitBalanceLines(clusterStampParserExecutor, parsedBalancesChunks, balanceLines, firstBalanceLineNumber);
+                            balanceLines = new ArrayList<>(BALANCE_LINES_CHUNK_SIZE);
+                            loadParsedBalancesChunks(clusterStampData, parsedBalancesChunks, 2 * parserThreads);
+                        }
                     } else {
                         if (!reachedSignatureSection) {
                             if (!line.contentEquals(SIGNATURE_LINE_TOKEN))
-                                throw new ClusterStampValidationException(BAD_CSV_FILE_FORMAT);
+                                throw new ClusterStampValidationException(getBadLineMessage(relevantLineNumber, "expected " + SIGNATURE_LINE_TOKEN));
                             else
                                 reachedSignatureSection = true;
                         } else {
                             signatureRelevantLines++;
-                            fillSignatureDataFromLine(clusterStampData, line, signatureRelevantLines);
+                            fillSignatureDataFromLine(clusterStampData, line, signatureRelevantLines, relevantLineNumber);
                         }
 
                     }
                 }
             }
+            if (!finishedBalances) {
+                submitBalanceLines(clusterStampParserExecutor, parsedBalancesChunks, balanceLines, firstBalanceLineNumber);
+                loadParsedBalancesChunks(clusterStampData, parsedBalancesChunks, 0);
+            }
             if (signatureRelevantLines == 0) {
                 handleClusterStampWithoutSignature(clusterStampData);
             } else if (signatureRelevantLines == 1) {
-                throw new ClusterStampValidationException(BAD_CSV_FILE_FORMAT);
+                throw new ClusterStampValidationException(BAD_CSV_FILE_FORMAT + ": missing signature s line");
             } else {
                 handleClusterStampWithSignature(clusterStampData);
             }
@@ -100,40 +131,99 @@ public class BaseNodeClusterStampService implements IClusterStampService {
         } catch (Exception e) {
             log.error("Errors on clusterstamp loading");
             throw new ClusterStampValidationException(e.getMessage());
+        } finally {
+            clusterStampParserExecutor.shutdownNow();
+        }
+    }
+
+    private void submitBalanceLines(ExecutorService clusterStampParserExecutor, Deque<Future<ClusterStampBalancesChunk>> parsedBalancesChunks, List<String> balanceLines,
+                                    int firstBalanceLineNumber) {
+        if (!balanceLines.isEmpty()) {
+            parsedBalancesChunks.add(clusterStampParserExecutor.submit(() -> parseBalanceLines(balanceLines, firstBalanceLineNumber)));
+        }
+    }
+
+    /**
+     * Loads parsed chunks in file order until no more than the given number of chunks is still parsed, which bounds the lines
+     * held in memory.
+     */
+    private void loadParsedBalancesChunks(ClusterStampData clusterStampData, Deque<Future<ClusterStampBalancesChunk>> parsedBalancesChunks, int maxPendingChunks)
+            throws InterruptedException {
+        while (parsedBalancesChunks.size() > maxPendingChunks) {
+            ClusterStampBalancesChunk clusterStampBalancesChunk;
+            try {
+                clusterStampBalancesChunk = parsedBalancesChunks.poll().get();
+            } catch (ExecutionException e) {
+                throw new ClusterStampValidationException(e.getCause().getMessage());
+            }
+            clusterStampBalancesChunk.signatureMessageParts.forEach(clusterStampData::updateSignatureMessage);
+            balanceService.updateBalancesFromClusterStamp(clusterStampBalancesChunk.addressHashToAmountMap);
+            if (clusterStampBalancesChunk.exception != null) {
+                throw clusterStampBalancesChunk.exception;
+            }
         }
     }
 
-    private void fillBalanceFromLine(ClusterStampData clusterStampData, String line) {
+    /**
+     * Parses the lines up to the first malformed one. The lines before it are still returned, so that they are loaded before the
+     * error is reported, as a line by line load would do.
+     */
+    private ClusterStampBalancesChunk parseBalanceLines(List<String> balanceLines, int firstBalanceLineNumber) {
+        ClusterStampBalancesChunk clusterStampBalancesChunk = new ClusterStampBalancesChunk(balanceLines.size());
+        for (int i = 0; i < balanceLines.size(); i++) {
+            int lineNumber = firstBalanceLineNumber + i;
+            try {
+                fillBalanceFromLine(clusterStampBalancesChunk, balanceLines.get(i), lineNumber);
+            } catch (RuntimeException e) {
+                clusterStampBalancesChunk.exception = e;
+                break;
+            }
+        }
+        return clusterStampBalancesChunk;
+    }
+
+    private void fillBalanceFromLine(ClusterStampBalancesChunk clusterStampBalancesChunk, String line, int lineNumber) {
         String[] addressDetails;
         addressDetails = line.split(",");
         if (addressDetails.length != NUMBER_OF_ADDRESS_LINE_DETAILS) {
-            throw new ClusterStampValidationException(BAD_CSV_FILE_FORMAT);
+            throw new ClusterStampValidationException(getBadLineMessage(lineNumber, "expected " + NUMBER_OF_ADDRESS_LINE_DETAILS + " address details but found " + addressDetails.length));
         }
         Hash addressHash = new Hash(addressDetails[ADDRESS_DETAILS_HASH_PLACEMENT]);
-        BigDecimal addressAmount = new BigDecimal(addressDetails[ADDRESS_DETAILS_AMOUNT_PLACEMENT]);
+        BigDecimal addressAmount;
+        try {
+            addressAmount = new BigDecimal(addressDetails[ADDRESS_DETAILS_AMOUNT_PLACEMENT]);
+        } catch (NumberFormatException e) {
+            throw new ClusterStampValidationException(getBadLineMessage(lineNumber, "invalid amount " + addressDetails[ADDRESS_DETAILS_AMOUNT_PLACEMENT]));
+        }
         log.trace("The hash {} was loaded from the clusterstamp with amount {}", addressHash, addressAmount);
 
-        balanceService.updateBalanceFromClusterStamp(addressHash, addressAmount);
+        if (clusterStampBalancesChunk.addressHashToAmountMap.putIfAbsent(addressHash, addressAmount) != null) {
+            log.error("The address {} was already found in the clusterstamp", addressHash);
+            throw new IllegalArgumentException(String.format("The address %s was already found in the clusterstamp", addressHash));
+        }
         byte[] addressHashInBytes = addressHash.getBytes();
         byte[] addressAmountInBytes = addressAmount.stripTrailingZeros().toPlainString().getBytes();
         byte[] balanceInBytes = ByteBuffer.allocate(addressHashInBytes.length + addressAmountInBytes.length).put(addressHashInBytes).put(addressAmountInBytes).array();
-        clusterStampData.getSignatureMessage().add(balanceInBytes);
-        clusterStampData.incrementMessageByteSize(balanceInBytes.length);
+        clusterStampBalancesChunk.signatureMessageParts.add(balanceInBytes);
     }
 
-    private void fillSignatureDataFromLine(ClusterStampData clusterStampData, String line, int signatureRelevantLines) {
+    private String getBadLineMessage(int lineNumber, String reason) {
+        return String.format("%s at line %d: %s", BAD_CSV_FILE_FORMAT, lineNumber, reason);
+    }
+
+    private void fillSignatureDataFromLine(ClusterStampData clusterStampData, String line, int signatureRelevantLines, int lineNumber) {
         if (signatureRelevantLines > 2) {
-            throw new ClusterStampValidationException(BAD_CSV_FILE_FORMAT);
+            throw new ClusterStampValidationException(getBadLineMessage(lineNumber, "unexpected line after the signature"));
         }
 
         String[] signatureDetails;
         signatureDetails = line.split(",");
         if (signatureDetails.length != NUMBER_OF_SIGNATURE_LINE_DETAILS) {
-            throw new ClusterStampValidationException(BAD_CSV_FILE_FORMAT);
+            throw new ClusterStampValidationException(getBadLineMessage(lineNumber, "expected " + NUMBER_OF_SIGNATURE_LINE_DETAILS + " signature details but found " + signatureDetails.length));
         }
         String signaturePrefix = (signatureRelevantLines == 1) ? "r" : "s";
         if (!signatureDetails[0].equalsIgnoreCase(signaturePrefix)) {
-            throw new ClusterStampValidationException(BAD_CSV_FILE_FORMAT);
+            throw new ClusterStampValidationException(getBadLineMessage(lineNumber, "expected signature " + signaturePrefix + " line"));
         }
 
         if (signatureRelevantLines == 1) {
@@ -160,4 +250,15 @@ public class BaseNodeClusterStampService implements IClusterStampService {
         clusterStampData.setSignerHash(networkService.getSingleNodeData(NodeType.ZeroSpendServer).getNodeHash());
     }
 
-}
\ No newline at end of file
+    private static class ClusterStampBalancesChunk {
+
+        private final Map<Hash, BigDecimal> addressHashToAmountMap;
+        private final List<byte[]> signatureMessageParts;
+        private RuntimeException exception;
+
+        private ClusterStampBalancesChunk(int numberOfLines) {
+            addressHashToAmountMap = new LinkedHashMap<>(numberOfLines * 4 / 3 + 1);
+            signatureMessageParts = new ArrayList<>(numberOfLines);
+        }
+    }
+}
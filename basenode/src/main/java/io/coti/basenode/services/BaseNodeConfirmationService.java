@@ -286,6 +286,11 @@ public class BaseNodeConfirmationService implements IConfirmationService {
         return dspConfirmed.get();
     }
 
+    @Override
+    public int getConfirmationQueueSize() {
+        return confirmationQueue.size();
+    }
+
     public void shutdown() {
         log.info("Shutting down {}", this.getClass().getSimpleName());
         confirmedTransactionsThread.interrupt();
@@ -50,6 +50,8 @@ public abstract class BaseNodeInitializationService {
     private String kycServerAddress;
     @Value("${kycserver.public.key}")
     private String kycServerPublicKey;
+    @Value("${init.transactions.decode.threads}")
+    private int initTransactionsDecodeThreads;
     @Autowired
     protected INetworkService networkService;
     @Autowired
@@ -137,19 +139,23 @@ public abstract class BaseNodeInitializationService {
             log.info("Starting to read existing transactions");
             AtomicLong completedExistedTransactionNumber = new AtomicLong(0);
             Thread monitorExistingTransactions = transactionService.monitorTransactionThread("existing", completedExistedTransactionNumber, null);
+            int decodeThreads = initTransactionsDecodeThreads > 0 ? initTransactionsDecodeThreads : Runtime.getRuntime().availableProcessors();
+            long startTime = System.currentTimeMillis();
             transactions.forEach(transactionData -> {
                 if (!monitorExistingTransactions.isAlive()) {
                     monitorExistingTransactions.start();
                 }
                 handleExistingTransaction(maxTransactionIndex, transactionData);
                 completedExistedTransactionNumber.incrementAndGet();
-            });
+            }, decodeThreads);
             if (monitorExistingTransactions.isAlive()) {
                 monitorExistingTransactions.interrupt();
                 monitorExistingTransactions.join();
             }
             confirmationService.setLastDspConfirmationIndex(maxTransactionIndex);
-            log.info("Finished to read existing transactions");
+            long elapsedMillis = Math.max(System.currentTimeMillis() - startTime, 1);
+            log.info("Finished to read existing transactions: {} transactions in {} ms with {} decode threads ({} transactions per second)",
+                    completedExistedTransactionNumber.get(), elapsedMillis, decodeThreads, completedExistedTransactionNumber.get() * 1000 / elapsedMillis);
 
             if (networkService.getRecoveryServerAddress() != null) {
                 transactionSynchronizationService.requestMissingTransactions(transactionIndexService.getLastTransactionIndexData().getIndex() + 1);
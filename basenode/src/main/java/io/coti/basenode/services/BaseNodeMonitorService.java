@@ -1,13 +1,23 @@
 package io.coti.basenode.services;
 
+import com.google.common.cache.CacheStats;
+import io.coti.basenode.communication.ZeroMQSubscriberQueue;
+import io.coti.basenode.communication.interfaces.IPropagationPublisher;
 import io.coti.basenode.communication.interfaces.IPropagationSubscriber;
+import io.coti.basenode.model.Collection;
+import io.coti.basenode.model.CollectionCache;
 import io.coti.basenode.services.interfaces.*;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Slf4j
 @Service
 public class BaseNodeMonitorService implements IMonitorService {
@@ -24,13 +34,47 @@ public class BaseNodeMonitorService implements IMonitorService {
     private ITransactionService transactionService;
     @Autowired
     private IPropagationSubscriber propagationSubscriber;
+    @Autowired
+    private IPropagationPublisher propagationPublisher;
+    @Autowired
+    private List<Collection<?>> collections;
+    @Autowired
+    private PostponedTransactionService postponedTransactionService;
+    @Autowired
+    protected MeterRegistry meterRegistry;
     @Value("${allow.transaction.monitoring}")
     private boolean allowTransactionMonitoring;
+    private long lastPublishedMessages;
+    private long lastPublishedBytes;
+    private long lastMonitorTime = System.currentTimeMillis();
 
     public void init() {
+        registerMetrics();
         log.info("{} is up", this.getClass().getSimpleName());
     }
 
+    private void registerMetrics() {
+        Gauge.builder("coti.transactions", transactionHelper, ITransactionHelper::getTotalTransactions).register(meterRegistry);
+        Gauge.builder("coti.transactions.confirmed", confirmationService, IConfirmationService::getTotalConfirmed).tag("type", "total").register(meterRegistry);
+        Gauge.builder("coti.transactions.confirmed", confirmationService, IConfirmationService::getTrustChainConfirmed).tag("type", "tcc").register(meterRegistry);
+        Gauge.builder("coti.transactions.confirmed", confirmationService, IConfirmationService::getDspConfirmed).tag("type", "dsp").register(meterRegistry);
+        Gauge.builder("coti.transaction.index.last", transactionIndexService, service -> service.getLastTransactionIndexData() != null ? service.getLastTransactionIndexData().getIndex() : -1).register(meterRegistry);
+        Gauge.builder("coti.cluster.sources", clusterService, IClusterService::getTotalSources).register(meterRegistry);
+        Gauge.builder("coti.transactions.postponed", postponedTransactionService, PostponedTransactionService::size).register(meterRegistry);
+        Gauge.builder("coti.confirmation.queue.size", confirmationService, IConfirmationService::getConfirmationQueueSize).register(meterRegistry);
+        for (ZeroMQSubscriberQueue subscriberQueue : ZeroMQSubscriberQueue.values()) {
+            Gauge.builder("coti.subscriber.queue.size", subscriberQueue, queue -> queue.getQueue().size()).tag("queue", subscriberQueue.name()).register(meterRegistry);
+        }
+        FunctionCounter.builder("coti.publisher.messages", propagationPublisher, IPropagationPublisher::getPublishedMessages).register(meterRegistry);
+        FunctionCounter.builder("coti.publisher.bytes", propagationPublisher, IPropagationPublisher::getPublishedBytes).baseUnit("bytes").register(meterRegistry);
+        collections.forEach(collection -> collection.getCache().ifPresent(cache -> {
+            String collectionName = collection.getClass().getSimpleName();
+            Gauge.builder("coti.collection.cache.size", cache, CollectionCache::size).tag("collection", collectionName).register(meterRegistry);
+            FunctionCounter.builder("coti.collection.cache.requests", cache, collectionCache -> collectionCache.stats().hitCount()).tags("collection", collectionName, "result", "hit").register(meterRegistry);
+            FunctionCounter.builder("coti.collection.cache.requests", cache, collectionCache -> collectionCache.stats().missCount()).tags("collection", collectionName, "result", "miss").register(meterRegistry);
+        }));
+    }
+
     @Scheduled(initialDelay = 1000, fixedDelay = 5000)
     public void lastState() {
         if (allowTransactionMonitoring) {
@@ -43,6 +87,31 @@ public class BaseNodeMonitorService implements IMonitorService {
                     clusterService.getTotalSources(),
                     transactionService.totalPostponedTransactions(),
                     propagationSubscriber.getMessageQueueSize());
+            collections.forEach(collection -> collection.getCache().ifPresent(cache -> {
+                CacheStats cacheStats = cache.stats();
+                log.info("{} cache: Size = {}, Hits = {}, Misses = {}, HitRate = {}",
+                        collection.getClass().getSimpleName(),
+                        cache.size(),
+                        cacheStats.hitCount(),
+                        cacheStats.missCount(),
+                        String.format("%.3f", cacheStats.hitRate()));
+            }));
+            logPublisherRates();
         }
     }
+
+    private void logPublisherRates() {
+        long publishedMessages = propagationPublisher.getPublishedMessages();
+        long publishedBytes = propagationPublisher.getPublishedBytes();
+        long monitorTime = System.currentTimeMillis();
+        double elapsedSeconds = Math.max(monitorTime - lastMonitorTime, 1) / 1000.0;
+        log.info("Publisher: Messages = {}, Bytes = {}, MessagesPerSecond = {}, BytesPerSecond = {}",
+                publishedMessages,
+                publishedBytes,
+                String.format("%.1f", (publishedMessages - lastPublishedMessages) / elapsedSeconds),
+                String.format("%.1f", (publishedBytes - lastPublishedBytes) / elapsedSeconds));
+        lastPublishedMessages = publishedMessages;
+        lastPublishedBytes = publishedBytes;
+        lastMonitorTime = monitorTime;
+    }
 }
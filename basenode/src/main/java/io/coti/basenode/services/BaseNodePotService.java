@@ -15,6 +15,8 @@ public class BaseNodePotService implements IPotService {
 
     @Value("${network.difficulty}")
     protected String difficulty;
+    @Value("${pot.worker.threads}")
+    protected int potWorkerThreads;
     protected byte[] targetDifficulty;
 
     public void init() {
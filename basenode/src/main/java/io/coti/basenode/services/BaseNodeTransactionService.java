@@ -1,29 +1,37 @@
 package io.coti.basenode.services;
 
 import io.coti.basenode.communication.JacksonSerializer;
+import io.coti.basenode.communication.StreamFraming;
 import io.coti.basenode.data.DspConsensusResult;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.TransactionData;
 import io.coti.basenode.model.TransactionIndexes;
 import io.coti.basenode.model.Transactions;
 import io.coti.basenode.services.interfaces.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.FluxSink;
 
+import javax.annotation.PostConstruct;
 import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletResponse;
-import java.util.Map;
+import java.io.IOException;
+import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class BaseNodeTransactionService implements ITransactionService {
 
+    private static final int FRAMED_TRANSACTIONS_PER_FLUSH = 100;
+    protected static final String VALIDATION_TIMER_NAME = "coti.transaction.validation";
+    protected static final String ATTACH_TIMER_NAME = "coti.transaction.attach";
+    protected static final String ORIGIN_TAG = "origin";
     @Autowired
     private ITransactionHelper transactionHelper;
     @Autowired
@@ -44,37 +52,47 @@ public class BaseNodeTransactionService implements ITransactionService {
     private JacksonSerializer jacksonSerializer;
     @Autowired
     private TransactionIndexes transactionIndexes;
-    protected Map<TransactionData, Boolean> postponedTransactions = new ConcurrentHashMap<>();  // true/false means new from full node or propagated transaction
+    @Autowired
+    protected PostponedTransactionService postponedTransactionService;
+    @Autowired
+    protected MeterRegistry meterRegistry;
+    private Timer propagatedTransactionValidationTimer;
+    private Timer propagatedTransactionAttachTimer;
 
     @Override
     public void init() {
         log.info("{} is up", this.getClass().getSimpleName());
     }
 
+    @PostConstruct
+    private void initTimers() {
+        propagatedTransactionValidationTimer = meterRegistry.timer(VALIDATION_TIMER_NAME, ORIGIN_TAG, "propagated");
+        propagatedTransactionAttachTimer = meterRegistry.timer(ATTACH_TIMER_NAME, ORIGIN_TAG, "propagated");
+    }
+
     @Override
-    public void getTransactionBatch(long startingIndex, HttpServletResponse response) {
+    public void getTransactionBatch(long startingIndex, boolean lengthPrefixed, HttpServletResponse response) {
 
         AtomicLong transactionNumber = new AtomicLong(0);
         Thread monitorTransactionBatch = monitorTransactionBatch(Thread.currentThread().getId(), transactionNumber);
 
         try {
+            if (lengthPrefixed) {
+                StreamFraming.setLengthPrefixed(response);
+            }
             ServletOutputStream output = response.getOutputStream();
 
             monitorTransactionBatch.start();
 
             if (startingIndex <= transactionIndexService.getLastTransactionIndexData().getIndex()) {
                 for (long i = startingIndex; i <= transactionIndexService.getLastTransactionIndexData().getIndex(); i++) {
-                    output.write(jacksonSerializer.serialize(transactions.getByHash(transactionIndexes.getByHash(new Hash(i)).getTransactionHash())));
-                    output.flush();
-                    transactionNumber.incrementAndGet();
+                    writeTransaction(transactions.getByHash(transactionIndexes.getByHash(new Hash(i)).getTransactionHash()), lengthPrefixed, output, transactionNumber);
                 }
             }
             for (Hash hash : transactionHelper.getNoneIndexedTransactionHashes()) {
-                output.write(jacksonSerializer.serialize(transactions.getByHash(hash)));
-                output.flush();
-                transactionNumber.incrementAndGet();
-
+                writeTransaction(transactions.getByHash(hash), lengthPrefixed, output, transactionNumber);
             }
+            output.flush();
 
         } catch (Exception e) {
             log.error("Error sending transaction batch");
@@ -86,6 +104,21 @@ public class BaseNodeTransactionService implements ITransactionService {
         }
     }
 
+    private void writeTransaction(TransactionData transactionData, boolean lengthPrefixed, ServletOutputStream output, AtomicLong transactionNumber) throws IOException {
+        byte[] serializedTransaction = jacksonSerializer.serialize(transactionData);
+        if (lengthPrefixed) {
+            StreamFraming.writeFrame(output, serializedTransaction);
+            if (transactionNumber.incrementAndGet() % FRAMED_TRANSACTIONS_PER_FLUSH == 0) {
+                output.flush();
+            }
+        } else {
+            // legacy readers expect each transaction to arrive in its own chunk
+            output.write(serializedTransaction);
+            output.flush();
+            transactionNumber.incrementAndGet();
+        }
+    }
+
     @Override
     public void getTransactionBatch(long startingIndex, FluxSink sink) {
         AtomicLong transactionNumber = new AtomicLong(0);
@@ -139,22 +172,26 @@ public class BaseNodeTransactionService implements ITransactionService {
         }
         try {
             transactionHelper.startHandleTransaction(transactionData);
-            if (!validationService.validatePropagatedTransactionDataIntegrity(transactionData)) {
+            long validationStartTime = System.nanoTime();
+            boolean isTransactionDataIntegrityValid = validationService.validatePropagatedTransactionDataIntegrity(transactionData);
+            propagatedTransactionValidationTimer.record(System.nanoTime() - validationStartTime, TimeUnit.NANOSECONDS);
+            if (!isTransactionDataIntegrityValid) {
                 log.error("Data Integrity validation failed: {}", transactionData.getHash());
                 return;
             }
-            if (hasOneOfParentsMissing(transactionData)) {
-                if (!postponedTransactions.containsKey(transactionData)) {
-                    postponedTransactions.put(transactionData, false);
-                }
+            Set<Hash> missingParentHashes = getMissingParentHashes(transactionData);
+            if (!missingParentHashes.isEmpty()) {
+                postponedTransactionService.postponeTransaction(transactionData, false, missingParentHashes);
                 return;
             }
             if (!validationService.validateBalancesAndAddToPreBalance(transactionData)) {
                 log.error("Balance check failed: {}", transactionData.getHash());
                 return;
             }
-            transactionHelper.attachTransactionToCluster(transactionData);
-            transactionHelper.setTransactionStateToSaved(transactionData);
+            propagatedTransactionAttachTimer.record(() -> {
+                transactionHelper.attachTransactionToCluster(transactionData);
+                transactionHelper.setTransactionStateToSaved(transactionData);
+            });
 
             continueHandlePropagatedTransaction(transactionData);
             transactionHelper.setTransactionStateToFinished(transactionData);
@@ -165,6 +202,8 @@ public class BaseNodeTransactionService implements ITransactionService {
             transactionHelper.endHandleTransaction(transactionData);
             if (isTransactionFinished) {
                 processPostponedTransactions(transactionData);
+            } else {
+                processArrivedParentsOfPostponedTransaction(transactionData);
             }
         }
     }
@@ -174,16 +213,21 @@ public class BaseNodeTransactionService implements ITransactionService {
         if (postponedDspConsensusResult != null) {
             dspVoteService.handleVoteConclusion(postponedDspConsensusResult);
         }
-        Map<TransactionData, Boolean> postponedParentTransactions = postponedTransactions.entrySet().stream().filter(
-                postponedTransactionMapEntry ->
-                        (postponedTransactionMapEntry.getKey().getRightParentHash() != null
-                                && postponedTransactionMapEntry.getKey().getRightParentHash().equals(transactionData.getHash()))
-                                || (postponedTransactionMapEntry.getKey().getLeftParentHash() != null
-                                && postponedTransactionMapEntry.getKey().getLeftParentHash().equals(transactionData.getHash())))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-        postponedParentTransactions.forEach((postponedTransaction, isTransactionFromFullNode) -> {
-            log.debug("Handling postponed transaction : {}, parent of transaction: {}", postponedTransaction.getHash(), transactionData.getHash());
-            postponedTransactions.remove(postponedTransaction);
+        releasePostponedTransactions(transactionData.getHash());
+    }
+
+    protected void processArrivedParentsOfPostponedTransaction(TransactionData transactionData) {
+        // a parent may have been stored after its absence was checked and before the transaction was postponed
+        postponedTransactionService.getMissingParentHashes(transactionData.getHash()).forEach(missingParentHash -> {
+            if (transactions.existsByHash(missingParentHash)) {
+                releasePostponedTransactions(missingParentHash);
+            }
+        });
+    }
+
+    private void releasePostponedTransactions(Hash parentHash) {
+        postponedTransactionService.releasePostponedTransactions(parentHash).forEach((postponedTransaction, isTransactionFromFullNode) -> {
+            log.debug("Handling postponed transaction : {}, parent of transaction: {}", postponedTransaction.getHash(), parentHash);
             handlePostponedTransaction(postponedTransaction, isTransactionFromFullNode);
         });
     }
@@ -248,12 +292,18 @@ public class BaseNodeTransactionService implements ITransactionService {
                 (transactionData.getRightParentHash() != null && transactionHelper.isTransactionHashProcessing(transactionData.getRightParentHash()));
     }
 
-    protected boolean hasOneOfParentsMissing(TransactionData transactionData) {
-        return (transactionData.getLeftParentHash() != null && transactions.getByHash(transactionData.getLeftParentHash()) == null) ||
-                (transactionData.getRightParentHash() != null && transactions.getByHash(transactionData.getRightParentHash()) == null);
+    protected Set<Hash> getMissingParentHashes(TransactionData transactionData) {
+        Set<Hash> missingParentHashes = new HashSet<>();
+        if (transactionData.getLeftParentHash() != null && !transactions.existsByHash(transactionData.getLeftParentHash())) {
+            missingParentHashes.add(transactionData.getLeftParentHash());
+        }
+        if (transactionData.getRightParentHash() != null && !transactions.existsByHash(transactionData.getRightParentHash())) {
+            missingParentHashes.add(transactionData.getRightParentHash());
+        }
+        return missingParentHashes;
     }
 
     public int totalPostponedTransactions() {
-        return postponedTransactions.size();
+        return postponedTransactionService.size();
     }
 }
@@ -0,0 +1,49 @@
+package io.coti.basenode.services;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.services.interfaces.IBalanceMap;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+public class BigDecimalBalanceMap implements IBalanceMap {
+
+    private final Map<Hash, BigDecimal> balances = new ConcurrentHashMap<>();
+
+    @Override
+    public BigDecimal get(Hash addressHash) {
+        return balances.get(addressHash);
+    }
+
+    @Override
+    public BigDecimal getOrZero(Hash addressHash) {
+        return balances.getOrDefault(addressHash, BigDecimal.ZERO);
+    }
+
+    @Override
+    public boolean containsKey(Hash addressHash) {
+        return balances.containsKey(addressHash);
+    }
+
+    @Override
+    public void put(Hash addressHash, BigDecimal amount) {
+        balances.put(addressHash, amount);
+    }
+
+    @Override
+    public void add(Hash addressHash, BigDecimal amount) {
+        balances.merge(addressHash, amount, BigDecimal::add);
+    }
+
+    @Override
+    public void addIfPresent(Hash addressHash, BigDecimal amount) {
+        balances.computeIfPresent(addressHash, (currentHash, currentAmount) -> currentAmount.add(amount));
+    }
+
+    @Override
+    public void forEach(BiConsumer<Hash, BigDecimal> consumer) {
+        balances.forEach(consumer);
+    }
+}
@@ -1,9 +1,7 @@
 package io.coti.basenode.services;
 
 import com.google.common.collect.Sets;
-import io.coti.basenode.data.Hash;
-import io.coti.basenode.data.TccInfo;
-import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.data.*;
 import io.coti.basenode.model.Transactions;
 import io.coti.basenode.services.interfaces.IClusterService;
 import io.coti.basenode.services.interfaces.IConfirmationService;
@@ -15,8 +13,10 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
+import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
@@ -36,6 +36,11 @@ public class ClusterService implements IClusterService {
     private boolean isStarted;
     private ConcurrentHashMap<Hash, TransactionData> trustChainConfirmationCluster;
     private AtomicLong totalSources = new AtomicLong(0);
+    private final Map<Hash, Instant> nonZeroSpendChainAttachmentTimes = new ConcurrentHashMap<>();
+    private final Map<Hash, StarvationCandidateData> starvationCandidatesByHash = new ConcurrentHashMap<>();
+    private final NavigableSet<StarvationCandidateData> starvationCandidates = new ConcurrentSkipListSet<>();
+    private final Object nonZeroSpendChainAttachmentTimeLock = new Object();
+    private boolean nonZeroSpendChainAttachmentTimesInitialized;
 
     @PostConstruct
     public void init() {
@@ -75,6 +80,7 @@ public class ClusterService implements IClusterService {
 
     @Override
     public void finalizeInit() {
+        initNonZeroSpendChainAttachmentTimes();
         isStarted = true;
         log.info("{} is up", this.getClass().getSimpleName());
     }
@@ -85,11 +91,11 @@ public class ClusterService implements IClusterService {
             return;
         }
 
-        trustChainConfirmationService.init(trustChainConfirmationCluster);
-        List<TccInfo> transactionConsensusConfirmed = trustChainConfirmationService.getTrustChainConfirmedTransactions();
+        List<TccInfo> transactionConsensusConfirmed = trustChainConfirmationService.getTrustChainConfirmedTransactions(trustChainConfirmationCluster);
 
         transactionConsensusConfirmed.forEach(tccInfo -> {
-            trustChainConfirmationCluster.remove(tccInfo.getHash());
+            TransactionData confirmedTransactionData = trustChainConfirmationCluster.remove(tccInfo.getHash());
+            removeNonZeroSpendChainAttachmentTime(tccInfo.getHash(), confirmedTransactionData);
             confirmationService.setTccToTrue(tccInfo);
             log.debug("TCC has been reached for transaction {}!!", tccInfo.getHash());
         });
@@ -115,8 +121,8 @@ public class ClusterService implements IClusterService {
             transactions.lockAndGetByHash(parentHash, parentTransactionData -> {
                 if (parentTransactionData != null && !parentTransactionData.getChildrenTransactionHashes().contains(transactionData.getHash())) {
                     parentTransactionData.addToChildrenTransactions(transactionData.getHash());
-                    if (trustChainConfirmationCluster.containsKey(parentTransactionData.getHash())) {
-                        trustChainConfirmationCluster.put(parentTransactionData.getHash(), parentTransactionData);
+                    if (trustChainConfirmationCluster.computeIfPresent(parentTransactionData.getHash(), (hash, clusterTransactionData) -> parentTransactionData) != null) {
+                        trustChainConfirmationService.transactionChanged(parentTransactionData.getHash());
                     }
                     transactions.put(parentTransactionData);
                 }
@@ -138,20 +144,148 @@ public class ClusterService implements IClusterService {
         if (transactionData != null && sourceListsByTrustScore.get(transactionData.getRoundedSenderTrustScore()).remove(transactionData)) {
             totalSources.decrementAndGet();
         }
+        removeStarvationCandidate(transactionHash);
     }
 
     private void addTransactionToTrustChainConfirmationCluster(TransactionData transactionData) {
         trustChainConfirmationCluster.put(transactionData.getHash(), transactionData);
+        trustChainConfirmationService.transactionChanged(transactionData.getHash());
 
         if (transactionData.isSource() && sourceListsByTrustScore.get(transactionData.getRoundedSenderTrustScore()).add(transactionData)) {
             totalSources.incrementAndGet();
         }
+        synchronized (nonZeroSpendChainAttachmentTimeLock) {
+            if (nonZeroSpendChainAttachmentTimesInitialized) {
+                addNonZeroSpendChainAttachmentTimeAndStarvationCandidate(transactionData);
+            }
+        }
 
         log.debug("Added New Transaction with hash:{}", transactionData.getHash());
     }
 
+    /**
+     * The transactions of the database are replayed on init in key order rather than in DAG order, so the chain attachment times are computed
+     * only once the cluster is complete, visiting the parents of each cluster transaction before the transaction itself.
+     */
+    private void initNonZeroSpendChainAttachmentTimes() {
+        synchronized (nonZeroSpendChainAttachmentTimeLock) {
+            Set<Hash> visitedTransactionHashes = new HashSet<>();
+            Set<Hash> calculatedTransactionHashes = new HashSet<>();
+            Deque<TransactionData> transactionsToCalculate = new ArrayDeque<>();
+            trustChainConfirmationCluster.values().forEach(clusterTransactionData -> {
+                transactionsToCalculate.push(clusterTransactionData);
+                while (!transactionsToCalculate.isEmpty()) {
+                    TransactionData transactionData = transactionsToCalculate.peek();
+                    if (visitedTransactionHashes.add(transactionData.getHash())) {
+                        pushUnvisitedClusterParents(transactionData, visitedTransactionHashes, transactionsToCalculate);
+                    } else {
+                        transactionsToCalculate.pop();
+                        if (calculatedTransactionHashes.add(transactionData.getHash())) {
+                            addNonZeroSpendChainAttachmentTimeAndStarvationCandidate(transactionData);
+                        }
+                    }
+                }
+            });
+            nonZeroSpendChainAttachmentTimesInitialized = true;
+            log.info("Calculated non zero spend chain attachment times of {} cluster transactions with {} starvation candidates", calculatedTransactionHashes.size(), starvationCandidates.size());
+        }
+    }
+
+    private void pushUnvisitedClusterParents(TransactionData transactionData, Set<Hash> visitedTransactionHashes, Deque<TransactionData> transactionsToCalculate) {
+        for (Hash parentHash : Arrays.asList(transactionData.getLeftParentHash(), transactionData.getRightParentHash())) {
+            TransactionData parentTransactionData = parentHash != null ? trustChainConfirmationCluster.get(parentHash) : null;
+            if (parentTransactionData != null && !visitedTransactionHashes.contains(parentHash)) {
+                transactionsToCalculate.push(parentTransactionData);
+            }
+        }
+    }
+
+    private void addNonZeroSpendChainAttachmentTimeAndStarvationCandidate(TransactionData transactionData) {
+        Instant nonZeroSpendChainAttachmentTime = addNonZeroSpendChainAttachmentTime(transactionData);
+        if (transactionData.isSource() && nonZeroSpendChainAttachmentTime != null) {
+            StarvationCandidateData starvationCandidateData = new StarvationCandidateData(transactionData, nonZeroSpendChainAttachmentTime);
+            starvationCandidatesByHash.put(transactionData.getHash(), starvationCandidateData);
+            starvationCandidates.add(starvationCandidateData);
+        }
+    }
+
+    /**
+     * The non zero spend chain attachment time of a cluster transaction is the latest attachment time of a non zero spend transaction among
+     * itself and its ancestors in the cluster. After init it is computed once on attachment from the parents, which are attached first.
+     */
+    private Instant addNonZeroSpendChainAttachmentTime(TransactionData transactionData) {
+        Instant nonZeroSpendChainAttachmentTime = calculateNonZeroSpendChainAttachmentTime(transactionData);
+        if (nonZeroSpendChainAttachmentTime != null) {
+            nonZeroSpendChainAttachmentTimes.put(transactionData.getHash(), nonZeroSpendChainAttachmentTime);
+        }
+        return nonZeroSpendChainAttachmentTime;
+    }
+
+    private Instant calculateNonZeroSpendChainAttachmentTime(TransactionData transactionData) {
+        Instant nonZeroSpendChainAttachmentTime = transactionData.getType() != TransactionType.ZeroSpend ? transactionData.getAttachmentTime() : null;
+        for (Hash parentHash : Arrays.asList(transactionData.getLeftParentHash(), transactionData.getRightParentHash())) {
+            Instant parentChainAttachmentTime = parentHash != null ? nonZeroSpendChainAttachmentTimes.get(parentHash) : null;
+            if (parentChainAttachmentTime != null && (nonZeroSpendChainAttachmentTime == null || nonZeroSpendChainAttachmentTime.isBefore(parentChainAttachmentTime))) {
+                nonZeroSpendChainAttachmentTime = parentChainAttachmentTime;
+            }
+        }
+        return nonZeroSpendChainAttachmentTime;
+    }
+
+    private void removeNonZeroSpendChainAttachmentTime(Hash transactionHash, TransactionData removedTransactionData) {
+        synchronized (nonZeroSpendChainAttachmentTimeLock) {
+            nonZeroSpendChainAttachmentTimes.remove(transactionHash);
+            removeStarvationCandidate(transactionHash);
+            if (nonZeroSpendChainAttachmentTimesInitialized && removedTransactionData != null) {
+                recalculateDescendantNonZeroSpendChainAttachmentTimes(removedTransactionData);
+            }
+        }
+    }
+
+    /**
+     * The chain attachment time of a descendant may come from the transaction that left the cluster, so the times of its descendants in the
+     * cluster are recalculated from their parents and their starvation candidates are re-keyed. The walk stops at descendants whose time is
+     * unchanged, since their own descendants are then unchanged as well.
+     */
+    private void recalculateDescendantNonZeroSpendChainAttachmentTimes(TransactionData removedTransactionData) {
+        Deque<Hash> transactionHashesToRecalculate = new ArrayDeque<>(removedTransactionData.getChildrenTransactionHashes());
+        while (!transactionHashesToRecalculate.isEmpty()) {
+            TransactionData transactionData = trustChainConfirmationCluster.get(transactionHashesToRecalculate.poll());
+            if (transactionData == null) {
+                continue;
+            }
+            Instant nonZeroSpendChainAttachmentTime = calculateNonZeroSpendChainAttachmentTime(transactionData);
+            if (Objects.equals(nonZeroSpendChainAttachmentTime, nonZeroSpendChainAttachmentTimes.get(transactionData.getHash()))) {
+                continue;
+            }
+            if (nonZeroSpendChainAttachmentTime != null) {
+                nonZeroSpendChainAttachmentTimes.put(transactionData.getHash(), nonZeroSpendChainAttachmentTime);
+            } else {
+                nonZeroSpendChainAttachmentTimes.remove(transactionData.getHash());
+            }
+            if (starvationCandidatesByHash.containsKey(transactionData.getHash())) {
+                removeStarvationCandidate(transactionData.getHash());
+                if (nonZeroSpendChainAttachmentTime != null) {
+                    StarvationCandidateData starvationCandidateData = new StarvationCandidateData(transactionData, nonZeroSpendChainAttachmentTime);
+                    starvationCandidatesByHash.put(transactionData.getHash(), starvationCandidateData);
+                    starvationCandidates.add(starvationCandidateData);
+                }
+            }
+            transactionHashesToRecalculate.addAll(transactionData.getChildrenTransactionHashes());
+        }
+    }
+
+    private void removeStarvationCandidate(Hash transactionHash) {
+        StarvationCandidateData starvationCandidateData = starvationCandidatesByHash.remove(transactionHash);
+        if (starvationCandidateData != null) {
+            starvationCandidates.remove(starvationCandidateData);
+        }
+    }
+
     private void removeTransactionFromTrustChainConfirmationCluster(TransactionData transactionData) {
         trustChainConfirmationCluster.remove(transactionData.getHash());
+        trustChainConfirmationService.transactionChanged(transactionData.getHash());
+        removeNonZeroSpendChainAttachmentTime(transactionData.getHash(), transactionData);
 
         if (transactionData.isSource() && sourceListsByTrustScore.get(transactionData.getRoundedSenderTrustScore()).remove(transactionData)) {
             totalSources.decrementAndGet();
@@ -197,6 +331,18 @@ public class ClusterService implements IClusterService {
         return SerializationUtils.clone(trustChainConfirmationCluster);
     }
 
+    @Override
+    public List<StarvationCandidateData> getStarvationCandidates(Instant chainAttachedBefore) {
+        List<StarvationCandidateData> starvationCandidatesAttachedBefore = new ArrayList<>();
+        for (StarvationCandidateData starvationCandidateData : starvationCandidates) {
+            if (!starvationCandidateData.getChainAttachmentTime().isBefore(chainAttachedBefore)) {
+                break;
+            }
+            starvationCandidatesAttachedBefore.add(starvationCandidateData);
+        }
+        return starvationCandidatesAttachedBefore;
+    }
+
     @Override
     public List<Set<TransactionData>> getSourceListsByTrustScore() {
         return Collections.unmodifiableList(sourceListsByTrustScore);
@@ -0,0 +1,69 @@
+package io.coti.basenode.services;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.services.interfaces.IBalanceMap;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+import static io.coti.basenode.services.TransactionHelper.CURRENCY_SCALE;
+
+/**
+ * Keeps balances as longs scaled by {@link TransactionHelper#CURRENCY_SCALE}, so the in-memory maps store longs instead of
+ * {@link BigDecimal} values. Amounts are still converted from and to {@link BigDecimal} at the interface. Amounts with a
+ * larger scale or outside the long range are rejected with an {@link ArithmeticException}.
+ */
+public class FixedPointBalanceMap implements IBalanceMap {
+
+    private final Map<Hash, Long> balances = new ConcurrentHashMap<>();
+
+    @Override
+    public BigDecimal get(Hash addressHash) {
+        Long balance = balances.get(addressHash);
+        return balance != null ? toBigDecimal(balance) : null;
+    }
+
+    @Override
+    public BigDecimal getOrZero(Hash addressHash) {
+        Long balance = balances.get(addressHash);
+        return balance != null ? toBigDecimal(balance) : BigDecimal.ZERO;
+    }
+
+    @Override
+    public boolean containsKey(Hash addressHash) {
+        return balances.containsKey(addressHash);
+    }
+
+    @Override
+    public void put(Hash addressHash, BigDecimal amount) {
+        balances.put(addressHash, toFixedPoint(amount));
+    }
+
+    @Override
+    public void add(Hash addressHash, BigDecimal amount) {
+        balances.merge(addressHash, toFixedPoint(amount), Math::addExact);
+    }
+
+    @Override
+    public void addIfPresent(Hash addressHash, BigDecimal amount) {
+        long fixedPointAmount = toFixedPoint(amount);
+        balances.computeIfPresent(addressHash, (currentHash, currentAmount) -> Math.addExact(currentAmount, fixedPointAmount));
+    }
+
+    @Override
+    public void forEach(BiConsumer<Hash, BigDecimal> consumer) {
+        balances.forEach((addressHash, balance) -> consumer.accept(addressHash, toBigDecimal(balance)));
+    }
+
+    public static long toFixedPoint(BigDecimal amount) {
+        return amount.setScale(CURRENCY_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long fixedPointAmount) {
+        BigDecimal amount = BigDecimal.valueOf(fixedPointAmount, CURRENCY_SCALE).stripTrailingZeros();
+        return amount.scale() < 0 ? amount.setScale(0) : amount;
+    }
+}
@@ -0,0 +1,114 @@
+package io.coti.basenode.services;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.TransactionData;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+
+@Slf4j
+@Service
+public class PostponedTransactionService {
+
+    @Value("${postponed.transactions.max.size}")
+    private int maxPostponedTransactions;
+    @Value("${postponed.transactions.expiry.seconds}")
+    private long postponedTransactionExpirySeconds;
+    private final LinkedHashMap<Hash, PostponedTransaction> postponedTransactions = new LinkedHashMap<>();
+    private final Map<Hash, Set<Hash>> postponedTransactionHashesByMissingParentHash = new HashMap<>();
+
+    public synchronized boolean postponeTransaction(TransactionData transactionData, boolean isTransactionFromFullNode, Set<Hash> missingParentHashes) {
+        if (postponedTransactions.containsKey(transactionData.getHash())) {
+            return false;
+        }
+        if (postponedTransactions.size() >= maxPostponedTransactions) {
+            PostponedTransaction oldestPostponedTransaction = postponedTransactions.values().iterator().next();
+            log.warn("Postponed transactions reached the maximum of {}, dropping postponed transaction {}", maxPostponedTransactions, oldestPostponedTransaction.transactionData.getHash());
+            removePostponedTransaction(oldestPostponedTransaction);
+        }
+        postponedTransactions.put(transactionData.getHash(), new PostponedTransaction(transactionData, isTransactionFromFullNode, missingParentHashes));
+        missingParentHashes.forEach(missingParentHash ->
+                postponedTransactionHashesByMissingParentHash.computeIfAbsent(missingParentHash, parentHash -> new HashSet<>()).add(transactionData.getHash()));
+        return true;
+    }
+
+    public synchronized Map<TransactionData, Boolean> releasePostponedTransactions(Hash parentHash) {
+        Set<Hash> postponedTransactionHashes = postponedTransactionHashesByMissingParentHash.remove(parentHash);
+        if (postponedTransactionHashes == null) {
+            return Collections.emptyMap();
+        }
+        Map<TransactionData, Boolean> releasedTransactions = new LinkedHashMap<>();
+        postponedTransactionHashes.forEach(postponedTransactionHash -> {
+            PostponedTransaction postponedTransaction = postponedTransactions.get(postponedTransactionHash);
+            if (postponedTransaction != null) {
+                postponedTransaction.missingParentHashes.remove(parentHash);
+                if (postponedTransaction.missingParentHashes.isEmpty()) {
+                    postponedTransactions.remove(postponedTransactionHash);
+                    releasedTransactions.put(postponedTransaction.transactionData, postponedTransaction.isTransactionFromFullNode);
+                }
+            }
+        });
+        return releasedTransactions;
+    }
+
+    public synchronized Set<Hash> getMissingParentHashes(Hash transactionHash) {
+        PostponedTransaction postponedTransaction = postponedTransactions.get(transactionHash);
+        return postponedTransaction != null ? new HashSet<>(postponedTransaction.missingParentHashes) : Collections.emptySet();
+    }
+
+    public synchronized int size() {
+        return postponedTransactions.size();
+    }
+
+    @Scheduled(initialDelay = 10000, fixedDelay = 10000)
+    public synchronized void removeExpiredPostponedTransactions() {
+        Instant expiryTime = Instant.now().minusSeconds(postponedTransactionExpirySeconds);
+        int expiredTransactions = 0;
+        Iterator<PostponedTransaction> postponedTransactionIterator = postponedTransactions.values().iterator();
+        while (postponedTransactionIterator.hasNext()) {
+            PostponedTransaction postponedTransaction = postponedTransactionIterator.next();
+            if (!postponedTransaction.postponeTime.isBefore(expiryTime)) {
+                break;
+            }
+            postponedTransactionIterator.remove();
+            unindexPostponedTransaction(postponedTransaction);
+            expiredTransactions++;
+        }
+        if (expiredTransactions > 0) {
+            log.warn("Removed {} postponed transactions whose parents did not arrive within {} seconds", expiredTransactions, postponedTransactionExpirySeconds);
+        }
+    }
+
+    private void removePostponedTransaction(PostponedTransaction postponedTransaction) {
+        postponedTransactions.remove(postponedTransaction.transactionData.getHash());
+        unindexPostponedTransaction(postponedTransaction);
+    }
+
+    private void unindexPostponedTransaction(PostponedTransaction postponedTransaction) {
+        Hash postponedTransactionHash = postponedTransaction.transactionData.getHash();
+        postponedTransaction.missingParentHashes.forEach(missingParentHash -> {
+            Set<Hash> postponedTransactionHashes = postponedTransactionHashesByMissingParentHash.get(missingParentHash);
+            if (postponedTransactionHashes != null && postponedTransactionHashes.remove(postponedTransactionHash) && postponedTransactionHashes.isEmpty()) {
+                postponedTransactionHashesByMissingParentHash.remove(missingParentHash);
+            }
+        });
+    }
+
+    private static class PostponedTransaction {
+
+        private final TransactionData transactionData;
+        private final boolean isTransactionFromFullNode;
+        private final Set<Hash> missingParentHashes;
+        private final Instant postponeTime = Instant.now();
+
+        private PostponedTransaction(TransactionData transactionData, boolean isTransactionFromFullNode, Set<Hash> missingParentHashes) {
+            this.transactionData = transactionData;
+            this.isTransactionFromFullNode = isTransactionFromFullNode;
+            this.missingParentHashes = new HashSet<>(missingParentHashes);
+        }
+    }
+}
@@ -5,6 +5,9 @@ import io.coti.basenode.crypto.ExpandedTransactionTrustScoreCrypto;
 import io.coti.basenode.crypto.TransactionCrypto;
 import io.coti.basenode.data.*;
 import io.coti.basenode.data.interfaces.ITrustScoreNodeValidatable;
+import io.coti.basenode.database.DatabaseWriteBatch;
+import io.coti.basenode.database.interfaces.IDatabaseConnector;
+import io.coti.basenode.exceptions.DataBaseException;
 import io.coti.basenode.model.AddressTransactionsHistories;
 import io.coti.basenode.model.TransactionIndexes;
 import io.coti.basenode.model.Transactions;
@@ -47,6 +50,8 @@ public class TransactionHelper implements ITransactionHelper {
     private TransactionIndexes transactionIndexes;
     @Autowired
     private ExpandedTransactionTrustScoreCrypto expandedTransactionTrustScoreCrypto;
+    @Autowired
+    private IDatabaseConnector databaseConnector;
     private Map<Hash, Stack<TransactionState>> transactionHashToTransactionStateStackMapping;
     private AtomicLong totalTransactions = new AtomicLong(0);
     private Set<Hash> noneIndexedTransactionHashes;
@@ -304,7 +309,7 @@ public class TransactionHelper implements ITransactionHelper {
         transactionData.setTrustChainTrustScore(0);
         transactionData.setTransactionConsensusUpdateTime(null);
         transactionData.setChildrenTransactionHashes(new ArrayList<>());
-        transactions.put(transactionData);
+        saveTransactionWithAddressHistories(transactionData);
         totalTransactions.incrementAndGet();
         if (!isDspConfirmed(transactionData)) {
             addNoneIndexedTransaction(transactionData);
@@ -312,10 +317,25 @@ public class TransactionHelper implements ITransactionHelper {
         if (transactionData.getDspConsensusResult() != null) {
             confirmationService.setDspcToTrue(transactionData.getDspConsensusResult());
         }
-        updateAddressTransactionHistory(transactionData);
         clusterService.attachToCluster(transactionData);
     }
 
+    /**
+     * Writes the transaction and the histories of its addresses atomically. Addresses are not written on attachment, and the
+     * transaction index is written later by the confirmation service in index order, so neither is part of this batch.
+     */
+    private void saveTransactionWithAddressHistories(TransactionData transactionData) {
+        Map<Hash, AddressTransactionsHistory> addressToTransactionsHistoryMap = new HashMap<>();
+        updateAddressTransactionHistory(addressToTransactionsHistoryMap, transactionData);
+        try (DatabaseWriteBatch databaseWriteBatch = databaseConnector.createWriteBatch()) {
+            transactions.put(databaseWriteBatch, transactionData);
+            addressToTransactionsHistoryMap.values().forEach(addressHistory -> addressTransactionsHistories.put(databaseWriteBatch, addressHistory));
+            if (!databaseWriteBatch.commit()) {
+                throw new DataBaseException(String.format("Error at saving transaction %s with its address histories", transactionData.getHash()));
+            }
+        }
+    }
+
     public void setTransactionStateToSaved(TransactionData transactionData) {
         transactionHashToTransactionStateStackMapping.get(transactionData.getHash()).push(SAVED_IN_DB);
     }
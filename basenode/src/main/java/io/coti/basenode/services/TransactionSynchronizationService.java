@@ -1,7 +1,10 @@
 package io.coti.basenode.services;
 
 import io.coti.basenode.communication.JacksonSerializer;
+import io.coti.basenode.communication.StreamFraming;
+import io.coti.basenode.crypto.DspConsensusCrypto;
 import io.coti.basenode.data.AddressTransactionsHistory;
+import io.coti.basenode.data.DspConsensusResult;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.TransactionData;
 import io.coti.basenode.exceptions.TransactionSyncException;
@@ -18,6 +21,7 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @Slf4j
@@ -25,7 +29,6 @@ public class TransactionSynchronizationService implements ITransactionSynchroniz
 
     private static final String RECOVERY_NODE_GET_BATCH_ENDPOINT = "/transaction_batch";
     private static final String STARTING_INDEX_URL_PARAM_ENDPOINT = "?starting_index=";
-    private static final long MAXIMUM_BUFFER_SIZE = 300000;
     @Autowired
     private ITransactionHelper transactionHelper;
     @Autowired
@@ -40,6 +43,8 @@ public class TransactionSynchronizationService implements ITransactionSynchroniz
     private JacksonSerializer jacksonSerializer;
     @Autowired
     private RestTemplate restTemplate;
+    @Autowired
+    private DspConsensusCrypto dspConsensusCrypto;
 
     public void requestMissingTransactions(long firstMissingTransactionIndex) {
         try {
@@ -49,41 +54,28 @@ public class TransactionSynchronizationService implements ITransactionSynchroniz
             AtomicLong completedMissingTransactionNumber = new AtomicLong(0);
             AtomicLong receivedMissingTransactionNumber = new AtomicLong(0);
             AtomicBoolean finishedToReceive = new AtomicBoolean(false);
+            AtomicReference<Exception> insertMissingTransactionFailure = new AtomicReference<>();
             Thread monitorMissingTransactionThread = transactionService.monitorTransactionThread("missing", completedMissingTransactionNumber, receivedMissingTransactionNumber);
-            Thread insertMissingTransactionThread = insertMissingTransactionThread(missingTransactions, trustChainUnconfirmedExistingTransactionHashes, completedMissingTransactionNumber, monitorMissingTransactionThread, finishedToReceive);
+            Thread insertMissingTransactionThread = insertMissingTransactionThread(missingTransactions, trustChainUnconfirmedExistingTransactionHashes, completedMissingTransactionNumber, monitorMissingTransactionThread, finishedToReceive, insertMissingTransactionFailure);
             ResponseExtractor responseExtractor = response -> {
-                byte[] buf = new byte[Math.toIntExact(MAXIMUM_BUFFER_SIZE)];
-                int offset = 0;
-                int n;
-                while ((n = response.getBody().read(buf, offset, buf.length - offset)) > 0) {
-                    try {
-                        TransactionData missingTransaction = jacksonSerializer.deserialize(buf);
-                        if (missingTransaction != null) {
-                            missingTransactions.add(missingTransaction);
-                            receivedMissingTransactionNumber.incrementAndGet();
-                            if (!insertMissingTransactionThread.isAlive()) {
-                                insertMissingTransactionThread.start();
-                            }
-                            Arrays.fill(buf, 0, offset + n, (byte) 0);
-                            offset = 0;
-                        } else {
-                            offset += n;
-                        }
-
-                    } catch (Exception e) {
-                        throw new TransactionSyncException("Error at getting chunks", e);
+                StreamFraming.<TransactionData>readStream(response, jacksonSerializer, missingTransaction -> {
+                    missingTransactions.add(missingTransaction);
+                    receivedMissingTransactionNumber.incrementAndGet();
+                    if (!insertMissingTransactionThread.isAlive()) {
+                        insertMissingTransactionThread.start();
                     }
-                }
+                });
                 return null;
             };
             restTemplate.execute(networkService.getRecoveryServerAddress() + RECOVERY_NODE_GET_BATCH_ENDPOINT
-                    + STARTING_INDEX_URL_PARAM_ENDPOINT + firstMissingTransactionIndex, HttpMethod.GET, null, responseExtractor);
+                    + STARTING_INDEX_URL_PARAM_ENDPOINT + firstMissingTransactionIndex, HttpMethod.GET, StreamFraming::requestLengthPrefixed, responseExtractor);
             if (insertMissingTransactionThread.isAlive()) {
                 log.info("Received all {} missing transactions from recovery server", receivedMissingTransactionNumber);
-                synchronized (finishedToReceive) {
-                    finishedToReceive.set(true);
-                    finishedToReceive.wait();
-                }
+                finishedToReceive.set(true);
+                insertMissingTransactionThread.join();
+            }
+            if (insertMissingTransactionFailure.get() != null) {
+                throw new TransactionSyncException(insertMissingTransactionFailure.get().getMessage(), insertMissingTransactionFailure.get());
             }
             log.info("Finished to get missing transactions");
         } catch (TransactionSyncException e) {
@@ -94,7 +86,8 @@ public class TransactionSynchronizationService implements ITransactionSynchroniz
 
     }
 
-    private Thread insertMissingTransactionThread(List<TransactionData> missingTransactions, Set<Hash> trustChainUnconfirmedExistingTransactionHashes, AtomicLong completedMissingTransactionNumber, Thread monitorMissingTransactionThread, AtomicBoolean finishedToReceive) {
+    private Thread insertMissingTransactionThread(List<TransactionData> missingTransactions, Set<Hash> trustChainUnconfirmedExistingTransactionHashes, AtomicLong completedMissingTransactionNumber, Thread monitorMissingTransactionThread, AtomicBoolean finishedToReceive,
+                                                  AtomicReference<Exception> insertMissingTransactionFailure) {
         return new Thread(() -> {
             Map<Hash, AddressTransactionsHistory> addressToTransactionsHistoryMap = new ConcurrentHashMap<>();
             int offset = 0;
@@ -102,27 +95,42 @@ public class TransactionSynchronizationService implements ITransactionSynchroniz
             int missingTransactionsSize;
             monitorMissingTransactionThread.start();
 
-            while ((missingTransactionsSize = missingTransactions.size()) > offset || !finishedToReceive.get()) {
-                if (missingTransactionsSize - 1 > offset || (missingTransactionsSize - 1 == offset && missingTransactions.get(offset) != null)) {
-                    nextOffSet = offset + (finishedToReceive.get() ? missingTransactionsSize - offset : 1);
-                    for (int i = offset; i < nextOffSet; i++) {
-                        TransactionData transactionData = missingTransactions.get(i);
-                        transactionService.handleMissingTransaction(transactionData, trustChainUnconfirmedExistingTransactionHashes);
-                        transactionHelper.updateAddressTransactionHistory(addressToTransactionsHistoryMap, transactionData);
-                        missingTransactions.set(i, null);
-                        completedMissingTransactionNumber.incrementAndGet();
+            try {
+                while ((missingTransactionsSize = missingTransactions.size()) > offset || !finishedToReceive.get()) {
+                    if (missingTransactionsSize - 1 > offset || (missingTransactionsSize - 1 == offset && missingTransactions.get(offset) != null)) {
+                        nextOffSet = offset + (finishedToReceive.get() ? missingTransactionsSize - offset : 1);
+                        verifyDspConsensusResults(missingTransactions, offset, nextOffSet);
+                        for (int i = offset; i < nextOffSet; i++) {
+                            TransactionData transactionData = missingTransactions.get(i);
+                            transactionService.handleMissingTransaction(transactionData, trustChainUnconfirmedExistingTransactionHashes);
+                            transactionHelper.updateAddressTransactionHistory(addressToTransactionsHistoryMap, transactionData);
+                            missingTransactions.set(i, null);
+                            completedMissingTransactionNumber.incrementAndGet();
+                        }
+                        offset = nextOffSet;
                     }
-                    offset = nextOffSet;
                 }
+            } catch (Exception e) {
+                insertMissingTransactionFailure.set(e);
+            } finally {
+                addressTransactionsHistories.putBatch(addressToTransactionsHistoryMap);
+                monitorMissingTransactionThread.interrupt();
             }
-            addressTransactionsHistories.putBatch(addressToTransactionsHistoryMap);
-            monitorMissingTransactionThread.interrupt();
-            synchronized (finishedToReceive) {
-                finishedToReceive.notify();
-            }
-
         });
 
     }
 
+    private void verifyDspConsensusResults(List<TransactionData> missingTransactions, int fromIndex, int toIndex) {
+        List<DspConsensusResult> dspConsensusResults = new ArrayList<>();
+        for (int i = fromIndex; i < toIndex; i++) {
+            DspConsensusResult dspConsensusResult = missingTransactions.get(i).getDspConsensusResult();
+            if (dspConsensusResult != null) {
+                dspConsensusResults.add(dspConsensusResult);
+            }
+        }
+        if (!dspConsensusCrypto.verifySignatures(dspConsensusResults)) {
+            throw new TransactionSyncException("DspConsensus signature verification failed for missing transactions");
+        }
+    }
+
 }
@@ -3,74 +3,215 @@ package io.coti.basenode.services;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.TccInfo;
 import io.coti.basenode.data.TransactionData;
-import io.coti.basenode.services.interfaces.IClusterHelper;
+import io.coti.basenode.model.Transactions;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Configurable;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
+/**
+ * Keeps the trust chain trust scores of the trust chain confirmation cluster up to date incrementally.
+ * Cluster changes are only recorded by the attaching threads; the graph itself is owned by the thread
+ * calling {@link #getTrustChainConfirmedTransactions(Map)}, which applies the recorded changes and
+ * propagates score increases to the ancestors of the changed transactions only.
+ */
 @Slf4j
 @Service
-@Configurable
 public class TrustChainConfirmationService {
 
     @Value("${cluster.trust.chain.threshold}")
     private int threshold;
-    private ConcurrentMap<Hash, TransactionData> trustChainConfirmationCluster;
-    private LinkedList<TransactionData> topologicalOrderedGraph;
     @Autowired
-    private IClusterHelper clusterHelper;
+    private Transactions transactions;
+    private final Set<Hash> changedTransactionHashes = ConcurrentHashMap.newKeySet();
+    private final Map<Hash, TrustChainNode> trustChainNodes = new HashMap<>();
 
-    public void init(ConcurrentMap<Hash, TransactionData> trustChainConfirmationCluster) {
-        this.trustChainConfirmationCluster = new ConcurrentHashMap<>(trustChainConfirmationCluster);
-        topologicalOrderedGraph = new LinkedList<>();
-        clusterHelper.sortByTopologicalOrder(trustChainConfirmationCluster, topologicalOrderedGraph);
+    public void transactionChanged(Hash transactionHash) {
+        changedTransactionHashes.add(transactionHash);
     }
 
-    private void setTotalTrustScore(TransactionData parent) {
-        double maxSonsTotalTrustScore = 0;
+    public List<TccInfo> getTrustChainConfirmedTransactions(Map<Hash, TransactionData> trustChainConfirmationCluster) {
+        Set<TrustChainNode> changedNodes = new LinkedHashSet<>();
+        Set<TrustChainNode> removedNodes = new HashSet<>();
+        applyChangedTransactions(trustChainConfirmationCluster, changedNodes, removedNodes);
 
-        for (Hash transactionHash : parent.getChildrenTransactionHashes()) {
-            try {
-                TransactionData child = trustChainConfirmationCluster.get(transactionHash);
-                if (child != null && child.getTrustChainTrustScore()
-                        > maxSonsTotalTrustScore) {
-                    maxSonsTotalTrustScore = trustChainConfirmationCluster.get(transactionHash).getTrustChainTrustScore();
+        Set<TrustChainNode> updatedNodes = new LinkedHashSet<>(changedNodes);
+        propagateTrustChainTrustScores(changedNodes, updatedNodes);
+
+        List<TrustChainNode> confirmedNodes = new ArrayList<>();
+        updatedNodes.forEach(trustChainNode -> {
+            if (trustChainNode.inCluster && trustChainNode.trustChainTrustScore >= threshold && !trustChainNode.transactionData.isTrustChainConsensus()) {
+                confirmedNodes.add(trustChainNode);
+            }
+        });
+        List<TccInfo> trustChainConfirmations = new LinkedList<>();
+        sortParentsFirst(confirmedNodes).forEach(trustChainNode -> {
+            TransactionData transactionData = trustChainNode.transactionData;
+            Instant trustScoreConsensusTime = Optional.ofNullable(transactionData.getTrustChainConsensusTime()).orElse(Instant.now());
+            trustChainConfirmations.add(new TccInfo(transactionData.getHash(), trustChainNode.trustChainTrustScore, trustScoreConsensusTime));
+            trustChainNode.inCluster = false;
+            removedNodes.add(trustChainNode);
+            log.debug("transaction with hash:{} is confirmed with trustScore: {} and totalTrustScore:{} ", transactionData.getHash(), transactionData.getSenderTrustScore(), trustChainNode.trustChainTrustScore);
+        });
+        pruneNodes(removedNodes);
+
+        return trustChainConfirmations;
+    }
+
+    private void applyChangedTransactions(Map<Hash, TransactionData> trustChainConfirmationCluster, Set<TrustChainNode> changedNodes, Set<TrustChainNode> removedNodes) {
+        Iterator<Hash> changedTransactionHashesIterator = changedTransactionHashes.iterator();
+        while (changedTransactionHashesIterator.hasNext()) {
+            Hash transactionHash = changedTransactionHashesIterator.next();
+            changedTransactionHashesIterator.remove();
+            TransactionData transactionData = trustChainConfirmationCluster.get(transactionHash);
+            TrustChainNode trustChainNode = trustChainNodes.get(transactionHash);
+            if (transactionData == null) {
+                if (trustChainNode != null && trustChainNode.inCluster) {
+                    trustChainNode.inCluster = false;
+                    removedNodes.add(trustChainNode);
                 }
-            } catch (Exception e) {
-                log.error("in setTotalSumScore: parent: {} child: {}", parent.getHash(), transactionHash);
-                throw e;
+                continue;
+            }
+            if (trustChainNode == null) {
+                trustChainNode = new TrustChainNode(transactionData);
+                trustChainNodes.put(transactionHash, trustChainNode);
+            }
+            trustChainNode.inCluster = true;
+            trustChainNode.transactionData = transactionData;
+            trustChainNode.trustChainTrustScore = Math.max(trustChainNode.trustChainTrustScore, transactionData.getTrustChainTrustScore());
+            linkNode(trustChainNode, trustChainConfirmationCluster, changedNodes);
+            changedNodes.add(trustChainNode);
+        }
+    }
+
+    private void linkNode(TrustChainNode trustChainNode, Map<Hash, TransactionData> trustChainConfirmationCluster, Set<TrustChainNode> changedNodes) {
+        TransactionData transactionData = trustChainNode.transactionData;
+        for (Hash childHash : transactionData.getChildrenTransactionHashes()) {
+            TrustChainNode childNode = trustChainNodes.get(childHash);
+            if (childNode == null && !trustChainConfirmationCluster.containsKey(childHash)) {
+                TransactionData childTransactionData = transactions.getByHash(childHash);
+                if (childTransactionData != null) {
+                    childNode = new TrustChainNode(childTransactionData);
+                    trustChainNodes.put(childHash, childNode);
+                    linkToExistingNodes(childNode, changedNodes);
+                    changedNodes.add(childNode);
+                }
+            }
+            if (childNode != null) {
+                link(trustChainNode, childNode, changedNodes);
+            }
+        }
+        linkToExistingNodes(trustChainNode, changedNodes);
+    }
+
+    private void linkToExistingNodes(TrustChainNode trustChainNode, Set<TrustChainNode> changedNodes) {
+        TransactionData transactionData = trustChainNode.transactionData;
+        for (Hash parentHash : Arrays.asList(transactionData.getLeftParentHash(), transactionData.getRightParentHash())) {
+            TrustChainNode parentNode = parentHash != null ? trustChainNodes.get(parentHash) : null;
+            if (parentNode != null) {
+                link(parentNode, trustChainNode, changedNodes);
             }
         }
+        for (Hash childHash : transactionData.getChildrenTransactionHashes()) {
+            TrustChainNode childNode = trustChainNodes.get(childHash);
+            if (childNode != null) {
+                link(trustChainNode, childNode, changedNodes);
+            }
+        }
+    }
 
-        // updating parent trustChainTrustScore
-        if (parent.getTrustChainTrustScore() < parent.getSenderTrustScore() + maxSonsTotalTrustScore) {
-            parent.setTrustChainTrustScore(parent.getSenderTrustScore() + maxSonsTotalTrustScore);
+    private void link(TrustChainNode parentNode, TrustChainNode childNode, Set<TrustChainNode> changedNodes) {
+        if (parentNode.children.add(childNode)) {
+            childNode.parents.add(parentNode);
+            changedNodes.add(parentNode);
         }
+    }
 
+    private void propagateTrustChainTrustScores(Set<TrustChainNode> changedNodes, Set<TrustChainNode> updatedNodes) {
+        Deque<TrustChainNode> nodesToUpdate = new ArrayDeque<>(changedNodes);
+        Set<TrustChainNode> queuedNodes = new HashSet<>(changedNodes);
+        while (!nodesToUpdate.isEmpty()) {
+            TrustChainNode trustChainNode = nodesToUpdate.poll();
+            queuedNodes.remove(trustChainNode);
+            double maxSonsTotalTrustScore = 0;
+            for (TrustChainNode childNode : trustChainNode.children) {
+                maxSonsTotalTrustScore = Math.max(maxSonsTotalTrustScore, childNode.trustChainTrustScore);
+            }
+            double trustChainTrustScore = trustChainNode.transactionData.getSenderTrustScore() + maxSonsTotalTrustScore;
+            if (trustChainNode.trustChainTrustScore < trustChainTrustScore) {
+                trustChainNode.trustChainTrustScore = trustChainTrustScore;
+                updatedNodes.add(trustChainNode);
+                trustChainNode.parents.forEach(parentNode -> {
+                    if (queuedNodes.add(parentNode)) {
+                        nodesToUpdate.add(parentNode);
+                    }
+                });
+            }
+            if (trustChainNode.inCluster && trustChainNode.transactionData.getTrustChainTrustScore() < trustChainNode.trustChainTrustScore) {
+                trustChainNode.transactionData.setTrustChainTrustScore(trustChainNode.trustChainTrustScore);
+            }
+        }
     }
 
-    public List<TccInfo> getTrustChainConfirmedTransactions() {
-        LinkedList<TccInfo> trustChainConfirmations = new LinkedList<>();
-        for (TransactionData transactionData : topologicalOrderedGraph) {
-            setTotalTrustScore(transactionData);
-            if (transactionData.getTrustChainTrustScore() >= threshold && !transactionData.isTrustChainConsensus()) {
-                Instant trustScoreConsensusTime = Optional.ofNullable(transactionData.getTrustChainConsensusTime()).orElse(Instant.now());
-                TccInfo tccInfo = new TccInfo(transactionData.getHash(), transactionData.getTrustChainTrustScore(), trustScoreConsensusTime);
-                trustChainConfirmations.addFirst(tccInfo);
-                log.debug("transaction with hash:{} is confirmed with trustScore: {} and totalTrustScore:{} ", transactionData.getHash(), transactionData.getSenderTrustScore(), transactionData.getTrustChainTrustScore());
+    private List<TrustChainNode> sortParentsFirst(List<TrustChainNode> confirmedNodes) {
+        Map<TrustChainNode, Integer> confirmedParentsCount = new HashMap<>();
+        confirmedNodes.forEach(trustChainNode -> confirmedParentsCount.put(trustChainNode, 0));
+        confirmedNodes.forEach(trustChainNode -> trustChainNode.children.forEach(childNode -> confirmedParentsCount.computeIfPresent(childNode, (node, count) -> count + 1)));
+        Deque<TrustChainNode> readyNodes = new ArrayDeque<>();
+        confirmedParentsCount.forEach((trustChainNode, count) -> {
+            if (count == 0) {
+                readyNodes.add(trustChainNode);
             }
+        });
+        List<TrustChainNode> sortedNodes = new ArrayList<>(confirmedNodes.size());
+        while (!readyNodes.isEmpty()) {
+            TrustChainNode trustChainNode = readyNodes.poll();
+            sortedNodes.add(trustChainNode);
+            trustChainNode.children.forEach(childNode -> {
+                if (Integer.valueOf(0).equals(confirmedParentsCount.computeIfPresent(childNode, (node, count) -> count - 1))) {
+                    readyNodes.add(childNode);
+                }
+            });
         }
+        return sortedNodes;
+    }
 
-        return trustChainConfirmations;
+    private void pruneNodes(Set<TrustChainNode> removedNodes) {
+        Deque<TrustChainNode> nodesToCheck = new ArrayDeque<>();
+        removedNodes.forEach(removedNode -> {
+            nodesToCheck.add(removedNode);
+            nodesToCheck.addAll(removedNode.children);
+        });
+        while (!nodesToCheck.isEmpty()) {
+            TrustChainNode trustChainNode = nodesToCheck.poll();
+            if (trustChainNode.inCluster || trustChainNodes.get(trustChainNode.transactionData.getHash()) != trustChainNode
+                    || trustChainNode.parents.stream().anyMatch(parentNode -> parentNode.inCluster)) {
+                continue;
+            }
+            trustChainNodes.remove(trustChainNode.transactionData.getHash());
+            trustChainNode.parents.forEach(parentNode -> parentNode.children.remove(trustChainNode));
+            trustChainNode.children.forEach(childNode -> {
+                childNode.parents.remove(trustChainNode);
+                nodesToCheck.add(childNode);
+            });
+        }
     }
 
+    private static class TrustChainNode {
+
+        private TransactionData transactionData;
+        private double trustChainTrustScore;
+        private boolean inCluster;
+        private final Set<TrustChainNode> parents = new HashSet<>();
+        private final Set<TrustChainNode> children = new HashSet<>();
+
+        private TrustChainNode(TransactionData transactionData) {
+            this.transactionData = transactionData;
+            this.trustChainTrustScore = transactionData.getTrustChainTrustScore();
+        }
+    }
 }
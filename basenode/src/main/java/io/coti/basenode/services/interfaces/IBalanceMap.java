@@ -0,0 +1,27 @@
+package io.coti.basenode.services.interfaces;
+
+import io.coti.basenode.data.Hash;
+
+import java.math.BigDecimal;
+import java.util.function.BiConsumer;
+
+public interface IBalanceMap {
+
+    BigDecimal get(Hash addressHash);
+
+    BigDecimal getOrZero(Hash addressHash);
+
+    boolean containsKey(Hash addressHash);
+
+    void put(Hash addressHash, BigDecimal amount);
+
+    void add(Hash addressHash, BigDecimal amount);
+
+    void addIfPresent(Hash addressHash, BigDecimal amount);
+
+    void forEach(BiConsumer<Hash, BigDecimal> consumer);
+
+    default void putAll(IBalanceMap balanceMap) {
+        balanceMap.forEach(this::put);
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.http.ResponseEntity;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 public interface IBalanceService {
 
@@ -26,6 +27,8 @@ public interface IBalanceService {
 
     void updateBalanceFromClusterStamp(Hash addressHash, BigDecimal amount);
 
+    void updateBalancesFromClusterStamp(Map<Hash, BigDecimal> addressHashToAmountMap);
+
     void updatePreBalanceFromClusterStamp();
 
     void updateBalance(Hash addressHash, BigDecimal amount);
@@ -1,8 +1,10 @@
 package io.coti.basenode.services.interfaces;
 
 import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.StarvationCandidateData;
 import io.coti.basenode.data.TransactionData;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -25,5 +27,7 @@ public interface IClusterService {
 
     ConcurrentHashMap<Hash, TransactionData> getCopyTrustChainConfirmationCluster();
 
+    List<StarvationCandidateData> getStarvationCandidates(Instant chainAttachedBefore);
+
     List<Set<TransactionData>> getSourceListsByTrustScore();
 }
@@ -29,5 +29,7 @@ public interface IConfirmationService {
 
     long getDspConfirmed();
 
+    int getConfirmationQueueSize();
+
     void shutdown();
 }
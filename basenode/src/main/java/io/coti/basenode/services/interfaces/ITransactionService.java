@@ -12,7 +12,7 @@ public interface ITransactionService {
 
     void init();
 
-    void getTransactionBatch(long startingIndex, HttpServletResponse response);
+    void getTransactionBatch(long startingIndex, boolean lengthPrefixed, HttpServletResponse response);
 
     void getTransactionBatch(long startingIndex, FluxSink sink);
 
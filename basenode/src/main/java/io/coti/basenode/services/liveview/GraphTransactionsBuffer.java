@@ -0,0 +1,101 @@
+package io.coti.basenode.services.liveview;
+
+import io.coti.basenode.services.liveview.data.GraphTransactionData;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A fixed capacity ring of the latest live view transactions. Writers are serialized and find a transaction slot by its id,
+ * while snapshots read the slots without locking. Once the ring is full, a new transaction replaces the oldest one.
+ */
+public class GraphTransactionsBuffer {
+
+    private final AtomicReferenceArray<GraphTransactionData> slots;
+    private final Map<String, Integer> idToSlot;
+    private volatile int nextSlot;
+
+    public GraphTransactionsBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Live view capacity should be positive");
+        }
+        slots = new AtomicReferenceArray<>(capacity);
+        idToSlot = new HashMap<>();
+    }
+
+    public synchronized void add(GraphTransactionData graphTransactionData) {
+        Integer slot = idToSlot.get(graphTransactionData.getId());
+        if (slot != null) {
+            slots.set(slot, graphTransactionData);
+            return;
+        }
+        slot = nextSlot;
+        GraphTransactionData evictedGraphTransactionData = slots.get(slot);
+        if (evictedGraphTransactionData != null) {
+            idToSlot.remove(evictedGraphTransactionData.getId());
+        }
+        slots.set(slot, graphTransactionData);
+        idToSlot.put(graphTransactionData.getId(), slot);
+        nextSlot = (slot + 1) % slots.length();
+    }
+
+    /**
+     * Replaces the transaction with the same id, keeping its parents and genesis flag, or adds it when it is not in the ring.
+     */
+    public synchronized void update(GraphTransactionData graphTransactionData) {
+        Integer slot = idToSlot.get(graphTransactionData.getId());
+        if (slot != null) {
+            GraphTransactionData existingGraphTransactionData = slots.get(slot);
+            graphTransactionData.setLeftParent(existingGraphTransactionData.getLeftParent());
+            graphTransactionData.setRightParent(existingGraphTransactionData.getRightParent());
+            graphTransactionData.setGenesis(existingGraphTransactionData.isGenesis());
+        }
+        add(graphTransactionData);
+    }
+
+    /**
+     * @return the transactions from the oldest to the newest. Parents that were already evicted are left out, so that every
+     * edge of the returned graph points to a returned transaction.
+     */
+    public List<GraphTransactionData> getSnapshot() {
+        int capacity = slots.length();
+        int firstSlot = nextSlot;
+        Map<String, GraphTransactionData> idToGraphTransactionData = new LinkedHashMap<>();
+        for (int i = 0; i < capacity; i++) {
+            GraphTransactionData graphTransactionData = slots.get((firstSlot + i) % capacity);
+            if (graphTransactionData != null) {
+                idToGraphTransactionData.put(graphTransactionData.getId(), graphTransactionData);
+            }
+        }
+        List<GraphTransactionData> snapshot = new ArrayList<>(idToGraphTransactionData.size());
+        idToGraphTransactionData.values().forEach(graphTransactionData -> {
+            boolean leftParentEvicted = graphTransactionData.getLeftParent() != null && !idToGraphTransactionData.containsKey(graphTransactionData.getLeftParent());
+            boolean rightParentEvicted = graphTransactionData.getRightParent() != null && !idToGraphTransactionData.containsKey(graphTransactionData.getRightParent());
+            if (leftParentEvicted || rightParentEvicted) {
+                graphTransactionData = copyGraphTransactionData(graphTransactionData);
+                if (leftParentEvicted) {
+                    graphTransactionData.setLeftParent(null);
+                }
+                if (rightParentEvicted) {
+                    graphTransactionData.setRightParent(null);
+                }
+            }
+            snapshot.add(graphTransactionData);
+        });
+        return snapshot;
+    }
+
+    private GraphTransactionData copyGraphTransactionData(GraphTransactionData graphTransactionData) {
+        GraphTransactionData copy = new GraphTransactionData();
+        copy.setId(graphTransactionData.getId());
+        copy.setLeftParent(graphTransactionData.getLeftParent());
+        copy.setRightParent(graphTransactionData.getRightParent());
+        copy.setGenesis(graphTransactionData.isGenesis());
+        copy.setTrustScore(graphTransactionData.getTrustScore());
+        copy.setStatus(graphTransactionData.getStatus());
+        copy.setTccDuration(graphTransactionData.getTccDuration());
+        copy.setAttachmentTime(graphTransactionData.getAttachmentTime());
+        copy.setTransactionConsensusUpdateTime(graphTransactionData.getTransactionConsensusUpdateTime());
+        return copy;
+    }
+}
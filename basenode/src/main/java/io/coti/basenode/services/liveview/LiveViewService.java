@@ -5,28 +5,31 @@ import io.coti.basenode.services.liveview.data.GraphData;
 import io.coti.basenode.services.liveview.data.GraphTransactionData;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
 import java.time.Duration;
-import java.util.List;
-import java.util.Vector;
 
 @Slf4j
 @Service
 public class LiveViewService {
 
+    @Value("${live.view.max.transactions: 10000}")
+    private int maxTransactions;
     @Autowired
     private SimpMessagingTemplate messagingSender;
+    private GraphTransactionsBuffer graphTransactions;
 
-    private GraphData graphData;
-
-    public LiveViewService() {
-        this.graphData = new GraphData();
-        this.graphData.setTransactions(new Vector<>());
+    @PostConstruct
+    public void init() {
+        graphTransactions = new GraphTransactionsBuffer(maxTransactions);
     }
 
     public GraphData getFullGraph() {
+        GraphData graphData = new GraphData();
+        graphData.setTransactions(graphTransactions.getSnapshot());
         return graphData;
     }
 
@@ -49,7 +52,7 @@ public class LiveViewService {
             graphTransactionData.setRightParent(transactionData.getRightParentHash().toHexString());
         }
         setGraphTransactionDataDatesFromTransactionData(transactionData, graphTransactionData);
-        graphData.getTransactions().add(graphTransactionData);
+        graphTransactions.add(graphTransactionData);
 
         sendTransaction(graphTransactionData);
     }
@@ -60,13 +63,7 @@ public class LiveViewService {
         graphTransactionData.setTrustScore(transactionData.getSenderTrustScore());
         graphTransactionData.setStatus(newStatus);
         setGraphTransactionDataDatesFromTransactionData(transactionData, graphTransactionData);
-        List<GraphTransactionData> transactions = graphData.getTransactions();
-        int index = transactions.indexOf(graphTransactionData);
-        if (index == -1) {
-            transactions.add(graphTransactionData);
-        } else {
-            transactions.set(index, graphTransactionData);
-        }
+        graphTransactions.update(graphTransactionData);
         sendTransaction(graphTransactionData);
     }
 
@@ -0,0 +1,76 @@
+package io.coti.basenode.communication;
+
+import io.coti.basenode.data.AddressData;
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.interfaces.IPropagatable;
+import io.coti.basenode.utils.HashTestUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class StreamFramingTest {
+
+    private final JacksonSerializer jacksonSerializer = new JacksonSerializer();
+    private List<AddressData> addresses;
+
+    @Before
+    public void setUp() {
+        ReflectionTestUtils.invokeMethod(jacksonSerializer, "init");
+        addresses = HashTestUtils.generateListOfRandomAddressHashes(50).stream().map(AddressData::new).collect(Collectors.toList());
+    }
+
+    @Test
+    public void readStream_lengthPrefixed() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        for (AddressData addressData : addresses) {
+            StreamFraming.writeFrame(output, jacksonSerializer.serialize(addressData));
+        }
+        MockClientHttpResponse response = new MockClientHttpResponse(output.toByteArray(), HttpStatus.OK);
+        response.getHeaders().set(StreamFraming.FRAMING_HEADER, StreamFraming.LENGTH_PREFIXED);
+
+        Assert.assertEquals(getHashes(addresses), readHashes(response));
+    }
+
+    @Test
+    public void readStream_legacyConcatenatedJson() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        for (AddressData addressData : addresses) {
+            output.write(jacksonSerializer.serialize(addressData));
+        }
+        MockClientHttpResponse response = new MockClientHttpResponse(output.toByteArray(), HttpStatus.OK);
+
+        Assert.assertEquals(getHashes(addresses), readHashes(response));
+    }
+
+    @Test(expected = IOException.class)
+    public void readStream_truncatedFrame() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        StreamFraming.writeFrame(output, jacksonSerializer.serialize(addresses.get(0)));
+        byte[] stream = output.toByteArray();
+        byte[] truncatedStream = new byte[stream.length - 1];
+        System.arraycopy(stream, 0, truncatedStream, 0, truncatedStream.length);
+        MockClientHttpResponse response = new MockClientHttpResponse(truncatedStream, HttpStatus.OK);
+        response.getHeaders().set(StreamFraming.FRAMING_HEADER, StreamFraming.LENGTH_PREFIXED);
+
+        readHashes(response);
+    }
+
+    private List<Hash> readHashes(MockClientHttpResponse response) throws IOException {
+        List<Hash> hashes = new ArrayList<>();
+        StreamFraming.<IPropagatable>readStream(response, jacksonSerializer, propagatable -> hashes.add(propagatable.getHash()));
+        return hashes;
+    }
+
+    private List<Hash> getHashes(List<AddressData> addresses) {
+        return addresses.stream().map(AddressData::getHash).collect(Collectors.toList());
+    }
+}
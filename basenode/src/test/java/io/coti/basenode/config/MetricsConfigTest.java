@@ -0,0 +1,24 @@
+package io.coti.basenode.config;
+
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+public class MetricsConfigTest {
+
+    @Test
+    public void meterRegistry_scrapeIncludesTimersAndCommonTags() {
+        MetricsConfig metricsConfig = new MetricsConfig();
+        ReflectionTestUtils.setField(metricsConfig, "applicationName", "TestNode");
+        PrometheusMeterRegistry meterRegistry = metricsConfig.meterRegistry();
+
+        meterRegistry.timer("coti.db.read", "column.family", "Transactions").record(3, TimeUnit.MILLISECONDS);
+        String scrape = meterRegistry.scrape();
+
+        Assert.assertTrue(scrape.contains("coti_db_read_seconds_count{application=\"TestNode\",column_family=\"Transactions\",} 1.0"));
+        Assert.assertTrue(scrape.contains("jvm_memory_used_bytes"));
+    }
+}
@@ -0,0 +1,73 @@
+package io.coti.basenode.crypto;
+
+import com.google.common.cache.CacheStats;
+import io.coti.basenode.data.DspConsensusResult;
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.SignatureData;
+import io.coti.basenode.utils.HashTestUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DspConsensusCryptoTest {
+
+    private final DspConsensusCrypto dspConsensusCrypto = new DspConsensusCrypto();
+    private String privateKey;
+    private Hash publicKeyHash;
+
+    @Before
+    public void setUp() {
+        privateKey = CryptoHelper.generatePrivateKey(HashTestUtils.generateRandomHash().toHexString(), 0).toHexString();
+        publicKeyHash = new Hash(CryptoHelper.getPublicKeyFromPrivateKey(privateKey));
+    }
+
+    @Test
+    public void verifySignatures_allSigned_secondBatchHitsPublicKeyCache() {
+        List<DspConsensusResult> dspConsensusResults = generateSignedDspConsensusResults(20);
+        Assert.assertTrue(dspConsensusCrypto.verifySignatures(dspConsensusResults));
+        CacheStats firstBatchStats = CryptoHelper.getPublicKeyCacheStats();
+
+        Assert.assertTrue(dspConsensusCrypto.verifySignatures(dspConsensusResults));
+
+        CacheStats secondBatchStats = CryptoHelper.getPublicKeyCacheStats().minus(firstBatchStats);
+        Assert.assertEquals(20, secondBatchStats.hitCount());
+        Assert.assertEquals(0, secondBatchStats.missCount());
+    }
+
+    @Test
+    public void verifySignatures_oneTampered() {
+        List<DspConsensusResult> dspConsensusResults = generateSignedDspConsensusResults(20);
+        dspConsensusResults.get(7).setIndex(dspConsensusResults.get(7).getIndex() + 1);
+
+        Assert.assertFalse(dspConsensusCrypto.verifySignatures(dspConsensusResults));
+        Assert.assertFalse(dspConsensusCrypto.verifySignature(dspConsensusResults.get(7)));
+        Assert.assertTrue(dspConsensusCrypto.verifySignature(dspConsensusResults.get(8)));
+    }
+
+    @Test
+    public void verifyByPublicKey_hexAndPublicKeyAgree() throws Exception {
+        byte[] message = HashTestUtils.generateRandomHash().getBytes();
+        SignatureData signatureData = CryptoHelper.signBytes(message, privateKey);
+
+        Assert.assertTrue(CryptoHelper.verifyByPublicKey(message, signatureData.getR(), signatureData.getS(), publicKeyHash.toHexString()));
+        Assert.assertTrue(CryptoHelper.verifyByPublicKey(message, signatureData.getR(), signatureData.getS(), CryptoHelper.getPublicKeyFromHexString(publicKeyHash.toHexString())));
+        Assert.assertFalse(CryptoHelper.verifyByPublicKey(HashTestUtils.generateRandomHash().getBytes(), signatureData.getR(), signatureData.getS(), publicKeyHash.toHexString()));
+    }
+
+    private List<DspConsensusResult> generateSignedDspConsensusResults(int size) {
+        List<DspConsensusResult> dspConsensusResults = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            DspConsensusResult dspConsensusResult = new DspConsensusResult(HashTestUtils.generateRandomHash());
+            dspConsensusResult.setIndex(i);
+            dspConsensusResult.setIndexingTime(Instant.now());
+            dspConsensusResult.setSignerHash(publicKeyHash);
+            dspConsensusResult.setSignature(CryptoHelper.signBytes(dspConsensusCrypto.getSignatureMessage(dspConsensusResult), privateKey));
+            dspConsensusResults.add(dspConsensusResult);
+        }
+        return dspConsensusResults;
+    }
+}
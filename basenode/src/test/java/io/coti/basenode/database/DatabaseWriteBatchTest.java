@@ -0,0 +1,72 @@
+package io.coti.basenode.database;
+
+import io.coti.basenode.database.interfaces.IDatabaseConnector;
+import io.coti.basenode.exceptions.DataBaseException;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.rocksdb.RocksDB;
+import org.rocksdb.WriteBatch;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DatabaseWriteBatchTest {
+
+    private static final String COLUMN_FAMILY_NAME = "columnFamily";
+    private IDatabaseConnector databaseConnector;
+
+    @Before
+    public void setUp() {
+        RocksDB.loadLibrary();
+        databaseConnector = Mockito.mock(IDatabaseConnector.class);
+        Mockito.when(databaseConnector.put(ArgumentMatchers.anyString(), ArgumentMatchers.any(WriteBatch.class), ArgumentMatchers.any(byte[].class), ArgumentMatchers.any(byte[].class))).thenReturn(true);
+        Mockito.when(databaseConnector.delete(ArgumentMatchers.anyString(), ArgumentMatchers.any(WriteBatch.class), ArgumentMatchers.any(byte[].class))).thenReturn(true);
+    }
+
+    @Test
+    public void commit_successfulWrite_afterCommitActionsRunOnce() {
+        Mockito.when(databaseConnector.putBatch(ArgumentMatchers.any(WriteBatch.class), ArgumentMatchers.eq(WritePolicy.SYNC))).thenReturn(true);
+        AtomicInteger afterCommitRuns = new AtomicInteger();
+
+        try (DatabaseWriteBatch databaseWriteBatch = new DatabaseWriteBatch(databaseConnector)) {
+            databaseWriteBatch.put(COLUMN_FAMILY_NAME, new byte[]{1}, new byte[]{1});
+            databaseWriteBatch.delete(COLUMN_FAMILY_NAME, new byte[]{2});
+            databaseWriteBatch.afterCommit(afterCommitRuns::incrementAndGet);
+
+            Assert.assertTrue(databaseWriteBatch.commit(WritePolicy.SYNC));
+            try {
+                databaseWriteBatch.commit();
+                Assert.fail("Write batch was committed twice");
+            } catch (IllegalStateException ignored) {
+                // expected
+            }
+        }
+        Assert.assertEquals(1, afterCommitRuns.get());
+        Mockito.verify(databaseConnector).putBatch(ArgumentMatchers.any(WriteBatch.class), ArgumentMatchers.eq(WritePolicy.SYNC));
+    }
+
+    @Test
+    public void commit_failedWrite_afterCommitActionsSkipped() {
+        Mockito.when(databaseConnector.putBatch(ArgumentMatchers.any(WriteBatch.class), ArgumentMatchers.any(WritePolicy.class))).thenReturn(false);
+        AtomicInteger afterCommitRuns = new AtomicInteger();
+
+        try (DatabaseWriteBatch databaseWriteBatch = new DatabaseWriteBatch(databaseConnector)) {
+            databaseWriteBatch.put(COLUMN_FAMILY_NAME, new byte[]{1}, new byte[]{1});
+            databaseWriteBatch.afterCommit(afterCommitRuns::incrementAndGet);
+
+            Assert.assertFalse(databaseWriteBatch.commit());
+        }
+        Assert.assertEquals(0, afterCommitRuns.get());
+    }
+
+    @Test(expected = DataBaseException.class)
+    public void put_unknownColumnFamily_throwsDataBaseException() {
+        Mockito.when(databaseConnector.put(ArgumentMatchers.eq("unknown"), ArgumentMatchers.any(WriteBatch.class), ArgumentMatchers.any(byte[].class), ArgumentMatchers.any(byte[].class))).thenReturn(false);
+
+        try (DatabaseWriteBatch databaseWriteBatch = new DatabaseWriteBatch(databaseConnector)) {
+            databaseWriteBatch.put("unknown", new byte[]{1}, new byte[]{1});
+        }
+    }
+}
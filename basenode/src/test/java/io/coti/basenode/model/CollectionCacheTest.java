@@ -0,0 +1,121 @@
+package io.coti.basenode.model;
+
+import io.coti.basenode.data.AddressTransactionsHistory;
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.data.TransactionIndexData;
+import io.coti.basenode.data.TransactionType;
+import io.coti.basenode.database.interfaces.IDatabaseConnector;
+import io.coti.basenode.model.codec.interfaces.IEntityCodec;
+import io.coti.basenode.utils.HashTestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.SerializationUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CollectionCacheTest {
+
+    @Test
+    public void get_loadsOnceAndCountsHits() {
+        CollectionCache<TransactionIndexData> cache = new CollectionCache<>(10);
+        Hash hash = HashTestUtils.generateRandomHash();
+        AtomicInteger loads = new AtomicInteger();
+
+        TransactionIndexData first = cache.get(hash, () -> {
+            loads.incrementAndGet();
+            return new TransactionIndexData(hash, 1, null);
+        });
+        TransactionIndexData second = cache.get(hash, () -> {
+            loads.incrementAndGet();
+            return new TransactionIndexData(hash, 1, null);
+        });
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, loads.get());
+        Assert.assertEquals(1, cache.stats().hitCount());
+        Assert.assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    public void get_doesNotCacheMissingEntity() {
+        CollectionCache<TransactionIndexData> cache = new CollectionCache<>(10);
+        Hash hash = HashTestUtils.generateRandomHash();
+
+        Assert.assertNull(cache.get(hash, () -> null));
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void get_invalidatedDuringLoad_notCached() {
+        CollectionCache<TransactionIndexData> cache = new CollectionCache<>(10);
+        Hash hash = HashTestUtils.generateRandomHash();
+
+        cache.get(hash, () -> {
+            cache.invalidate(hash);
+            return new TransactionIndexData(hash, 1, null);
+        });
+
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void invalidate_removesEntity() {
+        CollectionCache<TransactionIndexData> cache = new CollectionCache<>(10);
+        Hash hash = HashTestUtils.generateRandomHash();
+        TransactionIndexData first = cache.get(hash, () -> new TransactionIndexData(hash, 1, null));
+
+        cache.invalidate(hash);
+
+        Assert.assertNotSame(first, cache.get(hash, () -> new TransactionIndexData(hash, 1, null)));
+    }
+
+    @Test
+    public void getByHash_cachedCollection_readsOnceAndReturnsPrivateCopies() {
+        Hash hash = HashTestUtils.generateRandomHash();
+        IDatabaseConnector databaseConnector = Mockito.mock(IDatabaseConnector.class);
+        Mockito.when(databaseConnector.getByKey(ArgumentMatchers.anyString(), ArgumentMatchers.any(byte[].class)))
+                .thenReturn(SerializationUtils.serialize(new AddressTransactionsHistory(hash)));
+        AddressTransactionsHistories addressTransactionsHistories = new AddressTransactionsHistories();
+        addressTransactionsHistories.databaseConnector = databaseConnector;
+        ReflectionTestUtils.setField(addressTransactionsHistories, "cache", new CollectionCache<>(10));
+
+        AddressTransactionsHistory first = addressTransactionsHistories.getByHash(hash);
+        first.addTransactionHashToHistory(HashTestUtils.generateRandomHash());
+        AddressTransactionsHistory second = addressTransactionsHistories.getByHash(hash);
+
+        Assert.assertNotSame(first, second);
+        Assert.assertTrue(second.getTransactionsHistory().isEmpty());
+        Mockito.verify(databaseConnector, Mockito.times(1)).getByKey(ArgumentMatchers.anyString(), ArgumentMatchers.any(byte[].class));
+    }
+
+    @Test
+    public void getByHash_cacheHit_doesNotDecodeAndReturnsPrivateCopies() {
+        Hash hash = HashTestUtils.generateRandomHash();
+        IDatabaseConnector databaseConnector = Mockito.mock(IDatabaseConnector.class);
+        Mockito.when(databaseConnector.getByKey(ArgumentMatchers.anyString(), ArgumentMatchers.any(byte[].class))).thenReturn(new byte[]{1});
+        IEntityCodec<TransactionData> entityCodec = Mockito.mock(IEntityCodec.class);
+        Mockito.when(entityCodec.decode(ArgumentMatchers.any(byte[].class)))
+                .thenReturn(new TransactionData(new ArrayList<>(), hash, "", 80, Instant.now(), TransactionType.Payment));
+        Transactions transactions = new Transactions();
+        transactions.databaseConnector = databaseConnector;
+        ReflectionTestUtils.setField(transactions, "entityCodec", entityCodec);
+        ReflectionTestUtils.setField(transactions, "cache", new CollectionCache<>(10));
+
+        TransactionData first = transactions.getByHash(hash);
+        first.addToChildrenTransactions(HashTestUtils.generateRandomHash());
+        first.setValid(true);
+        TransactionData second = transactions.getByHash(hash);
+
+        Assert.assertNotSame(first, second);
+        Assert.assertTrue(second.getChildrenTransactionHashes().isEmpty());
+        Assert.assertNull(second.isValid());
+        Mockito.verify(entityCodec, Mockito.times(1)).decode(ArgumentMatchers.any(byte[].class));
+        Mockito.verify(entityCodec, Mockito.never()).encode(ArgumentMatchers.any());
+    }
+}
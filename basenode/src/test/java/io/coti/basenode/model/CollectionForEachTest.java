@@ -0,0 +1,75 @@
+package io.coti.basenode.model;
+
+import io.coti.basenode.data.AddressTransactionsHistory;
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.database.interfaces.IDatabaseConnector;
+import io.coti.basenode.exceptions.DataBaseException;
+import io.coti.basenode.utils.HashTestUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+import org.springframework.util.SerializationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CollectionForEachTest {
+
+    private static final int NUMBER_OF_ENTITIES = 2345;
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+    private RocksDB db;
+    private AddressTransactionsHistories addressTransactionsHistories;
+
+    @Before
+    public void setUp() throws Exception {
+        RocksDB.loadLibrary();
+        try (Options options = new Options().setCreateIfMissing(true)) {
+            db = RocksDB.open(options, temporaryFolder.getRoot().getAbsolutePath());
+        }
+        for (int i = 0; i < NUMBER_OF_ENTITIES; i++) {
+            AddressTransactionsHistory addressTransactionsHistory = new AddressTransactionsHistory(HashTestUtils.generateRandomHash());
+            db.put(addressTransactionsHistory.getHash().getBytes(), SerializationUtils.serialize(addressTransactionsHistory));
+        }
+        IDatabaseConnector databaseConnector = Mockito.mock(IDatabaseConnector.class);
+        Mockito.when(databaseConnector.getIterator(Mockito.anyString())).thenAnswer(invocation -> db.newIterator());
+        addressTransactionsHistories = new AddressTransactionsHistories();
+        addressTransactionsHistories.databaseConnector = databaseConnector;
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void forEach_parallelDecoding_keepsSequentialOrder() {
+        List<Hash> sequentialHashes = new ArrayList<>();
+        addressTransactionsHistories.forEach(addressTransactionsHistory -> sequentialHashes.add(addressTransactionsHistory.getHash()));
+        List<Hash> parallelHashes = new ArrayList<>();
+        addressTransactionsHistories.forEach(addressTransactionsHistory -> parallelHashes.add(addressTransactionsHistory.getHash()), 4);
+
+        Assert.assertEquals(NUMBER_OF_ENTITIES, sequentialHashes.size());
+        Assert.assertEquals(sequentialHashes, parallelHashes);
+    }
+
+    @Test(expected = DataBaseException.class)
+    public void forEach_parallelDecoding_propagatesDecodeError() throws Exception {
+        db.put(new byte[]{0}, new byte[]{1, 2, 3});
+        addressTransactionsHistories.forEach(addressTransactionsHistory -> {
+        }, 4);
+    }
+
+    @Test(expected = DataBaseException.class, timeout = 10000)
+    public void forEach_parallelDecoding_propagatesIteratorError() {
+        Mockito.when(addressTransactionsHistories.databaseConnector.getIterator(Mockito.anyString())).thenThrow(new DataBaseException("Column family not found"));
+        addressTransactionsHistories.forEach(addressTransactionsHistory -> {
+        }, 4);
+    }
+}
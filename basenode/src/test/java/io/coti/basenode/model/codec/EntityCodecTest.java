@@ -0,0 +1,99 @@
+package io.coti.basenode.model.codec;
+
+import io.coti.basenode.data.*;
+import io.coti.basenode.utils.HashTestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.util.SerializationUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class EntityCodecTest {
+
+    private final TransactionDataCodec transactionDataCodec = new TransactionDataCodec();
+
+    @Test
+    public void transactionData_roundTrip() {
+        TransactionData transactionData = generateTransactionData();
+        byte[] encoded = transactionDataCodec.encode(transactionData);
+        TransactionData decoded = transactionDataCodec.decode(encoded);
+
+        Assert.assertArrayEquals(encoded, transactionDataCodec.encode(decoded));
+        Assert.assertEquals(transactionData.getHash(), decoded.getHash());
+        Assert.assertEquals(transactionData.getAmount(), decoded.getAmount());
+        Assert.assertEquals(transactionData.getAttachmentTime(), decoded.getAttachmentTime());
+        Assert.assertEquals(transactionData.getBaseTransactions().size(), decoded.getBaseTransactions().size());
+        Assert.assertEquals(FullNodeFeeData.class, decoded.getBaseTransactions().get(1).getClass());
+        Assert.assertEquals(transactionData.getDspConsensusResult().getIndex(), decoded.getDspConsensusResult().getIndex());
+        Assert.assertArrayEquals(transactionData.getNonces(), decoded.getNonces());
+        Assert.assertNull(decoded.isValid());
+    }
+
+    @Test
+    public void transactionData_compactSmallerThanJavaSerialization() {
+        TransactionData transactionData = generateTransactionData();
+        Assert.assertTrue(transactionDataCodec.encode(transactionData).length < SerializationUtils.serialize(transactionData).length);
+    }
+
+    @Test
+    public void transactionData_readsJavaSerializedEntity() {
+        TransactionData transactionData = generateTransactionData();
+        TransactionData decoded = transactionDataCodec.decode(SerializationUtils.serialize(transactionData));
+
+        Assert.assertArrayEquals(transactionDataCodec.encode(transactionData), transactionDataCodec.encode(decoded));
+    }
+
+    @Test
+    public void transactionIndexData_roundTrip() {
+        TransactionIndexDataCodec transactionIndexDataCodec = new TransactionIndexDataCodec();
+        TransactionIndexData transactionIndexData = new TransactionIndexData(HashTestUtils.generateRandomHash(), 7, HashTestUtils.generateRandomHash().getBytes());
+        TransactionIndexData decoded = transactionIndexDataCodec.decode(transactionIndexDataCodec.encode(transactionIndexData));
+
+        Assert.assertEquals(transactionIndexData, decoded);
+        Assert.assertEquals(transactionIndexData, transactionIndexDataCodec.decode(SerializationUtils.serialize(transactionIndexData)));
+    }
+
+    @Test
+    public void addressTransactionsHistory_roundTrip() {
+        AddressTransactionsHistoryCodec addressTransactionsHistoryCodec = new AddressTransactionsHistoryCodec();
+        AddressTransactionsHistory addressTransactionsHistory = new AddressTransactionsHistory(HashTestUtils.generateRandomAddressHash());
+        HashTestUtils.generateListOfRandomHashes(5).forEach(addressTransactionsHistory::addTransactionHashToHistory);
+        AddressTransactionsHistory decoded = addressTransactionsHistoryCodec.decode(addressTransactionsHistoryCodec.encode(addressTransactionsHistory));
+
+        Assert.assertEquals(addressTransactionsHistory.getCreationTime(), decoded.getCreationTime());
+        Assert.assertEquals(addressTransactionsHistory.getTransactionsHistory(), decoded.getTransactionsHistory());
+    }
+
+    private TransactionData generateTransactionData() {
+        Instant now = Instant.now();
+        InputBaseTransactionData inputBaseTransactionData = new InputBaseTransactionData(HashTestUtils.generateRandomAddressHash(), new BigDecimal("-10.5"), now);
+        inputBaseTransactionData.setHash(HashTestUtils.generateRandomHash());
+        inputBaseTransactionData.setSignatureData(new SignatureData("0af936b4", "c3a12262"));
+        FullNodeFeeData fullNodeFeeData = new FullNodeFeeData(HashTestUtils.generateRandomAddressHash(), new BigDecimal("0.5"), new BigDecimal("0.5"), now);
+        fullNodeFeeData.setHash(HashTestUtils.generateRandomHash());
+        ReceiverBaseTransactionData receiverBaseTransactionData = new ReceiverBaseTransactionData(HashTestUtils.generateRandomAddressHash(), BigDecimal.TEN, BigDecimal.TEN, now);
+        receiverBaseTransactionData.setHash(HashTestUtils.generateRandomHash());
+        List<BaseTransactionData> baseTransactions = new ArrayList<>(Arrays.asList(inputBaseTransactionData, fullNodeFeeData, receiverBaseTransactionData));
+
+        TransactionData transactionData = new TransactionData(baseTransactions, HashTestUtils.generateRandomHash(), "description", 80.5, now, TransactionType.Payment);
+        transactionData.setLeftParentHash(HashTestUtils.generateRandomHash());
+        transactionData.setAttachmentTime(now);
+        transactionData.setSenderHash(HashTestUtils.generateRandomHash());
+        transactionData.setNodeSignature(new SignatureData("ab", "cd"));
+        transactionData.addToChildrenTransactions(HashTestUtils.generateRandomHash());
+        transactionData.setTrustScoreResults(new ArrayList<>(Collections.singletonList(new TransactionTrustScoreData(80.5))));
+        transactionData.setNonces(new int[]{1, -2, Integer.MAX_VALUE});
+        DspConsensusResult dspConsensusResult = new DspConsensusResult(transactionData.getHash());
+        dspConsensusResult.setIndex(42);
+        dspConsensusResult.setIndexingTime(now);
+        dspConsensusResult.setDspConsensus(true);
+        dspConsensusResult.setDspVotes(new ArrayList<>(Collections.singletonList(new DspVote(new TransactionDspVote(transactionData.getHash(), true)))));
+        transactionData.setDspConsensusResult(dspConsensusResult);
+        return transactionData;
+    }
+}
@@ -0,0 +1,82 @@
+package io.coti.basenode.services;
+
+import io.coti.basenode.data.BaseTransactionData;
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.InputBaseTransactionData;
+import io.coti.basenode.data.ReceiverBaseTransactionData;
+import io.coti.basenode.utils.HashTestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BaseNodeBalanceServiceTest {
+
+    @Test
+    public void checkBalancesAndAddToPreBalance_bigDecimal() throws Exception {
+        checkBalancesAndAddToPreBalance(false);
+    }
+
+    @Test
+    public void checkBalancesAndAddToPreBalance_fixedPoint() throws Exception {
+        checkBalancesAndAddToPreBalance(true);
+    }
+
+    @Test
+    public void fixedPointBalanceMap_conversions() {
+        Assert.assertEquals(1234567800000000L, FixedPointBalanceMap.toFixedPoint(new BigDecimal("12345678")));
+        Assert.assertEquals(new BigDecimal("0.00000001"), FixedPointBalanceMap.toBigDecimal(1));
+        Assert.assertEquals(new BigDecimal("10"), FixedPointBalanceMap.toBigDecimal(FixedPointBalanceMap.toFixedPoint(BigDecimal.TEN)));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void fixedPointBalanceMap_rejectsLargerScale() {
+        FixedPointBalanceMap.toFixedPoint(new BigDecimal("0.000000001"));
+    }
+
+    private void checkBalancesAndAddToPreBalance(boolean fixedPointBalances) throws Exception {
+        BaseNodeBalanceService balanceService = new BaseNodeBalanceService();
+        ReflectionTestUtils.setField(balanceService, "fixedPointBalances", fixedPointBalances);
+        balanceService.init();
+        Hash senderAddressHash = HashTestUtils.generateRandomAddressHash();
+        Hash receiverAddressHash = HashTestUtils.generateRandomAddressHash();
+        balanceService.updateBalanceFromClusterStamp(senderAddressHash, new BigDecimal("100.5"));
+        balanceService.updatePreBalanceFromClusterStamp();
+
+        Assert.assertFalse(balanceService.checkBalancesAndAddToPreBalance(generateTransfer(senderAddressHash, receiverAddressHash, "100.50000001")));
+
+        int threads = 8;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        AtomicInteger acceptedTransfers = new AtomicInteger();
+        List<Callable<Boolean>> transfers = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            transfers.add(() -> {
+                boolean accepted = balanceService.checkBalancesAndAddToPreBalance(generateTransfer(senderAddressHash, receiverAddressHash, "10.05"));
+                if (accepted) {
+                    acceptedTransfers.incrementAndGet();
+                }
+                return accepted;
+            });
+        }
+        executorService.invokeAll(transfers);
+        executorService.shutdown();
+
+        Assert.assertEquals(10, acceptedTransfers.get());
+        Assert.assertEquals(0, balanceService.getPreBalanceByAddress(senderAddressHash).signum());
+        Assert.assertEquals(0, new BigDecimal("100.5").compareTo(balanceService.getPreBalanceByAddress(receiverAddressHash)));
+        Assert.assertEquals(0, new BigDecimal("100.5").compareTo(balanceService.getBalanceByAddress(senderAddressHash)));
+    }
+
+    private List<BaseTransactionData> generateTransfer(Hash senderAddressHash, Hash receiverAddressHash, String amount) {
+        Instant now = Instant.now();
+        return Arrays.asList(new InputBaseTransactionData(senderAddressHash, new BigDecimal(amount).negate(), now),
+                new ReceiverBaseTransactionData(receiverAddressHash, new BigDecimal(amount), new BigDecimal(amount), now));
+    }
+}
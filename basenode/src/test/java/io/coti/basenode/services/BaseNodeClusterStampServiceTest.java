@@ -0,0 +1,106 @@
+package io.coti.basenode.services;
+
+import io.coti.basenode.crypto.CryptoHelper;
+import io.coti.basenode.data.ClusterStampData;
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.exceptions.ClusterStampValidationException;
+import io.coti.basenode.utils.HashTestUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class BaseNodeClusterStampServiceTest {
+
+    private static final int NUMBER_OF_ADDRESSES = 25000;
+
+    private File clusterStampDirectory;
+    private String clusterStampFilePrefix;
+    private BaseNodeBalanceService balanceService;
+    private ClusterStampData unsignedClusterStampData;
+    private BaseNodeClusterStampService clusterStampService;
+
+    @Before
+    public void setUp() throws IOException {
+        clusterStampDirectory = Files.createTempDirectory("clusterstamp").toFile();
+        clusterStampFilePrefix = new File(clusterStampDirectory, "test").getPath();
+        balanceService = new BaseNodeBalanceService();
+        balanceService.init();
+        clusterStampService = new BaseNodeClusterStampService() {
+            @Override
+            protected void handleClusterStampWithoutSignature(ClusterStampData clusterStampData) {
+                unsignedClusterStampData = clusterStampData;
+            }
+        };
+        ReflectionTestUtils.setField(clusterStampService, "clusterStampFilePrefix", clusterStampFilePrefix);
+        ReflectionTestUtils.setField(clusterStampService, "balanceService", balanceService);
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = clusterStampDirectory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        clusterStampDirectory.delete();
+    }
+
+    @Test
+    public void loadClusterStamp_manyChunks_balancesAndSignatureMessageAsLineByLine() throws IOException {
+        Map<Hash, BigDecimal> addressHashToAmountMap = new LinkedHashMap<>();
+        for (int i = 0; i < NUMBER_OF_ADDRESSES; i++) {
+            addressHashToAmountMap.put(HashTestUtils.generateRandomAddressHash(), new BigDecimal(i + ".500"));
+        }
+        writeClusterStamp(addressHashToAmountMap, null);
+
+        clusterStampService.loadClusterStamp();
+
+        ByteArrayOutputStream signatureMessage = new ByteArrayOutputStream();
+        addressHashToAmountMap.forEach((addressHash, amount) -> {
+            Assert.assertEquals(0, amount.compareTo(balanceService.getBalanceByAddress(addressHash)));
+            Assert.assertEquals(0, amount.compareTo(balanceService.getPreBalanceByAddress(addressHash)));
+            signatureMessage.write(addressHash.getBytes(), 0, addressHash.getBytes().length);
+            byte[] amountInBytes = amount.stripTrailingZeros().toPlainString().getBytes();
+            signatureMessage.write(amountInBytes, 0, amountInBytes.length);
+        });
+        Assert.assertArrayEquals(CryptoHelper.cryptoHash(signatureMessage.toByteArray()).getBytes(), unsignedClusterStampData.getSignatureMessageHash());
+    }
+
+    @Test
+    public void loadClusterStamp_malformedLine_reportsLineNumber() throws IOException {
+        Map<Hash, BigDecimal> addressHashToAmountMap = new LinkedHashMap<>();
+        for (int i = 0; i < NUMBER_OF_ADDRESSES; i++) {
+            addressHashToAmountMap.put(HashTestUtils.generateRandomAddressHash(), BigDecimal.ONE);
+        }
+        writeClusterStamp(addressHashToAmountMap, 12001);
+
+        try {
+            clusterStampService.loadClusterStamp();
+            Assert.fail("Malformed clusterstamp was loaded");
+        } catch (ClusterStampValidationException e) {
+            Assert.assertEquals("Bad csv file format at line 12001: expected 2 address details but found 3", e.getMessage());
+        }
+    }
+
+    private void writeClusterStamp(Map<Hash, BigDecimal> addressHashToAmountMap, Integer malformedLineNumber) throws IOException {
+        try (PrintWriter printWriter = new PrintWriter(clusterStampFilePrefix + BaseNodeClusterStampService.CLUSTERSTAMP_FILE_SUFFIX)) {
+            int lineNumber = 0;
+            for (Map.Entry<Hash, BigDecimal> entry : addressHashToAmountMap.entrySet()) {
+                lineNumber++;
+                printWriter.println(entry.getKey() + "," + entry.getValue() + (Integer.valueOf(lineNumber).equals(malformedLineNumber) ? ",1" : ""));
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package io.coti.basenode.services;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.StarvationCandidateData;
+import io.coti.basenode.data.TccInfo;
+import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.data.TransactionType;
+import io.coti.basenode.model.Transactions;
+import io.coti.basenode.services.interfaces.IConfirmationService;
+import io.coti.basenode.utils.HashTestUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class ClusterServiceTest {
+
+    private ClusterService clusterService;
+
+    @Before
+    public void setUp() {
+        clusterService = new ClusterService();
+        ReflectionTestUtils.setField(clusterService, "transactions", Mockito.mock(Transactions.class));
+        ReflectionTestUtils.setField(clusterService, "trustChainConfirmationService", Mockito.mock(TrustChainConfirmationService.class));
+        clusterService.init();
+    }
+
+    @Test
+    public void finalizeInit_childReplayedBeforeParent_inheritsChainAttachmentTime() {
+        Instant now = Instant.now();
+        TransactionData paymentTransactionData = generateTransactionData(TransactionType.Payment, now.minusSeconds(60), null);
+        TransactionData zeroSpendTransactionData = generateTransactionData(TransactionType.ZeroSpend, now.minusSeconds(5), paymentTransactionData.getHash());
+        paymentTransactionData.addToChildrenTransactions(zeroSpendTransactionData.getHash());
+        clusterService.addExistingTransactionOnInit(zeroSpendTransactionData);
+        clusterService.addExistingTransactionOnInit(paymentTransactionData);
+        Assert.assertTrue(clusterService.getStarvationCandidates(now).isEmpty());
+
+        clusterService.finalizeInit();
+
+        List<StarvationCandidateData> starvationCandidates = clusterService.getStarvationCandidates(now);
+        Assert.assertEquals(1, starvationCandidates.size());
+        Assert.assertEquals(zeroSpendTransactionData.getHash(), starvationCandidates.get(0).getTransactionData().getHash());
+        Assert.assertEquals(paymentTransactionData.getAttachmentTime(), starvationCandidates.get(0).getChainAttachmentTime());
+    }
+
+    @Test
+    public void getStarvationCandidates_zeroSpendChildInheritsChainAttachmentTime() {
+        clusterService.finalizeInit();
+        Instant now = Instant.now();
+        TransactionData paymentTransactionData = generateTransactionData(TransactionType.Payment, now.minusSeconds(60), null);
+        clusterService.attachToCluster(paymentTransactionData);
+        TransactionData zeroSpendTransactionData = generateTransactionData(TransactionType.ZeroSpend, now.minusSeconds(5), paymentTransactionData.getHash());
+        clusterService.attachToCluster(zeroSpendTransactionData);
+        clusterService.attachToCluster(generateTransactionData(TransactionType.ZeroSpend, now.minusSeconds(60), null));
+
+        List<StarvationCandidateData> starvationCandidates = clusterService.getStarvationCandidates(now);
+
+        Assert.assertEquals(1, starvationCandidates.size());
+        Assert.assertEquals(zeroSpendTransactionData.getHash(), starvationCandidates.get(0).getTransactionData().getHash());
+        Assert.assertEquals(paymentTransactionData.getAttachmentTime(), starvationCandidates.get(0).getChainAttachmentTime());
+        Assert.assertTrue(clusterService.getStarvationCandidates(now.minusSeconds(61)).isEmpty());
+    }
+
+    @Test
+    public void getStarvationCandidates_orderedByChainAttachmentTime() {
+        clusterService.finalizeInit();
+        Instant now = Instant.now();
+        TransactionData newerTransactionData = generateTransactionData(TransactionType.Payment, now.minusSeconds(20), null);
+        TransactionData olderTransactionData = generateTransactionData(TransactionType.Payment, now.minusSeconds(40), null);
+        clusterService.attachToCluster(newerTransactionData);
+        clusterService.attachToCluster(olderTransactionData);
+
+        List<StarvationCandidateData> starvationCandidates = clusterService.getStarvationCandidates(now.minusSeconds(30));
+        Assert.assertEquals(1, starvationCandidates.size());
+        Assert.assertEquals(olderTransactionData.getHash(), starvationCandidates.get(0).getTransactionData().getHash());
+        Assert.assertEquals(2, clusterService.getStarvationCandidates(now).size());
+    }
+
+    @Test
+    public void checkForTrustChainConfirmedTransaction_confirmedAncestor_dropsDescendantStarvationCandidates() {
+        TrustChainConfirmationService trustChainConfirmationService = Mockito.mock(TrustChainConfirmationService.class);
+        ReflectionTestUtils.setField(clusterService, "trustChainConfirmationService", trustChainConfirmationService);
+        ReflectionTestUtils.setField(clusterService, "confirmationService", Mockito.mock(IConfirmationService.class));
+        clusterService.finalizeInit();
+        Instant now = Instant.now();
+        TransactionData paymentTransactionData = generateTransactionData(TransactionType.Payment, now.minusSeconds(60), null);
+        clusterService.attachToCluster(paymentTransactionData);
+        TransactionData zeroSpendTransactionData = generateTransactionData(TransactionType.ZeroSpend, now.minusSeconds(5), paymentTransactionData.getHash());
+        paymentTransactionData.addToChildrenTransactions(zeroSpendTransactionData.getHash());
+        clusterService.attachToCluster(zeroSpendTransactionData);
+        Assert.assertEquals(1, clusterService.getStarvationCandidates(now).size());
+
+        Mockito.when(trustChainConfirmationService.getTrustChainConfirmedTransactions(Mockito.any()))
+                .thenReturn(Collections.singletonList(new TccInfo(paymentTransactionData.getHash(), 100, now)));
+        clusterService.checkForTrustChainConfirmedTransaction();
+        Assert.assertTrue(clusterService.getStarvationCandidates(now).isEmpty());
+
+        TransactionData starvationTransactionData = generateTransactionData(TransactionType.ZeroSpend, now, zeroSpendTransactionData.getHash());
+        zeroSpendTransactionData.addToChildrenTransactions(starvationTransactionData.getHash());
+        clusterService.attachToCluster(starvationTransactionData);
+        Assert.assertTrue(clusterService.getStarvationCandidates(now.plusSeconds(1)).isEmpty());
+    }
+
+    private TransactionData generateTransactionData(TransactionType type, Instant attachmentTime, Hash leftParentHash) {
+        TransactionData transactionData = new TransactionData(new ArrayList<>(), HashTestUtils.generateRandomHash(), "", 80, attachmentTime, type);
+        transactionData.setAttachmentTime(attachmentTime);
+        transactionData.setLeftParentHash(leftParentHash);
+        return transactionData;
+    }
+}
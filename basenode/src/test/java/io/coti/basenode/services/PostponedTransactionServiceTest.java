@@ -0,0 +1,75 @@
+package io.coti.basenode.services;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.data.TransactionType;
+import io.coti.basenode.utils.HashTestUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+
+public class PostponedTransactionServiceTest {
+
+    private PostponedTransactionService postponedTransactionService;
+
+    @Before
+    public void setUp() {
+        postponedTransactionService = new PostponedTransactionService();
+        ReflectionTestUtils.setField(postponedTransactionService, "maxPostponedTransactions", 2);
+        ReflectionTestUtils.setField(postponedTransactionService, "postponedTransactionExpirySeconds", 600);
+    }
+
+    @Test
+    public void releasePostponedTransactions_releasedOnlyWhenAllParentsArrived() {
+        Hash leftParentHash = HashTestUtils.generateRandomHash();
+        Hash rightParentHash = HashTestUtils.generateRandomHash();
+        TransactionData transactionData = generateTransactionData();
+        Assert.assertTrue(postponedTransactionService.postponeTransaction(transactionData, true, new HashSet<>(Arrays.asList(leftParentHash, rightParentHash))));
+        Assert.assertFalse(postponedTransactionService.postponeTransaction(transactionData, true, Collections.singleton(leftParentHash)));
+
+        Assert.assertTrue(postponedTransactionService.releasePostponedTransactions(leftParentHash).isEmpty());
+        Assert.assertEquals(Collections.singleton(rightParentHash), postponedTransactionService.getMissingParentHashes(transactionData.getHash()));
+        Map<TransactionData, Boolean> releasedTransactions = postponedTransactionService.releasePostponedTransactions(rightParentHash);
+
+        Assert.assertEquals(Collections.singletonMap(transactionData, true), releasedTransactions);
+        Assert.assertEquals(0, postponedTransactionService.size());
+    }
+
+    @Test
+    public void postponeTransaction_maximumReached_dropsOldest() {
+        Hash parentHash = HashTestUtils.generateRandomHash();
+        TransactionData oldestTransactionData = generateTransactionData();
+        postponedTransactionService.postponeTransaction(oldestTransactionData, false, Collections.singleton(parentHash));
+        postponedTransactionService.postponeTransaction(generateTransactionData(), false, Collections.singleton(parentHash));
+        postponedTransactionService.postponeTransaction(generateTransactionData(), false, Collections.singleton(parentHash));
+
+        Assert.assertEquals(2, postponedTransactionService.size());
+        Map<TransactionData, Boolean> releasedTransactions = postponedTransactionService.releasePostponedTransactions(parentHash);
+        Assert.assertEquals(2, releasedTransactions.size());
+        Assert.assertFalse(releasedTransactions.containsKey(oldestTransactionData));
+    }
+
+    @Test
+    public void removeExpiredPostponedTransactions_removesAndUnindexes() {
+        ReflectionTestUtils.setField(postponedTransactionService, "postponedTransactionExpirySeconds", -1);
+        Hash parentHash = HashTestUtils.generateRandomHash();
+        postponedTransactionService.postponeTransaction(generateTransactionData(), false, Collections.singleton(parentHash));
+
+        postponedTransactionService.removeExpiredPostponedTransactions();
+
+        Assert.assertEquals(0, postponedTransactionService.size());
+        Assert.assertTrue(postponedTransactionService.releasePostponedTransactions(parentHash).isEmpty());
+    }
+
+    private TransactionData generateTransactionData() {
+        return new TransactionData(new ArrayList<>(), HashTestUtils.generateRandomHash(), "", 80, Instant.now(), TransactionType.Payment);
+    }
+}
@@ -0,0 +1,137 @@
+package io.coti.basenode.services;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.TccInfo;
+import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.data.TransactionType;
+import io.coti.basenode.model.Transactions;
+import io.coti.basenode.utils.HashTestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+public class TrustChainConfirmationServiceTest {
+
+    private static final int THRESHOLD = 101;
+    private static final int NUMBER_OF_TRANSACTIONS = 3000;
+
+    @Test
+    public void getTrustChainConfirmedTransactions_replayedDag_sameConfirmationsAsFullSort() {
+        Random random = new Random(7);
+        ReplayedCluster incrementalCluster = new ReplayedCluster();
+        ReplayedCluster fullSortCluster = new ReplayedCluster();
+        TrustChainConfirmationService trustChainConfirmationService = new TrustChainConfirmationService();
+        ReflectionTestUtils.setField(trustChainConfirmationService, "threshold", THRESHOLD);
+        ReflectionTestUtils.setField(trustChainConfirmationService, "transactions", incrementalCluster.transactions);
+        ClusterHelper clusterHelper = new ClusterHelper();
+        ReflectionTestUtils.setField(clusterHelper, "transactions", fullSortCluster.transactions);
+
+        List<Hash> attachedHashes = new ArrayList<>();
+        int confirmed = 0;
+        for (int i = 0; i < NUMBER_OF_TRANSACTIONS; i++) {
+            Hash hash = HashTestUtils.generateRandomHash();
+            double senderTrustScore = 1 + random.nextInt(30);
+            Hash leftParentHash = attachedHashes.isEmpty() ? null : attachedHashes.get(Math.max(0, attachedHashes.size() - 1 - random.nextInt(20)));
+            Hash rightParentHash = attachedHashes.size() < 2 ? null : attachedHashes.get(Math.max(0, attachedHashes.size() - 1 - random.nextInt(20)));
+            incrementalCluster.attach(hash, senderTrustScore, leftParentHash, rightParentHash).forEach(trustChainConfirmationService::transactionChanged);
+            fullSortCluster.attach(hash, senderTrustScore, leftParentHash, rightParentHash);
+            attachedHashes.add(hash);
+
+            if (random.nextInt(25) == 0) {
+                List<TccInfo> incrementalConfirmations = trustChainConfirmationService.getTrustChainConfirmedTransactions(incrementalCluster.cluster);
+                List<TccInfo> fullSortConfirmations = getTrustChainConfirmedTransactionsByFullSort(clusterHelper, fullSortCluster.cluster);
+
+                Assert.assertEquals(toHashes(fullSortConfirmations), toHashes(incrementalConfirmations));
+                Assert.assertEquals(toTrustChainTrustScores(fullSortConfirmations), toTrustChainTrustScores(incrementalConfirmations));
+                assertParentsFirst(incrementalCluster, incrementalConfirmations);
+                incrementalCluster.confirm(incrementalConfirmations);
+                fullSortCluster.confirm(fullSortConfirmations);
+                confirmed += incrementalConfirmations.size();
+            }
+        }
+        Assert.assertTrue(confirmed > NUMBER_OF_TRANSACTIONS / 2);
+    }
+
+    private List<TccInfo> getTrustChainConfirmedTransactionsByFullSort(ClusterHelper clusterHelper, Map<Hash, TransactionData> cluster) {
+        ConcurrentHashMap<Hash, TransactionData> trustChainConfirmationCluster = new ConcurrentHashMap<>(cluster);
+        LinkedList<TransactionData> topologicalOrderedGraph = new LinkedList<>();
+        clusterHelper.sortByTopologicalOrder(trustChainConfirmationCluster, topologicalOrderedGraph);
+        LinkedList<TccInfo> trustChainConfirmations = new LinkedList<>();
+        for (TransactionData transactionData : topologicalOrderedGraph) {
+            double maxSonsTotalTrustScore = 0;
+            for (Hash childHash : transactionData.getChildrenTransactionHashes()) {
+                TransactionData child = trustChainConfirmationCluster.get(childHash);
+                if (child != null) {
+                    maxSonsTotalTrustScore = Math.max(maxSonsTotalTrustScore, child.getTrustChainTrustScore());
+                }
+            }
+            transactionData.setTrustChainTrustScore(Math.max(transactionData.getTrustChainTrustScore(), transactionData.getSenderTrustScore() + maxSonsTotalTrustScore));
+            if (transactionData.getTrustChainTrustScore() >= THRESHOLD && !transactionData.isTrustChainConsensus()) {
+                trustChainConfirmations.addFirst(new TccInfo(transactionData.getHash(), transactionData.getTrustChainTrustScore(), Instant.now()));
+            }
+        }
+        return trustChainConfirmations;
+    }
+
+    private Set<Hash> toHashes(List<TccInfo> tccInfos) {
+        return tccInfos.stream().map(TccInfo::getHash).collect(Collectors.toSet());
+    }
+
+    private Map<Hash, Double> toTrustChainTrustScores(List<TccInfo> tccInfos) {
+        return tccInfos.stream().collect(Collectors.toMap(TccInfo::getHash, TccInfo::getTrustChainTrustScore));
+    }
+
+    private void assertParentsFirst(ReplayedCluster replayedCluster, List<TccInfo> tccInfos) {
+        Set<Hash> reportedHashes = new HashSet<>();
+        tccInfos.forEach(tccInfo -> {
+            replayedCluster.transactionsByHash.get(tccInfo.getHash()).getChildrenTransactionHashes().forEach(childHash ->
+                    Assert.assertFalse(reportedHashes.contains(childHash)));
+            reportedHashes.add(tccInfo.getHash());
+        });
+    }
+
+    private static class ReplayedCluster {
+
+        private final Map<Hash, TransactionData> transactionsByHash = new HashMap<>();
+        private final ConcurrentHashMap<Hash, TransactionData> cluster = new ConcurrentHashMap<>();
+        private final Transactions transactions = Mockito.mock(Transactions.class);
+
+        private ReplayedCluster() {
+            Mockito.when(transactions.getByHash(Mockito.any(Hash.class))).thenAnswer(invocation -> transactionsByHash.get(invocation.<Hash>getArgument(0)));
+        }
+
+        private Set<Hash> attach(Hash hash, double senderTrustScore, Hash leftParentHash, Hash rightParentHash) {
+            TransactionData transactionData = new TransactionData(new ArrayList<>(), hash, "", senderTrustScore, Instant.now(), TransactionType.Payment);
+            transactionData.setLeftParentHash(leftParentHash);
+            transactionData.setRightParentHash(rightParentHash);
+            Set<Hash> changedHashes = new HashSet<>();
+            for (Hash parentHash : new HashSet<>(Arrays.asList(leftParentHash, rightParentHash))) {
+                if (parentHash != null) {
+                    transactionsByHash.get(parentHash).addToChildrenTransactions(hash);
+                    if (cluster.containsKey(parentHash)) {
+                        changedHashes.add(parentHash);
+                    }
+                }
+            }
+            transactionsByHash.put(hash, transactionData);
+            cluster.put(hash, transactionData);
+            changedHashes.add(hash);
+            return changedHashes;
+        }
+
+        private void confirm(List<TccInfo> tccInfos) {
+            tccInfos.forEach(tccInfo -> {
+                cluster.remove(tccInfo.getHash());
+                TransactionData transactionData = transactionsByHash.get(tccInfo.getHash());
+                transactionData.setTrustChainConsensus(true);
+                transactionData.setTrustChainTrustScore(tccInfo.getTrustChainTrustScore());
+            });
+        }
+    }
+}
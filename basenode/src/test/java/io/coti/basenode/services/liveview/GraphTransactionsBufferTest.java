@@ -0,0 +1,59 @@
+package io.coti.basenode.services.liveview;
+
+import io.coti.basenode.services.liveview.data.GraphTransactionData;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class GraphTransactionsBufferTest {
+
+    @Test
+    public void add_overCapacity_evictsOldestAndDanglingParents() {
+        GraphTransactionsBuffer buffer = new GraphTransactionsBuffer(3);
+
+        buffer.add(createGraphTransactionData("a", null, null));
+        buffer.add(createGraphTransactionData("b", "a", null));
+        buffer.add(createGraphTransactionData("c", "a", "b"));
+        buffer.add(createGraphTransactionData("d", "b", "c"));
+
+        List<GraphTransactionData> snapshot = buffer.getSnapshot();
+        Assert.assertEquals(Arrays.asList("b", "c", "d"), snapshot.stream().map(GraphTransactionData::getId).collect(Collectors.toList()));
+        Assert.assertNull(snapshot.get(0).getLeftParent());
+        Assert.assertNull(snapshot.get(1).getLeftParent());
+        Assert.assertEquals("b", snapshot.get(1).getRightParent());
+        Assert.assertEquals("b", snapshot.get(2).getLeftParent());
+    }
+
+    @Test
+    public void update_existingTransaction_replacedInPlaceWithParents() {
+        GraphTransactionsBuffer buffer = new GraphTransactionsBuffer(3);
+        buffer.add(createGraphTransactionData("a", null, null));
+        buffer.add(createGraphTransactionData("b", "a", null));
+
+        GraphTransactionData updatedGraphTransactionData = createGraphTransactionData("a", null, null);
+        updatedGraphTransactionData.setStatus(2);
+        buffer.update(updatedGraphTransactionData);
+        GraphTransactionData updatedChildGraphTransactionData = createGraphTransactionData("b", null, null);
+        updatedChildGraphTransactionData.setStatus(2);
+        buffer.update(updatedChildGraphTransactionData);
+
+        List<GraphTransactionData> snapshot = buffer.getSnapshot();
+        Assert.assertEquals(2, snapshot.size());
+        Assert.assertEquals("a", snapshot.get(0).getId());
+        Assert.assertEquals(Integer.valueOf(2), snapshot.get(0).getStatus());
+        Assert.assertEquals("a", snapshot.get(1).getLeftParent());
+        Assert.assertEquals(Integer.valueOf(2), snapshot.get(1).getStatus());
+    }
+
+    private GraphTransactionData createGraphTransactionData(String id, String leftParent, String rightParent) {
+        GraphTransactionData graphTransactionData = new GraphTransactionData();
+        graphTransactionData.setId(id);
+        graphTransactionData.setLeftParent(leftParent);
+        graphTransactionData.setRightParent(rightParent);
+        graphTransactionData.setStatus(1);
+        return graphTransactionData;
+    }
+}
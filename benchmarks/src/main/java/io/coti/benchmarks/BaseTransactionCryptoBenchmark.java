@@ -0,0 +1,52 @@
+package io.coti.benchmarks;
+
+import io.coti.basenode.crypto.BaseTransactionCrypto;
+import io.coti.basenode.crypto.TransactionCrypto;
+import io.coti.basenode.data.BaseTransactionData;
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.TransactionData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BaseTransactionCryptoBenchmark {
+
+    private final TransactionCrypto transactionCrypto = new TransactionCrypto();
+    private TransactionData transactionData;
+    private BaseTransactionData inputBaseTransactionData;
+    private BaseTransactionData receiverBaseTransactionData;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transactionData = BenchmarkData.generateTransaction(new Random(1));
+        inputBaseTransactionData = transactionData.getBaseTransactions().get(0);
+        receiverBaseTransactionData = transactionData.getBaseTransactions().get(2);
+    }
+
+    @Benchmark
+    public Hash inputBaseTransactionHash() {
+        return BaseTransactionCrypto.INPUT_BASE_TRANSACTION_DATA.createBaseTransactionHashFromData(inputBaseTransactionData);
+    }
+
+    @Benchmark
+    public Hash receiverBaseTransactionHash() {
+        return BaseTransactionCrypto.RECEIVER_BASE_TRANSACTION_DATA.createBaseTransactionHashFromData(receiverBaseTransactionData);
+    }
+
+    @Benchmark
+    public Hash transactionHash() {
+        return transactionCrypto.getHashFromBaseTransactionHashesData(transactionData);
+    }
+
+    @Benchmark
+    public boolean isTransactionValid() {
+        return transactionCrypto.isTransactionValid(transactionData);
+    }
+}
@@ -0,0 +1,57 @@
+package io.coti.benchmarks;
+
+import io.coti.basenode.communication.JacksonSerializer;
+import io.coti.basenode.config.MetricsConfig;
+import io.coti.basenode.database.BaseNodeRocksDBConnector;
+import io.coti.basenode.model.*;
+import io.coti.basenode.services.ClusterHelper;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Wires the basenode collections against a RocksDB in a temporary folder, with the basenode default properties, so that the
+ * benchmarks run offline and leave nothing behind.
+ */
+public class BenchmarkContext implements AutoCloseable {
+
+    private final Path databasePath;
+    private final AnnotationConfigApplicationContext applicationContext;
+
+    public BenchmarkContext(Map<String, Object> propertyOverrides) throws IOException {
+        databasePath = Files.createTempDirectory("coti-benchmarks");
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("application.name", databasePath.resolve("Benchmarks").toString());
+        properties.put("database.folder.name", "_rocksDB");
+        properties.put("reset.transactions", "false");
+        properties.putAll(propertyOverrides);
+
+        applicationContext = new AnnotationConfigApplicationContext();
+        MutablePropertySources propertySources = applicationContext.getEnvironment().getPropertySources();
+        propertySources.addFirst(new MapPropertySource("benchmarks", properties));
+        propertySources.addLast(new ResourcePropertySource("classpath:application.properties"));
+        applicationContext.register(BaseNodeRocksDBConnector.class, Transactions.class, Addresses.class, AddressTransactionsHistories.class,
+                TransactionIndexes.class, TransactionVotes.class, NodeRegistrations.class, ClusterHelper.class, JacksonSerializer.class, MetricsConfig.class);
+        applicationContext.refresh();
+        applicationContext.getBean(BaseNodeRocksDBConnector.class).init();
+    }
+
+    public <T> T getBean(Class<T> beanClass) {
+        return applicationContext.getBean(beanClass);
+    }
+
+    @Override
+    public void close() {
+        applicationContext.getBean(BaseNodeRocksDBConnector.class).shutdown();
+        applicationContext.close();
+        FileSystemUtils.deleteRecursively(databasePath.toFile());
+    }
+}
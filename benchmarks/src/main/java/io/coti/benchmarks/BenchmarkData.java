@@ -0,0 +1,80 @@
+package io.coti.benchmarks;
+
+import io.coti.basenode.crypto.BaseTransactionCrypto;
+import io.coti.basenode.crypto.CryptoHelper;
+import io.coti.basenode.crypto.TransactionCrypto;
+import io.coti.basenode.data.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class BenchmarkData {
+
+    private static final int HASH_SIZE_IN_BYTES = 32;
+    private static final int MAXIMUM_PARENT_DISTANCE = 20;
+    private static final TransactionCrypto transactionCrypto = new TransactionCrypto();
+
+    private BenchmarkData() {
+
+    }
+
+    public static Hash generateHash(Random random) {
+        byte[] hashBytes = new byte[HASH_SIZE_IN_BYTES];
+        random.nextBytes(hashBytes);
+        return new Hash(hashBytes);
+    }
+
+    public static TransactionData generateTransaction(Random random) {
+        Instant createTime = Instant.now();
+        BigDecimal amount = new BigDecimal(1 + random.nextInt(1000));
+        BigDecimal fee = new BigDecimal("0.01");
+        List<String> privateKeys = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            privateKeys.add(generateHash(random).toHexString());
+        }
+
+        List<BaseTransactionData> baseTransactions = new ArrayList<>(Arrays.asList(
+                new InputBaseTransactionData(CryptoHelper.getAddressFromPrivateKey(privateKeys.get(0)), amount.add(fee).negate(), createTime),
+                new FullNodeFeeData(CryptoHelper.getAddressFromPrivateKey(privateKeys.get(1)), fee, fee, createTime),
+                new ReceiverBaseTransactionData(CryptoHelper.getAddressFromPrivateKey(privateKeys.get(2)), amount, amount, createTime)));
+        baseTransactions.forEach(baseTransactionData -> BaseTransactionCrypto.getByBaseTransactionClass(baseTransactionData.getClass()).setBaseTransactionHash(baseTransactionData));
+
+        TransactionData transactionData = new TransactionData(baseTransactions, "benchmark", 1 + random.nextInt(100), createTime, TransactionType.Payment);
+        transactionCrypto.setTransactionHash(transactionData);
+        for (int i = 0; i < baseTransactions.size(); i++) {
+            BaseTransactionData baseTransactionData = baseTransactions.get(i);
+            byte[] signatureMessage = BaseTransactionCrypto.getByBaseTransactionClass(baseTransactionData.getClass()).getSignatureMessage(transactionData);
+            baseTransactionData.setSignature(CryptoHelper.signBytes(signatureMessage, privateKeys.get(i)));
+        }
+        return transactionData;
+    }
+
+    /**
+     * Attaches each transaction to up to two parents among the last attached ones, the way the unconfirmed cluster grows.
+     */
+    public static ConcurrentHashMap<Hash, TransactionData> generateDag(int size, Random random) {
+        ConcurrentHashMap<Hash, TransactionData> dag = new ConcurrentHashMap<>();
+        List<TransactionData> attachedTransactions = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            TransactionData transactionData = new TransactionData(new ArrayList<>(), generateHash(random), "", 1 + random.nextInt(30), Instant.now(), TransactionType.Payment);
+            if (!attachedTransactions.isEmpty()) {
+                TransactionData leftParent = attachedTransactions.get(Math.max(0, attachedTransactions.size() - 1 - random.nextInt(MAXIMUM_PARENT_DISTANCE)));
+                TransactionData rightParent = attachedTransactions.get(Math.max(0, attachedTransactions.size() - 1 - random.nextInt(MAXIMUM_PARENT_DISTANCE)));
+                transactionData.setLeftParentHash(leftParent.getHash());
+                leftParent.addToChildrenTransactions(transactionData.getHash());
+                if (rightParent != leftParent) {
+                    transactionData.setRightParentHash(rightParent.getHash());
+                    rightParent.addToChildrenTransactions(transactionData.getHash());
+                }
+            }
+            attachedTransactions.add(transactionData);
+            dag.put(transactionData.getHash(), transactionData);
+        }
+        return dag;
+    }
+}
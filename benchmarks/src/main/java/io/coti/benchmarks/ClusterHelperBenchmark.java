@@ -0,0 +1,47 @@
+package io.coti.benchmarks;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.services.ClusterHelper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClusterHelperBenchmark {
+
+    @Param({"500", "2000"})
+    private int clusterSize;
+    private BenchmarkContext benchmarkContext;
+    private ClusterHelper clusterHelper;
+    private ConcurrentHashMap<Hash, TransactionData> cluster;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        benchmarkContext = new BenchmarkContext(Collections.emptyMap());
+        clusterHelper = benchmarkContext.getBean(ClusterHelper.class);
+        cluster = BenchmarkData.generateDag(clusterSize, new Random(1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        benchmarkContext.close();
+    }
+
+    @Benchmark
+    public LinkedList<TransactionData> sortByTopologicalOrder() {
+        LinkedList<TransactionData> topologicalOrderedGraph = new LinkedList<>();
+        clusterHelper.sortByTopologicalOrder(new ConcurrentHashMap<>(cluster), topologicalOrderedGraph);
+        return topologicalOrderedGraph;
+    }
+}
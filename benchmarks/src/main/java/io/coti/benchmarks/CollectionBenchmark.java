@@ -0,0 +1,66 @@
+package io.coti.benchmarks;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.model.Transactions;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CollectionBenchmark {
+
+    private static final int NUMBER_OF_TRANSACTIONS = 10000;
+    @Param({"0", "20000"})
+    private int cacheSize;
+    private BenchmarkContext benchmarkContext;
+    private Transactions transactions;
+    private TransactionData[] transactionData;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        benchmarkContext = new BenchmarkContext(Collections.singletonMap("db.cache.size.Transactions", String.valueOf(cacheSize)));
+        transactions = benchmarkContext.getBean(Transactions.class);
+        random = new Random(1);
+        transactionData = new TransactionData[NUMBER_OF_TRANSACTIONS];
+        for (int i = 0; i < NUMBER_OF_TRANSACTIONS; i++) {
+            transactionData[i] = BenchmarkData.generateTransaction(random);
+            transactions.put(transactionData[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        benchmarkContext.close();
+    }
+
+    @Benchmark
+    public void put() {
+        transactions.put(transactionData[random.nextInt(NUMBER_OF_TRANSACTIONS)]);
+    }
+
+    @Benchmark
+    public TransactionData getByHash() {
+        return transactions.getByHash(transactionData[random.nextInt(NUMBER_OF_TRANSACTIONS)].getHash());
+    }
+
+    @Benchmark
+    public TransactionData getByHash_missing() {
+        return transactions.getByHash(BenchmarkData.generateHash(random));
+    }
+
+    @Benchmark
+    public boolean existsByHash() {
+        Hash hash = transactionData[random.nextInt(NUMBER_OF_TRANSACTIONS)].getHash();
+        return transactions.existsByHash(hash);
+    }
+}
@@ -0,0 +1,53 @@
+package io.coti.benchmarks;
+
+import io.coti.basenode.crypto.CryptoHelper;
+import io.coti.basenode.data.SignatureData;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CryptoHelperBenchmark {
+
+    private String privateKey;
+    private String publicKey;
+    private byte[] message;
+    private SignatureData signatureData;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(1);
+        privateKey = BenchmarkData.generateHash(random).toHexString();
+        publicKey = CryptoHelper.getPublicKeyFromPrivateKey(privateKey);
+        message = BenchmarkData.generateHash(random).getBytes();
+        signatureData = CryptoHelper.signBytes(message, privateKey);
+    }
+
+    @Benchmark
+    public SignatureData signBytes() {
+        return CryptoHelper.signBytes(message, privateKey);
+    }
+
+    @Benchmark
+    public boolean verifyByPublicKey() throws InvalidKeySpecException, NoSuchAlgorithmException {
+        return CryptoHelper.verifyByPublicKey(message, signatureData.getR(), signatureData.getS(), publicKey);
+    }
+
+    @Benchmark
+    public boolean verifyByPublicKey_decodedKey() throws InvalidKeySpecException, NoSuchAlgorithmException {
+        return CryptoHelper.verifyByPublicKey(message, signatureData.getR(), signatureData.getS(), CryptoHelper.getPublicKeyFromHexString(publicKey));
+    }
+
+    @Benchmark
+    public String getPublicKeyFromPrivateKey() {
+        return CryptoHelper.getPublicKeyFromPrivateKey(privateKey);
+    }
+}
@@ -0,0 +1,51 @@
+package io.coti.benchmarks;
+
+import io.coti.basenode.communication.JacksonSerializer;
+import io.coti.basenode.data.TransactionData;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacksonSerializerBenchmark {
+
+    private AnnotationConfigApplicationContext applicationContext;
+    private JacksonSerializer jacksonSerializer;
+    private TransactionData transactionData;
+    private byte[] serializedTransactionData;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        applicationContext = new AnnotationConfigApplicationContext(JacksonSerializer.class);
+        jacksonSerializer = applicationContext.getBean(JacksonSerializer.class);
+        transactionData = BenchmarkData.generateTransaction(new Random(1));
+        serializedTransactionData = jacksonSerializer.serialize(transactionData);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return jacksonSerializer.serialize(transactionData);
+    }
+
+    @Benchmark
+    public TransactionData deserialize() {
+        return jacksonSerializer.deserialize(serializedTransactionData);
+    }
+
+    @Benchmark
+    public TransactionData roundTrip() {
+        return jacksonSerializer.deserialize(jacksonSerializer.serialize(transactionData));
+    }
+}
@@ -0,0 +1,39 @@
+package io.coti.benchmarks;
+
+import io.coti.pot.ProofOfTrust;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static javax.xml.bind.DatatypeConverter.parseHexBinary;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProofOfTrustBenchmark {
+
+    private static final String NETWORK_DIFFICULTY = "00100000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000";
+    @Param({"10", "50", "100"})
+    private int trustScore;
+    @Param({"1", "4"})
+    private int workerThreads;
+    private byte[] targetDifficulty;
+    private Random random;
+    private ProofOfTrust proofOfTrust;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        targetDifficulty = parseHexBinary(NETWORK_DIFFICULTY);
+        random = new Random(1);
+        proofOfTrust = new ProofOfTrust(trustScore, workerThreads);
+    }
+
+    @Benchmark
+    public int[] hash() {
+        return proofOfTrust.hash(BenchmarkData.generateHash(random).getBytes(), targetDifficulty);
+    }
+}
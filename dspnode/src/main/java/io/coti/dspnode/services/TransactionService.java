@@ -3,6 +3,7 @@ package io.coti.dspnode.services;
 import io.coti.basenode.communication.interfaces.IPropagationPublisher;
 import io.coti.basenode.communication.interfaces.ISender;
 import io.coti.basenode.crypto.TransactionDspVoteCrypto;
+import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.NodeType;
 import io.coti.basenode.data.TransactionData;
 import io.coti.basenode.data.TransactionDspVote;
@@ -20,6 +21,7 @@ import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.PriorityQueue;
 import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 @Slf4j
@@ -60,10 +62,9 @@ public class TransactionService extends BaseNodeTransactionService {
             	log.error("Data Integrity validation failed: {}", transactionData.getHash());
                 return;
             }
-            if (hasOneOfParentsMissing(transactionData)) {
-                if (!postponedTransactions.containsKey(transactionData)) {
-                    postponedTransactions.put(transactionData, true);
-                }
+            Set<Hash> missingParentHashes = getMissingParentHashes(transactionData);
+            if (!missingParentHashes.isEmpty()) {
+                postponedTransactionService.postponeTransaction(transactionData, true, missingParentHashes);
                 return;
             }
             if (!validationService.validateBalancesAndAddToPreBalance(transactionData)) {
@@ -89,6 +90,8 @@ public class TransactionService extends BaseNodeTransactionService {
             transactionHelper.endHandleTransaction(transactionData);
             if (isTransactionFinished) {
                 processPostponedTransactions(transactionData);
+            } else {
+                processArrivedParentsOfPostponedTransaction(transactionData);
             }
         }
     }
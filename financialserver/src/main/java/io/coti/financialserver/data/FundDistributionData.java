@@ -28,6 +28,7 @@ public class FundDistributionData implements IEntity {
     private Instant createTime;
     private Instant releaseTime;
     private String source;
+    private Hash initialTransactionHash;
 
     public FundDistributionData(@NotNull long id, @NotEmpty Hash receiverAddress, @NotNull Fund distributionPoolFund, @NotNull BigDecimal amount, @NotNull Instant createTime,
                                 @NotNull Instant releaseTime, @NotEmpty String source) {
@@ -4,9 +4,11 @@ import io.coti.basenode.crypto.CryptoHelper;
 import io.coti.basenode.crypto.NodeCryptoHelper;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.SignatureData;
+import io.coti.basenode.data.TransactionData;
 import io.coti.basenode.exceptions.CotiRunTimeException;
 import io.coti.basenode.http.Response;
 import io.coti.basenode.http.interfaces.IResponse;
+import io.coti.basenode.model.Transactions;
 import io.coti.basenode.services.BaseNodeBalanceService;
 import io.coti.basenode.services.interfaces.INetworkService;
 import io.coti.financialserver.crypto.FundDistributionFileCrypto;
@@ -31,7 +33,7 @@ import java.math.BigDecimal;
 import java.nio.ByteBuffer;
 import java.time.*;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static io.coti.basenode.http.BaseNodeHttpStringConstants.INVALID_SIGNATURE;
@@ -53,6 +55,12 @@ public class FundDistributionService {
     private String kycServerPublicKey;
     @Value("${distribution.cron.enabled}")
     private boolean distributionCronEnabled;
+    @Value("${distribution.threads: 4}")
+    private int distributionThreads;
+    @Value("${distribution.max.retries: 3}")
+    private int distributionMaxRetries;
+    @Value("${distribution.retry.initial.delay.millis: 1000}")
+    private long distributionRetryInitialDelayInMillis;
     @Autowired
     private TransactionCreationService transactionCreationService;
     @Autowired
@@ -73,6 +81,8 @@ public class FundDistributionService {
     private FailedFundDistributions failedFundDistributions;
     @Autowired
     private DailyFundDistributionFiles dailyFundDistributionFiles;
+    @Autowired
+    private Transactions transactions;
     private Map<Hash, FundDistributionReservedBalanceData> fundReservedBalanceMap;
     private Map<Hash, ReservedBalanceData> addressToReservedBalanceMap;
 
@@ -441,6 +451,7 @@ public class FundDistributionService {
     }
 
     private Thread monitorCreatedTransactions(AtomicLong createdTransactionNumber, AtomicLong failedTransactionNumber) {
+        long startTime = System.currentTimeMillis();
         return new Thread(() -> {
             while (!Thread.currentThread().isInterrupted()) {
                 try {
@@ -448,74 +459,137 @@ public class FundDistributionService {
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
                 }
-                log.info("Created transactions: {}, failed transactions: {}", createdTransactionNumber, failedTransactionNumber);
+                long elapsedSeconds = Math.max(1, (System.currentTimeMillis() - startTime) / 1000);
+                log.info("Created transactions: {}, failed transactions: {}, created transactions per second: {}", createdTransactionNumber, failedTransactionNumber,
+                        createdTransactionNumber.get() / elapsedSeconds);
             }
         });
     }
 
     private void createPendingTransactions(AtomicLong createdTransactionNumber, AtomicLong failedTransactionNumber) {
         List<FundDistributionFileEntryResultData> fundDistributionFileEntryResultDataList = new ArrayList<>();
+        Map<Hash, DailyFundDistributionData> hashToDailyFundDistributionDataMap = new HashMap<>();
+        List<FundDistributionTask> fundDistributionTasks = new ArrayList<>();
+        addPendingFailedDistributionTasks(fundDistributionTasks, hashToDailyFundDistributionDataMap);
+        addPendingNonFailedDistributionTasksByDate(fundDistributionTasks, hashToDailyFundDistributionDataMap);
+
+        ScheduledExecutorService distributionExecutor = Executors.newScheduledThreadPool(distributionThreads, runnable -> {
+            Thread thread = new Thread(runnable, "Fund distribution");
+            thread.setDaemon(true);
+            return thread;
+        });
         try {
-            createPendingFailedTransactions(fundDistributionFileEntryResultDataList, createdTransactionNumber, failedTransactionNumber);
-            createPendingNonFailedTransactionsByDate(fundDistributionFileEntryResultDataList, createdTransactionNumber, failedTransactionNumber);
+            fundDistributionTasks.forEach(fundDistributionTask ->
+                    distributionExecutor.execute(() -> executeDistributionTask(fundDistributionTask, distributionExecutor, createdTransactionNumber, failedTransactionNumber)));
+            for (FundDistributionTask fundDistributionTask : fundDistributionTasks) {
+                try {
+                    fundDistributionFileEntryResultDataList.add(fundDistributionTask.result.get());
+                } catch (ExecutionException e) {
+                    log.error("Error at distribution {} transaction creation", fundDistributionTask.fundDistributionData.getHash(), e.getCause());
+                }
+            }
         } catch (InterruptedException e) {
+            log.info("Pending distribution transaction creation interrupted: {}", e.getMessage());
             Thread.currentThread().interrupt();
+        } finally {
+            distributionExecutor.shutdownNow();
         }
         createFundDistributionFileResult(fundDistributionFileEntryResultDataList);
     }
 
-    private void createPendingNonFailedTransactionsByDate(List<FundDistributionFileEntryResultData> fundDistributionFileEntryResultDataList, AtomicLong createdTransactionNumber, AtomicLong failedTransactionNumber) throws InterruptedException {
+    private void addPendingFailedDistributionTasks(List<FundDistributionTask> fundDistributionTasks, Map<Hash, DailyFundDistributionData> hashToDailyFundDistributionDataMap) {
+        failedFundDistributions.forEach(failedFundDistributionData -> {
+            DailyFundDistributionData dailyFundDistributionData = hashToDailyFundDistributionDataMap.computeIfAbsent(failedFundDistributionData.getHash(), dailyFundDistributions::getByHash);
+            boolean nonFailedEntriesRemoved = failedFundDistributionData.getFundDistributionHashes().keySet().removeIf(failedFundDistributionHash -> {
+                FundDistributionData fundDistributionData = dailyFundDistributionData.getFundDistributionEntries().get(failedFundDistributionHash);
+                if (fundDistributionData.getStatus().equals(DistributionEntryStatus.FAILED)) {
+                    fundDistributionTasks.add(new FundDistributionTask(dailyFundDistributionData, fundDistributionData));
+                    return false;
+                }
+                return true;
+            });
+            if (nonFailedEntriesRemoved) {
+                failedFundDistributions.put(failedFundDistributionData);
+            }
+        });
+    }
+
+    private void addPendingNonFailedDistributionTasksByDate(List<FundDistributionTask> fundDistributionTasks, Map<Hash, DailyFundDistributionData> hashToDailyFundDistributionDataMap) {
         Hash hashOfYesterday = getHashOfDate(getStartOfYesterday());
-        if (dailyFundDistributions.getByHash(hashOfYesterday) == null) {
+        DailyFundDistributionData dailyFundDistributionData = hashToDailyFundDistributionDataMap.computeIfAbsent(hashOfYesterday, dailyFundDistributions::getByHash);
+        if (dailyFundDistributionData == null) {
             return;
         }
-        DailyFundDistributionData dailyFundDistributionData = dailyFundDistributions.getByHash(hashOfYesterday);
-        LinkedHashMap<Hash, FundDistributionData> fundDistributionEntries = dailyFundDistributionData.getFundDistributionEntries();
-        for (FundDistributionData fundDistributionData : fundDistributionEntries.values()) {
-            if (Thread.currentThread().isInterrupted()) {
-                throw new InterruptedException("Pending non failed transaction thread is interrupted");
-            }
-            boolean isSuccessful = false;
-            Hash initialTransactionHash;
+        dailyFundDistributionData.getFundDistributionEntries().values().forEach(fundDistributionData -> {
             if (fundDistributionData.isReadyToInitiate()) {
-                initialTransactionHash = createInitialTransactionToDistributionEntry(fundDistributionData);
-                try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-                if (initialTransactionHash != null) {
-                    createdTransactionNumber.incrementAndGet();
-                    isSuccessful = true;
-                    fundDistributionData.setStatus(DistributionEntryStatus.CREATED);
-                    fundDistributionEntries.put(fundDistributionData.getHash(), fundDistributionData);
-                    substractDistributionFromReservedBalanceMaps(fundDistributionData);
-                } else {
-                    failedTransactionNumber.incrementAndGet();
-                    fundDistributionData.setStatus(DistributionEntryStatus.FAILED);
-                    fundDistributionEntries.put(fundDistributionData.getHash(), fundDistributionData);
-                    FailedFundDistributionData failedFundDistributionData = failedFundDistributions.getByHash(hashOfYesterday);
-                    if (failedFundDistributionData == null) {
-                        failedFundDistributionData = new FailedFundDistributionData(hashOfYesterday);
-                    }
-                    failedFundDistributionData.getFundDistributionHashes().put(fundDistributionData.getHash(), fundDistributionData.getHash());
+                fundDistributionTasks.add(new FundDistributionTask(dailyFundDistributionData, fundDistributionData));
+            }
+        });
+    }
+
+    private void executeDistributionTask(FundDistributionTask fundDistributionTask, ScheduledExecutorService distributionExecutor, AtomicLong createdTransactionNumber,
+                                         AtomicLong failedTransactionNumber) {
+        try {
+            Hash initialTransactionHash = createInitialTransactionToDistributionEntry(fundDistributionTask.dailyFundDistributionData, fundDistributionTask.fundDistributionData);
+            if (initialTransactionHash == null && fundDistributionTask.attempts < distributionMaxRetries && !distributionExecutor.isShutdown()) {
+                long retryDelayInMillis = distributionRetryInitialDelayInMillis << fundDistributionTask.attempts;
+                fundDistributionTask.attempts++;
+                log.info("Retrying distribution {} in {} milliseconds", fundDistributionTask.fundDistributionData.getHash(), retryDelayInMillis);
+                distributionExecutor.schedule(() -> executeDistributionTask(fundDistributionTask, distributionExecutor, createdTransactionNumber, failedTransactionNumber),
+                        retryDelayInMillis, TimeUnit.MILLISECONDS);
+                return;
+            }
+            fundDistributionTask.result.complete(completeDistributionTask(fundDistributionTask, initialTransactionHash, createdTransactionNumber, failedTransactionNumber));
+        } catch (Exception e) {
+            fundDistributionTask.result.completeExceptionally(e);
+        }
+    }
+
+    private FundDistributionFileEntryResultData completeDistributionTask(FundDistributionTask fundDistributionTask, Hash initialTransactionHash, AtomicLong createdTransactionNumber,
+                                                                         AtomicLong failedTransactionNumber) {
+        DailyFundDistributionData dailyFundDistributionData = fundDistributionTask.dailyFundDistributionData;
+        FundDistributionData fundDistributionData = fundDistributionTask.fundDistributionData;
+        boolean isSuccessful = initialTransactionHash != null;
+        if (isSuccessful) {
+            createdTransactionNumber.incrementAndGet();
+            substractDistributionFromReservedBalanceMaps(fundDistributionData);
+        } else {
+            failedTransactionNumber.incrementAndGet();
+        }
+        synchronized (dailyFundDistributionData) {
+            fundDistributionData.setStatus(isSuccessful ? DistributionEntryStatus.CREATED : DistributionEntryStatus.FAILED);
+            dailyFundDistributions.put(dailyFundDistributionData);
+        }
+        updateFailedFundDistributions(dailyFundDistributionData.getHash(), fundDistributionData.getHash(), isSuccessful);
+
+        String status = isSuccessful ? TRANSACTION_CREATED_SUCCESSFULLY : TRANSACTION_CREATION_FAILED;
+        FundDistributionFileEntryResultData fundDistributionFileEntryResultData = new FundDistributionFileEntryResultData(fundDistributionData.getId(),
+                fundDistributionData.getReceiverAddress().toString(), fundDistributionData.getDistributionPoolFund().getText(),
+                fundDistributionData.getSource(), isSuccessful, status);
+        if (initialTransactionHash != null) {
+            fundDistributionFileEntryResultData.setTransactionHash(initialTransactionHash.toString());
+        }
+        return fundDistributionFileEntryResultData;
+    }
+
+    private void updateFailedFundDistributions(Hash hashOfDay, Hash fundDistributionHash, boolean isSuccessful) {
+        synchronized (failedFundDistributions) {
+            FailedFundDistributionData failedFundDistributionData = failedFundDistributions.getByHash(hashOfDay);
+            if (isSuccessful) {
+                if (failedFundDistributionData != null && failedFundDistributionData.getFundDistributionHashes().remove(fundDistributionHash) != null) {
                     failedFundDistributions.put(failedFundDistributionData);
                 }
-                dailyFundDistributions.put(dailyFundDistributionData);
-                String status = isSuccessful ? TRANSACTION_CREATED_SUCCESSFULLY : TRANSACTION_CREATION_FAILED;
-                FundDistributionFileEntryResultData fundDistributionFileEntryResultData = new FundDistributionFileEntryResultData(fundDistributionData.getId(),
-                        fundDistributionData.getReceiverAddress().toString(), fundDistributionData.getDistributionPoolFund().getText(),
-                        fundDistributionData.getSource(), isSuccessful, status);
-                if (initialTransactionHash != null) {
-                    fundDistributionFileEntryResultData.setTransactionHash(initialTransactionHash.toString());
-                }
-                fundDistributionFileEntryResultDataList.add(fundDistributionFileEntryResultData);
-
+                return;
+            }
+            if (failedFundDistributionData == null) {
+                failedFundDistributionData = new FailedFundDistributionData(hashOfDay);
             }
+            failedFundDistributionData.getFundDistributionHashes().put(fundDistributionHash, fundDistributionHash);
+            failedFundDistributions.put(failedFundDistributionData);
         }
     }
 
-    private void substractDistributionFromReservedBalanceMaps(FundDistributionData fundDistributionData) {
+    private synchronized void substractDistributionFromReservedBalanceMaps(FundDistributionData fundDistributionData) {
 
         FundDistributionReservedBalanceData fundReserveBalanceData = fundReservedBalanceMap.get(fundDistributionData.getDistributionPoolFund().getFundHash());
         BigDecimal updatedFundReservedAmount = fundReserveBalanceData.getReservedAmount().subtract(fundDistributionData.getAmount());
@@ -548,50 +622,6 @@ public class FundDistributionService {
                 localDateTime.getDayOfMonth()).getBytes());
     }
 
-    private void createPendingFailedTransactions(List<FundDistributionFileEntryResultData> fundDistributionFileEntryResultDataList, AtomicLong createdTransactionNumber, AtomicLong failedTransactionNumber) {
-        failedFundDistributions.forEach(failedFundDistributionData ->
-        {
-            Hash hashOfDay = failedFundDistributionData.getHash();
-            DailyFundDistributionData dailyFundDistributionData = dailyFundDistributions.getByHash(hashOfDay);
-            Iterator<Hash> failedEntryHashKeys = failedFundDistributionData.getFundDistributionHashes().keySet().iterator();
-            while (failedEntryHashKeys.hasNext()) {
-                Hash failedFundDistributionHash = failedEntryHashKeys.next();
-                Hash initialTransactionHash;
-                boolean isSuccessful = false;
-                FundDistributionData fundDistributionData = dailyFundDistributionData.getFundDistributionEntries().get(failedFundDistributionHash);
-                if (fundDistributionData.getStatus().equals(DistributionEntryStatus.FAILED)) {
-                    try {
-                        Thread.sleep(1000);
-                    } catch (InterruptedException e) {
-                        log.info("Pending failed transaction creation interrupted: {}", e.getMessage());
-                        Thread.currentThread().interrupt();
-                    }
-                    initialTransactionHash = createInitialTransactionToDistributionEntry(fundDistributionData);
-                    if (initialTransactionHash != null) {
-                        createdTransactionNumber.incrementAndGet();
-                        isSuccessful = true;
-                        fundDistributionData.setStatus(DistributionEntryStatus.CREATED);
-                        failedEntryHashKeys.remove();
-                        substractDistributionFromReservedBalanceMaps(fundDistributionData);
-                    } else {
-                        failedTransactionNumber.incrementAndGet();
-                    }
-                    String status = isSuccessful ? TRANSACTION_CREATED_SUCCESSFULLY : TRANSACTION_CREATION_FAILED;
-                    FundDistributionFileEntryResultData fundDistributionFileEntryResultData = new FundDistributionFileEntryResultData(fundDistributionData.getId(), fundDistributionData.getReceiverAddress().toString(),
-                            fundDistributionData.getDistributionPoolFund().getText(), fundDistributionData.getSource(), isSuccessful, status);
-                    if (initialTransactionHash != null) {
-                        fundDistributionFileEntryResultData.setTransactionHash(initialTransactionHash.toString());
-                    }
-                    fundDistributionFileEntryResultDataList.add(fundDistributionFileEntryResultData);
-                } else {
-                    failedEntryHashKeys.remove();
-                }
-            }
-            dailyFundDistributions.put(dailyFundDistributionData);
-            failedFundDistributions.put(failedFundDistributionData);
-        });
-    }
-
     private String createDistributionResultFileNameForToday() {
         LocalDateTime ldt = LocalDateTime.ofInstant(Instant.now(), ZoneOffset.UTC);
         String today = ldt.getYear() + "-" + StringUtils.leftPad(Integer.toString(ldt.getMonthValue()), 2, "0") + "-" + StringUtils.leftPad(Integer.toString(ldt.getDayOfMonth()), 2, "0");
@@ -603,13 +633,25 @@ public class FundDistributionService {
         return nodeCryptoHelper.generateAddress(seed, sourceAddressIndex);
     }
 
-    private Hash createInitialTransactionToDistributionEntry(FundDistributionData fundDistributionData) {
-        Hash initialTransactionHash = null;
+    private Hash createInitialTransactionToDistributionEntry(DailyFundDistributionData dailyFundDistributionData, FundDistributionData fundDistributionData) {
+        Hash initialTransactionHash = fundDistributionData.getInitialTransactionHash();
+        TransactionData initialTransactionData = initialTransactionHash != null ? transactions.getByHash(initialTransactionHash) : null;
+        if (initialTransactionData != null) {
+            log.info("Distribution {} was already attached as transaction {}. Propagating it again in case it was not propagated", fundDistributionData.getHash(), initialTransactionHash);
+            transactionCreationService.propagateInitialTransaction(initialTransactionData);
+            return initialTransactionHash;
+        }
+        initialTransactionHash = null;
         try {
             int sourceAddressIndex = Math.toIntExact(fundDistributionData.getDistributionPoolFund().getReservedAddress().getIndex());
             Hash sourceAddress = fundDistributionData.getDistributionPoolFund().getFundHash();
             initialTransactionHash = transactionCreationService.createInitialTransactionToFund(fundDistributionData.getAmount(),
-                    sourceAddress, fundDistributionData.getReceiverAddress(), sourceAddressIndex);
+                    sourceAddress, fundDistributionData.getReceiverAddress(), sourceAddressIndex, transactionHash -> {
+                        synchronized (dailyFundDistributionData) {
+                            fundDistributionData.setInitialTransactionHash(transactionHash);
+                            dailyFundDistributions.put(dailyFundDistributionData);
+                        }
+                    });
         } catch (Exception e) {
             log.error("Failed to create initial transaction.");
             log.error("{}: {}", e.getClass().getName(), e.getMessage());
@@ -745,4 +787,17 @@ public class FundDistributionService {
 
         return ResponseEntity.ok().body(new UpdateDistributionAmountResponse(fundDistributionData.getHash(), oldAmount, fundDistributionData.getAmount()));
     }
+
+    private static class FundDistributionTask {
+
+        private final DailyFundDistributionData dailyFundDistributionData;
+        private final FundDistributionData fundDistributionData;
+        private final CompletableFuture<FundDistributionFileEntryResultData> result = new CompletableFuture<>();
+        private int attempts;
+
+        private FundDistributionTask(DailyFundDistributionData dailyFundDistributionData, FundDistributionData fundDistributionData) {
+            this.dailyFundDistributionData = dailyFundDistributionData;
+            this.fundDistributionData = fundDistributionData;
+        }
+    }
 }
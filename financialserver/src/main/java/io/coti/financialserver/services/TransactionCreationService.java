@@ -4,6 +4,7 @@ import io.coti.basenode.communication.interfaces.IPropagationPublisher;
 import io.coti.basenode.crypto.TransactionCrypto;
 import io.coti.basenode.data.*;
 import io.coti.basenode.exceptions.TransactionValidationException;
+import io.coti.basenode.model.Transactions;
 import io.coti.basenode.services.ClusterService;
 import io.coti.basenode.services.TransactionHelper;
 import io.coti.basenode.services.TransactionIndexService;
@@ -16,6 +17,7 @@ import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.*;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
@@ -38,6 +40,8 @@ public class TransactionCreationService {
     private RollingReserveService rollingReserveService;
     @Autowired
     private IBalanceService balanceService;
+    @Autowired
+    private Transactions transactions;
 
     public void createNewChargebackTransaction(BigDecimal amount, Hash merchantRollingReserveAddress, Hash consumerAddress, BigDecimal poolAmount) {
 
@@ -75,6 +79,15 @@ public class TransactionCreationService {
     }
 
     public Hash createInitialTransactionToFund(BigDecimal amount, Hash cotiGenesisAddress, Hash fundAddress, int genesisAddressIndex) {
+        return createInitialTransactionToFund(amount, cotiGenesisAddress, fundAddress, genesisAddressIndex, transactionHash -> {
+        });
+    }
+
+    /**
+     * @param beforeAttachment receives the hash of the signed transaction before it is attached, so that a caller can record it
+     *                         and recognize the transaction after a restart instead of creating it again
+     */
+    public Hash createInitialTransactionToFund(BigDecimal amount, Hash cotiGenesisAddress, Hash fundAddress, int genesisAddressIndex, Consumer<Hash> beforeAttachment) {
 
         List<BaseTransactionData> baseTransactions = new ArrayList<>();
 
@@ -90,17 +103,29 @@ public class TransactionCreationService {
         if (!balanceService.checkBalancesAndAddToPreBalance(initialTransactionData.getBaseTransactions())) {
             throw new TransactionValidationException("Balance check failed");
         }
-        clusterService.selectSources(initialTransactionData);
-        initialTransactionData.setAttachmentTime(Instant.now());
+        try {
+            clusterService.selectSources(initialTransactionData);
+            initialTransactionData.setAttachmentTime(Instant.now());
+
+            Map<Hash, Integer> addressHashToAddressIndexMap = new HashMap<>();
+            addressHashToAddressIndexMap.put(cotiGenesisAddress, genesisAddressIndex);
+            transactionCryptoCreator.signBaseTransactions(initialTransactionData, addressHashToAddressIndexMap);
+            transactionCrypto.signMessage(initialTransactionData);
+            beforeAttachment.accept(initialTransactionData.getHash());
+            transactionHelper.attachTransactionToCluster(initialTransactionData);
+        } catch (RuntimeException e) {
+            if (initialTransactionData.getHash() == null || transactions.getByHash(initialTransactionData.getHash()) == null) {
+                balanceService.rollbackBaseTransactions(initialTransactionData);
+            }
+            throw e;
+        }
 
-        Map<Hash, Integer> addressHashToAddressIndexMap = new HashMap<>();
-        addressHashToAddressIndexMap.put(cotiGenesisAddress, genesisAddressIndex);
-        transactionCryptoCreator.signBaseTransactions(initialTransactionData, addressHashToAddressIndexMap);
-        transactionCrypto.signMessage(initialTransactionData);
-        transactionHelper.attachTransactionToCluster(initialTransactionData);
-
-        propagationPublisher.propagate(initialTransactionData, Arrays.asList(NodeType.ZeroSpendServer, NodeType.TrustScoreNode, NodeType.FinancialServer, NodeType.DspNode, NodeType.HistoryNode));
+        propagateInitialTransaction(initialTransactionData);
 
         return initialTransactionData.getHash();
     }
+
+    public void propagateInitialTransaction(TransactionData initialTransactionData) {
+        propagationPublisher.propagate(initialTransactionData, Arrays.asList(NodeType.ZeroSpendServer, NodeType.TrustScoreNode, NodeType.FinancialServer, NodeType.DspNode, NodeType.HistoryNode));
+    }
 }
\ No newline at end of file
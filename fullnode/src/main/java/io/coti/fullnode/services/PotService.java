@@ -6,7 +6,10 @@ import io.coti.basenode.pot.PotRunnableTask;
 import io.coti.basenode.pot.PriorityExecutor;
 import io.coti.basenode.services.BaseNodePotService;
 import io.coti.fullnode.data.MonitorBucketStatistics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
@@ -21,11 +24,17 @@ public class PotService extends BaseNodePotService {
 
     private static HashMap<Integer, ExecutorService> queuesPot = new HashMap<>();
     protected static HashMap<Integer, MonitorBucketStatistics> monitorStatistics = new LinkedHashMap<>();
+    @Autowired
+    private MeterRegistry meterRegistry;
 
     public void init() {
         for (int i = 10; i <= 100; i = i + 10) {
             monitorStatistics.put(i, new MonitorBucketStatistics());
-            queuesPot.put(i, new PriorityExecutor(i / 10, i / 5, 5 + (100 - i) / 2));
+            PriorityExecutor executor = new PriorityExecutor(i / 10, i / 5, 5 + (100 - i) / 2);
+            queuesPot.put(i, executor);
+            String bucket = String.valueOf(i);
+            Gauge.builder("coti.pot.queue.size", executor, potExecutor -> potExecutor.getQueue().size()).tag("bucket", bucket).register(meterRegistry);
+            Gauge.builder("coti.pot.active.threads", executor, PriorityExecutor::getActiveCount).tag("bucket", bucket).register(meterRegistry);
         }
         super.init();
     }
@@ -39,7 +48,7 @@ public class PotService extends BaseNodePotService {
             throw new IllegalArgumentException("Illegal trust score");
         }
         ((PriorityExecutor) queuesPot.get(bucketChoice)).changeCorePoolSize();
-        queuesPot.get(bucketChoice).submit(new ComparableFutureTask(new PotRunnableTask(transactionData, targetDifficulty)));
+        queuesPot.get(bucketChoice).submit(new ComparableFutureTask(new PotRunnableTask(transactionData, targetDifficulty, potWorkerThreads)));
         Instant starts = Instant.now();
         synchronized (transactionData) {
             try {
@@ -49,7 +58,9 @@ public class PotService extends BaseNodePotService {
             }
         }
         Instant ends = Instant.now();
-        monitorStatistics.get(bucketChoice).addTransactionStatistics(Duration.between(starts, ends));
+        Duration potDuration = Duration.between(starts, ends);
+        monitorStatistics.get(bucketChoice).addTransactionStatistics(potDuration);
+        meterRegistry.timer("coti.pot", "bucket", String.valueOf(bucketChoice)).record(potDuration);
     }
 
     public HashMap<String, Integer> executorSizes(int bucketNumber) {
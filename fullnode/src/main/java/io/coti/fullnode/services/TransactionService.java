@@ -111,7 +111,8 @@ public class TransactionService extends BaseNodeTransactionService {
             }
             transactionHelper.startHandleTransaction(transactionData);
 
-            validateTransaction(transactionData);
+            final TransactionData validatedTransactionData = transactionData;
+            meterRegistry.timer(VALIDATION_TIMER_NAME, ORIGIN_TAG, "fullnode").record(() -> validateTransaction(validatedTransactionData));
 
             selectSources(transactionData);
             if (!transactionData.hasSources()) {
@@ -151,8 +152,11 @@ public class TransactionService extends BaseNodeTransactionService {
 
             transactionData.setAttachmentTime(Instant.now());
             transactionCrypto.signMessage(transactionData);
-            transactionHelper.attachTransactionToCluster(transactionData);
-            transactionHelper.setTransactionStateToSaved(transactionData);
+            final TransactionData attachedTransactionData = transactionData;
+            meterRegistry.timer(ATTACH_TIMER_NAME, ORIGIN_TAG, "fullnode").record(() -> {
+                transactionHelper.attachTransactionToCluster(attachedTransactionData);
+                transactionHelper.setTransactionStateToSaved(attachedTransactionData);
+            });
             webSocketSender.notifyTransactionHistoryChange(transactionData, TransactionStatus.ATTACHED_TO_DAG);
             addToExplorerIndexes(transactionData);
             final TransactionData finalTransactionData = transactionData;
@@ -9,47 +9,169 @@ import io.coti.fullnode.websocket.data.TotalTransactionsMessage;
 import io.coti.fullnode.websocket.data.UpdatedBalanceMessage;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Sends the full node websocket notifications. Messages are queued and sent by a single thread once per coalescing window, and a
+ * newer message replaces a queued message with the same key, so a subscriber receives only the latest balance or transaction
+ * status of the window. The queue is bounded: when it is full, the oldest queued message of the lowest priority is evicted for a
+ * new message of the same or higher priority, and a new message of a lower priority than all queued messages is dropped. Global
+ * transactions feed messages are evicted first, then per address transaction history messages, and state messages (balances,
+ * transaction statuses, totals and generated addresses) only when the queue holds nothing else.
+ */
 @Slf4j
 @Component
 public class WebSocketSender {
 
+    private static final String TRANSACTIONS_TOPIC = "/topic/transactions";
+    @Value("${websocket.coalescing.window.millis: 100}")
+    private long coalescingWindowInMillis;
+    @Value("${websocket.max.pending.messages: 10000}")
+    private int maxPendingMessages;
     private SimpMessagingTemplate messagingSender;
+    private final Map<String, PendingMessage> pendingMessages = new LinkedHashMap<>();
+    private final Map<MessagePriority, Set<String>> pendingMessageKeysByPriority = new EnumMap<>(MessagePriority.class);
+    private final Map<MessagePriority, Long> droppedMessages = new EnumMap<>(MessagePriority.class);
+    private ScheduledExecutorService webSocketSenderExecutor;
 
     @Autowired
     public WebSocketSender(SimpMessagingTemplate simpMessagingTemplate) {
         this.messagingSender = simpMessagingTemplate;
+        for (MessagePriority messagePriority : MessagePriority.values()) {
+            pendingMessageKeysByPriority.put(messagePriority, new LinkedHashSet<>());
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        webSocketSenderExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "WebSocket sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        webSocketSenderExecutor.scheduleWithFixedDelay(this::sendPendingMessages, coalescingWindowInMillis, coalescingWindowInMillis, TimeUnit.MILLISECONDS);
     }
 
     public void notifyBalanceChange(Hash addressHash, BigDecimal balance, BigDecimal preBalance) {
         log.trace("Address {} with balance {} and pre balance {} is about to be sent to the subscribed user", addressHash, balance, preBalance);
-        messagingSender.convertAndSend("/topic/" + addressHash.toString(),
-                new UpdatedBalanceMessage(addressHash, balance, preBalance));
+        String topic = "/topic/" + addressHash.toString();
+        queueMessage(topic, topic, new UpdatedBalanceMessage(addressHash, balance, preBalance), MessagePriority.STATE);
     }
 
     public void notifyTransactionHistoryChange(TransactionData transactionData, TransactionStatus transactionStatus) {
         log.debug("Transaction {} is about to be sent to the subscribed user", transactionData.getHash());
         NotifyTransactionChange notifyTransactionChange = new NotifyTransactionChange(transactionData, transactionStatus);
-        transactionData.getBaseTransactions().forEach(baseTransactionData ->
-                messagingSender.convertAndSend("/topic/addressTransactions/" + baseTransactionData.getAddressHash().toString(), notifyTransactionChange)
-        );
-        messagingSender.convertAndSend("/topic/transactions", notifyTransactionChange);
-        messagingSender.convertAndSend("/topic/transaction/" + transactionData.getHash().toString(), notifyTransactionChange);
+        String transactionHash = transactionData.getHash().toString();
+        transactionData.getBaseTransactions().forEach(baseTransactionData -> {
+            String topic = "/topic/addressTransactions/" + baseTransactionData.getAddressHash().toString();
+            queueMessage(topic + "/" + transactionHash, topic, notifyTransactionChange, MessagePriority.HISTORY);
+        });
+        queueMessage(TRANSACTIONS_TOPIC + "/" + transactionHash, TRANSACTIONS_TOPIC, notifyTransactionChange, MessagePriority.FEED);
+        String topic = "/topic/transaction/" + transactionHash;
+        queueMessage(topic, topic, notifyTransactionChange, MessagePriority.STATE);
     }
 
     public void notifyGeneratedAddress(Hash addressHash) {
         log.debug("Address {} is about to be sent to the subscribed user", addressHash);
-        messagingSender.convertAndSend("/topic/address/" + addressHash.toString(),
-                new GeneratedAddressMessage(addressHash));
+        String topic = "/topic/address/" + addressHash.toString();
+        queueMessage(topic, topic, new GeneratedAddressMessage(addressHash), MessagePriority.STATE);
     }
 
     public void notifyTotalTransactionsChange(int totalTransactions) {
         log.debug("Total transactions number {} is about to be sent to the subscribed user", totalTransactions);
-        messagingSender.convertAndSend("/topic/transaction/total",
-                new TotalTransactionsMessage(totalTransactions));
+        String topic = "/topic/transaction/total";
+        queueMessage(topic, topic, new TotalTransactionsMessage(totalTransactions), MessagePriority.STATE);
+    }
+
+    private void queueMessage(String key, String topic, Object message, MessagePriority messagePriority) {
+        synchronized (pendingMessages) {
+            PendingMessage pendingMessage = pendingMessages.get(key);
+            if (pendingMessage != null) {
+                pendingMessage.message = message;
+                return;
+            }
+            if (pendingMessages.size() >= maxPendingMessages && !evictPendingMessage(messagePriority)) {
+                droppedMessages.merge(messagePriority, 1L, Long::sum);
+                return;
+            }
+            pendingMessages.put(key, new PendingMessage(topic, message));
+            pendingMessageKeysByPriority.get(messagePriority).add(key);
+        }
+    }
+
+    private boolean evictPendingMessage(MessagePriority messagePriority) {
+        for (MessagePriority evictedMessagePriority : MessagePriority.values()) {
+            if (evictedMessagePriority.compareTo(messagePriority) > 0) {
+                return false;
+            }
+            Iterator<String> pendingMessageKeyIterator = pendingMessageKeysByPriority.get(evictedMessagePriority).iterator();
+            if (pendingMessageKeyIterator.hasNext()) {
+                pendingMessages.remove(pendingMessageKeyIterator.next());
+                pendingMessageKeyIterator.remove();
+                droppedMessages.merge(evictedMessagePriority, 1L, Long::sum);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void sendPendingMessages() {
+        PendingMessage[] messagesToSend;
+        Map<MessagePriority, Long> droppedMessagesToReport;
+        synchronized (pendingMessages) {
+            if (pendingMessages.isEmpty() && droppedMessages.isEmpty()) {
+                return;
+            }
+            messagesToSend = pendingMessages.values().toArray(new PendingMessage[0]);
+            pendingMessages.clear();
+            pendingMessageKeysByPriority.values().forEach(Set::clear);
+            droppedMessagesToReport = new EnumMap<>(droppedMessages);
+            droppedMessages.clear();
+        }
+        droppedMessagesToReport.forEach((messagePriority, droppedMessagesNumber) ->
+                log.warn("{} websocket {} messages were dropped since the websocket queue is full", droppedMessagesNumber, messagePriority.name().toLowerCase()));
+        for (PendingMessage pendingMessage : messagesToSend) {
+            try {
+                messagingSender.convertAndSend(pendingMessage.topic, pendingMessage.message);
+            } catch (Exception e) {
+                log.error("Error at sending websocket message to {}: {}", pendingMessage.topic, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("Shutting down {}", this.getClass().getSimpleName());
+        if (webSocketSenderExecutor != null) {
+            webSocketSenderExecutor.shutdownNow();
+        }
+        sendPendingMessages();
+    }
+
+    private enum MessagePriority {
+        FEED,
+        HISTORY,
+        STATE
+    }
+
+    private static class PendingMessage {
+
+        private final String topic;
+        private Object message;
+
+        private PendingMessage(String topic, Object message) {
+            this.topic = topic;
+            this.message = message;
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package io.coti.fullnode.services;
 
+import io.coti.basenode.config.MetricsConfig;
 import io.coti.basenode.crypto.CryptoHelper;
 import io.coti.basenode.crypto.GetHistoryAddressesRequestCrypto;
 import io.coti.basenode.crypto.GetHistoryAddressesResponseCrypto;
@@ -33,7 +34,7 @@ import static org.mockito.Mockito.when;
 
 @ContextConfiguration(classes = {AddressService.class, IDatabaseConnector.class,
         HttpJacksonSerializer.class, GetHistoryAddressesRequestCrypto.class, CryptoHelper.class, NodeCryptoHelper.class,
-        GetHistoryAddressesResponseCrypto.class, IDatabaseConnector.class, RocksDBConnector.class,
+        GetHistoryAddressesResponseCrypto.class, IDatabaseConnector.class, RocksDBConnector.class, MetricsConfig.class,
         /*IPropagationPublisher.class, ZeroMQPropagationPublisher.class, ISerializer.class, JacksonSerializer.class, CommunicationService.class,
         IReceiver.class*/})
 @TestPropertySource(locations = "classpath:test.properties")
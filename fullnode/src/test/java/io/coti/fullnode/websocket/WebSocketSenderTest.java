@@ -0,0 +1,97 @@
+package io.coti.fullnode.websocket;
+
+import io.coti.basenode.data.BaseTransactionData;
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.http.data.TransactionStatus;
+import io.coti.fullnode.websocket.data.NotifyTransactionChange;
+import io.coti.fullnode.websocket.data.TotalTransactionsMessage;
+import io.coti.fullnode.websocket.data.UpdatedBalanceMessage;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import utils.HashTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+
+public class WebSocketSenderTest {
+
+    private SimpMessagingTemplate messagingSender;
+    private WebSocketSender webSocketSender;
+
+    @Before
+    public void setUp() {
+        messagingSender = Mockito.mock(SimpMessagingTemplate.class);
+        webSocketSender = new WebSocketSender(messagingSender);
+        ReflectionTestUtils.setField(webSocketSender, "maxPendingMessages", 2);
+    }
+
+    @Test
+    public void notifyBalanceChange_sameAddress_latestBalanceSentOnce() {
+        Hash addressHash = HashTestUtils.generateRandomAddressHash();
+
+        webSocketSender.notifyBalanceChange(addressHash, BigDecimal.ONE, BigDecimal.ONE);
+        webSocketSender.notifyBalanceChange(addressHash, BigDecimal.TEN, BigDecimal.ONE);
+        webSocketSender.notifyTotalTransactionsChange(5);
+        webSocketSender.shutdown();
+
+        ArgumentCaptor<Object> messageCaptor = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(messagingSender).convertAndSend(ArgumentMatchers.eq("/topic/" + addressHash.toString()), messageCaptor.capture());
+        Assert.assertEquals(BigDecimal.TEN, ((UpdatedBalanceMessage) messageCaptor.getValue()).getBalance());
+        Mockito.verify(messagingSender).convertAndSend(ArgumentMatchers.eq("/topic/transaction/total"), ArgumentMatchers.any(TotalTransactionsMessage.class));
+        Mockito.verifyNoMoreInteractions(messagingSender);
+    }
+
+    @Test
+    public void notifyTransactionHistoryChange_fullQueue_transactionsTopicDropped() {
+        TransactionData transactionData = Mockito.mock(TransactionData.class);
+        Hash transactionHash = HashTestUtils.generateRandomHash();
+        Mockito.when(transactionData.getHash()).thenReturn(transactionHash);
+        Mockito.when(transactionData.getBaseTransactions()).thenReturn(new ArrayList<>());
+        webSocketSender.notifyBalanceChange(HashTestUtils.generateRandomAddressHash(), BigDecimal.ONE, BigDecimal.ONE);
+        webSocketSender.notifyTotalTransactionsChange(5);
+
+        webSocketSender.notifyTransactionHistoryChange(transactionData, TransactionStatus.ATTACHED_TO_DAG);
+        webSocketSender.notifyTransactionHistoryChange(transactionData, TransactionStatus.CONFIRMED);
+        webSocketSender.shutdown();
+
+        ArgumentCaptor<Object> messageCaptor = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(messagingSender).convertAndSend(ArgumentMatchers.eq("/topic/transaction/" + transactionHash.toString()), messageCaptor.capture());
+        Assert.assertEquals(TransactionStatus.CONFIRMED, ((NotifyTransactionChange) messageCaptor.getValue()).getStatus());
+        Mockito.verify(messagingSender, Mockito.never()).convertAndSend(ArgumentMatchers.eq("/topic/transactions"), ArgumentMatchers.any(Object.class));
+    }
+
+    @Test
+    public void notifyBalanceChange_queueFullOfHistoryMessages_oldestHistoryMessageEvicted() {
+        Hash firstAddressHash = HashTestUtils.generateRandomAddressHash();
+        Hash secondAddressHash = HashTestUtils.generateRandomAddressHash();
+        Hash balanceAddressHash = HashTestUtils.generateRandomAddressHash();
+        ReflectionTestUtils.setField(webSocketSender, "maxPendingMessages", 4);
+        webSocketSender.notifyTransactionHistoryChange(generateTransactionData(firstAddressHash), TransactionStatus.ATTACHED_TO_DAG);
+        webSocketSender.notifyTransactionHistoryChange(generateTransactionData(secondAddressHash), TransactionStatus.ATTACHED_TO_DAG);
+
+        webSocketSender.notifyBalanceChange(balanceAddressHash, BigDecimal.ONE, BigDecimal.ONE);
+        webSocketSender.shutdown();
+
+        Mockito.verify(messagingSender, Mockito.never()).convertAndSend(ArgumentMatchers.eq("/topic/addressTransactions/" + firstAddressHash.toString()), ArgumentMatchers.any(Object.class));
+        Mockito.verify(messagingSender).convertAndSend(ArgumentMatchers.eq("/topic/addressTransactions/" + secondAddressHash.toString()), ArgumentMatchers.any(NotifyTransactionChange.class));
+        Mockito.verify(messagingSender).convertAndSend(ArgumentMatchers.eq("/topic/" + balanceAddressHash.toString()), ArgumentMatchers.any(UpdatedBalanceMessage.class));
+        Mockito.verify(messagingSender, Mockito.times(2)).convertAndSend(ArgumentMatchers.startsWith("/topic/transaction/"), ArgumentMatchers.any(NotifyTransactionChange.class));
+    }
+
+    private TransactionData generateTransactionData(Hash addressHash) {
+        BaseTransactionData baseTransactionData = Mockito.mock(BaseTransactionData.class);
+        Mockito.when(baseTransactionData.getAddressHash()).thenReturn(addressHash);
+        TransactionData transactionData = Mockito.mock(TransactionData.class);
+        Mockito.when(transactionData.getHash()).thenReturn(HashTestUtils.generateRandomHash());
+        Mockito.when(transactionData.getBaseTransactions()).thenReturn(Collections.singletonList(baseTransactionData));
+        return transactionData;
+    }
+}
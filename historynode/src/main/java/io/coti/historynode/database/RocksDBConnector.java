@@ -1,9 +1,10 @@
 package io.coti.historynode.database;
 
 import io.coti.basenode.database.BaseNodeRocksDBConnector;
+import io.coti.basenode.database.ColumnFamilyProfile;
 import io.coti.basenode.model.RequestedAddressHashes;
-import io.coti.historynode.model.AddressTransactionsByAddresses;
-import io.coti.historynode.model.AddressTransactionsByDates;
+import io.coti.historynode.model.AddressTransactionIndexes;
+import io.coti.historynode.model.DateTransactionIndexes;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
 
@@ -17,9 +18,16 @@ public class RocksDBConnector extends BaseNodeRocksDBConnector {
     public void setColumnFamily() {
         super.setColumnFamily();
         columnFamilyClassNames.addAll(Arrays.asList(
-                AddressTransactionsByAddresses.class.getName(),
-                AddressTransactionsByDates.class.getName(),
+                AddressTransactionIndexes.class.getName(),
+                DateTransactionIndexes.class.getName(),
                 RequestedAddressHashes.class.getName()
         ));
     }
+
+    @Override
+    protected void setColumnFamilyProfiles() {
+        super.setColumnFamilyProfiles();
+        columnFamilyProfiles.put(AddressTransactionIndexes.class.getName(), ColumnFamilyProfile.SCAN_HISTORY);
+        columnFamilyProfiles.put(DateTransactionIndexes.class.getName(), ColumnFamilyProfile.SCAN_HISTORY);
+    }
 }
@@ -0,0 +1,52 @@
+package io.coti.historynode.model;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.database.DatabaseWriteBatch;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Transaction hashes by address and attachment date. A key is the address length, the address, the date and the transaction hash.
+ */
+@Service
+public class AddressTransactionIndexes extends TransactionHashIndexes {
+
+    public void put(DatabaseWriteBatch databaseWriteBatch, Hash addressHash, LocalDate date, Hash transactionHash) {
+        byte[] transactionHashBytes = transactionHash.getBytes();
+        ByteBuffer key = ByteBuffer.allocate(getAddressPrefixLength(addressHash) + DATE_KEY_LENGTH + transactionHashBytes.length);
+        putAddress(key, addressHash);
+        putDate(key, date);
+        put(databaseWriteBatch, key.put(transactionHashBytes).array());
+    }
+
+    public List<Hash> getTransactionHashes(Hash addressHash, LocalDate startDate, LocalDate endDate) {
+        ByteBuffer prefix = ByteBuffer.allocate(getAddressPrefixLength(addressHash));
+        putAddress(prefix, addressHash);
+        byte[] seekKey = startDate != null ? getAddressDatePrefix(prefix.array(), startDate) : prefix.array();
+        byte[] lastKeyPrefix = endDate != null ? getAddressDatePrefix(prefix.array(), endDate) : null;
+        return getTransactionHashes(prefix.array(), seekKey, lastKeyPrefix);
+    }
+
+    @Override
+    protected int getTransactionHashOffset() {
+        return DATE_KEY_LENGTH;
+    }
+
+    private int getAddressPrefixLength(Hash addressHash) {
+        return 1 + addressHash.getBytes().length;
+    }
+
+    private void putAddress(ByteBuffer key, Hash addressHash) {
+        byte[] addressBytes = addressHash.getBytes();
+        key.put((byte) addressBytes.length).put(addressBytes);
+    }
+
+    private byte[] getAddressDatePrefix(byte[] addressPrefix, LocalDate date) {
+        ByteBuffer key = ByteBuffer.allocate(addressPrefix.length + DATE_KEY_LENGTH).put(addressPrefix);
+        putDate(key, date);
+        return key.array();
+    }
+}
@@ -1,10 +0,0 @@
-package io.coti.historynode.model;
-
-import io.coti.basenode.model.Collection;
-import io.coti.historynode.data.AddressTransactionsByAddress;
-import org.springframework.stereotype.Service;
-
-@Service
-public class AddressTransactionsByAddresses extends Collection<AddressTransactionsByAddress> {
-
-}
@@ -1,10 +0,0 @@
-package io.coti.historynode.model;
-
-import io.coti.basenode.model.Collection;
-import io.coti.historynode.data.AddressTransactionsByDate;
-import org.springframework.stereotype.Service;
-
-@Service
-public class AddressTransactionsByDates extends Collection<AddressTransactionsByDate> {
-
-}
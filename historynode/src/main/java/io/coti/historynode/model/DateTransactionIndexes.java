@@ -0,0 +1,34 @@
+package io.coti.historynode.model;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.database.DatabaseWriteBatch;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Transaction hashes by attachment date. A key is the date and the transaction hash.
+ */
+@Service
+public class DateTransactionIndexes extends TransactionHashIndexes {
+
+    public void put(DatabaseWriteBatch databaseWriteBatch, LocalDate date, Hash transactionHash) {
+        byte[] transactionHashBytes = transactionHash.getBytes();
+        ByteBuffer key = ByteBuffer.allocate(DATE_KEY_LENGTH + transactionHashBytes.length);
+        putDate(key, date);
+        put(databaseWriteBatch, key.put(transactionHashBytes).array());
+    }
+
+    public List<Hash> getTransactionHashes(LocalDate date) {
+        ByteBuffer prefix = ByteBuffer.allocate(DATE_KEY_LENGTH);
+        putDate(prefix, date);
+        return getTransactionHashes(prefix.array(), prefix.array(), null);
+    }
+
+    @Override
+    protected int getTransactionHashOffset() {
+        return 0;
+    }
+}
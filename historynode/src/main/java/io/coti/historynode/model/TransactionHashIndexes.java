@@ -0,0 +1,90 @@
+package io.coti.historynode.model;
+
+import com.google.common.primitives.UnsignedBytes;
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.database.DatabaseWriteBatch;
+import io.coti.basenode.database.interfaces.IDatabaseConnector;
+import org.rocksdb.RocksIterator;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A column family of composite keys that end with a transaction hash. The values are empty, so adding a transaction to an index
+ * is a single put, and reading an index is an ordered iteration over a key range. Unlike a {@link io.coti.basenode.model.Collection},
+ * an index holds no entities, so it is not keyed by entity hash and has no codec or cache.
+ */
+public abstract class TransactionHashIndexes {
+
+    protected static final int DATE_KEY_LENGTH = Long.BYTES;
+    private static final byte[] EMPTY_VALUE = new byte[0];
+    private static final Comparator<byte[]> KEY_COMPARATOR = UnsignedBytes.lexicographicalComparator();
+    @Autowired
+    private IDatabaseConnector databaseConnector;
+    private final String columnFamilyName = getClass().getName();
+
+    public boolean isEmpty() {
+        RocksIterator iterator = databaseConnector.getIterator(columnFamilyName);
+        try {
+            iterator.seekToFirst();
+            return !iterator.isValid();
+        } finally {
+            iterator.close();
+        }
+    }
+
+    protected void put(DatabaseWriteBatch databaseWriteBatch, byte[] key) {
+        databaseWriteBatch.put(columnFamilyName, key, EMPTY_VALUE);
+    }
+
+    /**
+     * Iterates from the seek key over the keys that start with the prefix, and stops at the first key whose leading bytes are
+     * after the last key prefix, when one is given.
+     */
+    protected List<Hash> getTransactionHashes(byte[] prefix, byte[] seekKey, byte[] lastKeyPrefix) {
+        List<Hash> transactionHashes = new ArrayList<>();
+        RocksIterator iterator = databaseConnector.getIterator(columnFamilyName);
+        try {
+            for (iterator.seek(seekKey); iterator.isValid(); iterator.next()) {
+                byte[] key = iterator.key();
+                if (!startsWith(key, prefix) || (lastKeyPrefix != null && isAfterKeyPrefix(key, lastKeyPrefix))) {
+                    break;
+                }
+                transactionHashes.add(new Hash(Arrays.copyOfRange(key, prefix.length + getTransactionHashOffset(), key.length)));
+            }
+        } finally {
+            iterator.close();
+        }
+        return transactionHashes;
+    }
+
+    /**
+     * @return the number of key bytes between the iterated prefix and the transaction hash
+     */
+    protected abstract int getTransactionHashOffset();
+
+    protected static void putDate(ByteBuffer key, LocalDate date) {
+        key.putLong(date.toEpochDay() ^ Long.MIN_VALUE);
+    }
+
+    private static boolean startsWith(byte[] key, byte[] prefix) {
+        if (key.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (key[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAfterKeyPrefix(byte[] key, byte[] keyPrefix) {
+        return KEY_COMPARATOR.compare(Arrays.copyOf(key, Math.min(key.length, keyPrefix.length)), keyPrefix) > 0;
+    }
+}
@@ -18,8 +18,6 @@ import java.util.function.Consumer;
 @Slf4j
 public class ChunkService extends BaseNodeChunkService {
 
-    private static final int MAXIMUM_BUFFER_SIZE = 50000;
-
     public void transactionHandler(Consumer<ResponseExtractor> extractorConsumer, PrintWriter output) {
         try {
             AtomicBoolean firstTransactionArrived = new AtomicBoolean(false);
@@ -43,7 +41,7 @@ public class ChunkService extends BaseNodeChunkService {
                 } catch (Exception e) {
                     throw new ChunkException(e.getMessage());
                 }
-            }, MAXIMUM_BUFFER_SIZE));
+            }));
         } catch (Exception e) {
             log.error("{}: {}", e.getClass().getName(), e.getMessage());
         }
@@ -1,18 +1,18 @@
 package io.coti.historynode.services;
 
-import io.coti.basenode.crypto.CryptoHelper;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.database.DatabaseWriteBatch;
+import io.coti.basenode.database.interfaces.IDatabaseConnector;
+import io.coti.basenode.exceptions.DataBaseException;
 import io.coti.basenode.http.*;
 import io.coti.basenode.model.Transactions;
 import io.coti.basenode.services.BaseNodeTransactionService;
 import io.coti.historynode.crypto.GetTransactionsByAddressRequestCrypto;
-import io.coti.historynode.data.AddressTransactionsByAddress;
-import io.coti.historynode.data.AddressTransactionsByDate;
 import io.coti.historynode.http.GetTransactionsByAddressRequest;
 import io.coti.historynode.http.GetTransactionsByDateRequest;
-import io.coti.historynode.model.AddressTransactionsByAddresses;
-import io.coti.historynode.model.AddressTransactionsByDates;
+import io.coti.historynode.model.AddressTransactionIndexes;
+import io.coti.historynode.model.DateTransactionIndexes;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -29,10 +29,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static io.coti.basenode.http.BaseNodeHttpStringConstants.INVALID_SIGNATURE;
 import static io.coti.basenode.http.BaseNodeHttpStringConstants.STATUS_ERROR;
@@ -50,9 +48,11 @@ public class TransactionService extends BaseNodeTransactionService {
     @Autowired
     private StorageConnector storageConnector;
     @Autowired
-    private AddressTransactionsByAddresses addressTransactionsByAddresses;
+    private AddressTransactionIndexes addressTransactionIndexes;
     @Autowired
-    private AddressTransactionsByDates addressTransactionsByDates;
+    private DateTransactionIndexes dateTransactionIndexes;
+    @Autowired
+    private IDatabaseConnector databaseConnector;
     @Autowired
     private GetTransactionsByAddressRequestCrypto getTransactionsByAddressRequestCrypto;
     @Autowired
@@ -60,6 +60,15 @@ public class TransactionService extends BaseNodeTransactionService {
     @Autowired
     private HttpJacksonSerializer jacksonSerializer;
 
+    @Override
+    public void init() {
+        if (dateTransactionIndexes.isEmpty() && !transactions.isEmpty()) {
+            log.info("Building history transaction indexes from stored transactions");
+            transactions.forEach(this::addToHistoryTransactionIndexes);
+        }
+        super.init();
+    }
+
     @Override
     protected void continueHandlePropagatedTransaction(TransactionData transactionData) {
         log.debug("Continue to handle propagated transaction {} by history node", transactionData.getHash());
@@ -147,65 +156,30 @@ public class TransactionService extends BaseNodeTransactionService {
         if (date == null) {
             return new ArrayList<>();
         }
-        AddressTransactionsByDate addressTransactionsByDate = addressTransactionsByDates.getByHash(calculateHashByLocalDate(date));
-        if (addressTransactionsByDate == null || addressTransactionsByDate.getTransactionHashes() == null || addressTransactionsByDate.getTransactionHashes().isEmpty()) {
-            return new ArrayList<>();
-        }
-        return addressTransactionsByDate.getTransactionHashes().stream().collect(Collectors.toList());
+        return dateTransactionIndexes.getTransactionHashes(date);
     }
 
     private List<Hash> getTransactionHashesByAddressAndDates(Hash address, LocalDate startDate, LocalDate endDate) {
-        List<Hash> transactionHashes = new ArrayList<>();
-        AddressTransactionsByAddress addressTransactionsByAddress = addressTransactionsByAddresses.getByHash(address);
-        if (addressTransactionsByAddress == null) {
-            return transactionHashes;
-        }
-
-        startDate = (startDate != null) ? startDate : addressTransactionsByAddress.getStartDate();
         endDate = (endDate != null) ? endDate : calculateInstantLocalDate(Instant.now());
-
-        HashMap<LocalDate, HashSet<Hash>> transactionHashesByDates = addressTransactionsByAddress.getTransactionHashesByDates();
-        while (!startDate.isAfter(endDate)) {
-            HashSet<Hash> hashesOfDate = transactionHashesByDates.get(startDate);
-            if (hashesOfDate != null) {
-                hashesOfDate.forEach(transactionHashes::add);
-            }
-            startDate = startDate.plusDays(1);
+        if (startDate != null && startDate.isAfter(endDate)) {
+            return new ArrayList<>();
         }
-        return transactionHashes;
+        return addressTransactionIndexes.getTransactionHashes(address, startDate, endDate);
     }
 
 
     public void addToHistoryTransactionIndexes(TransactionData transactionData) {
-        Instant attachmentTime = transactionData.getAttachmentTime();
-        LocalDate attachmentLocalDate = calculateInstantLocalDate(attachmentTime);
-        Hash hashByDate = calculateHashByLocalDate(attachmentLocalDate);
-        HashSet<Hash> relatedAddressHashes = getRelatedAddresses(transactionData);
-
-        AddressTransactionsByDate transactionsByDateHash = addressTransactionsByDates.getByHash(hashByDate);
-        if (transactionsByDateHash == null) {
-            transactionsByDateHash = new AddressTransactionsByDate(attachmentTime, new HashSet<>());
-        }
-        transactionsByDateHash.getTransactionHashes().add(transactionData.getHash());
-        addressTransactionsByDates.put(transactionsByDateHash);
-
-        relatedAddressHashes.forEach(transactionAddressHash -> {
-            AddressTransactionsByAddress transactionsByAddress = addressTransactionsByAddresses.getByHash(transactionAddressHash);
-            if (transactionsByAddress == null) {
-                transactionsByAddress = new AddressTransactionsByAddress(transactionAddressHash, new HashMap<>(), attachmentLocalDate);
-            }
-            if (transactionsByAddress.getStartDate().isAfter(attachmentLocalDate)) {
-                transactionsByAddress.setStartDate(attachmentLocalDate);
+        LocalDate attachmentLocalDate = calculateInstantLocalDate(transactionData.getAttachmentTime());
+        Hash transactionHash = transactionData.getHash();
+
+        try (DatabaseWriteBatch databaseWriteBatch = databaseConnector.createWriteBatch()) {
+            dateTransactionIndexes.put(databaseWriteBatch, attachmentLocalDate, transactionHash);
+            getRelatedAddresses(transactionData).forEach(transactionAddressHash ->
+                    addressTransactionIndexes.put(databaseWriteBatch, transactionAddressHash, attachmentLocalDate, transactionHash));
+            if (!databaseWriteBatch.commit()) {
+                throw new DataBaseException(String.format("Error at adding transaction %s to the history indexes", transactionHash));
             }
-
-            HashSet<Hash> transactionsHashesByDate = transactionsByAddress.getTransactionHashesByDates().get(attachmentLocalDate);
-            if (transactionsHashesByDate == null) {
-                transactionsHashesByDate = new HashSet<>();
-                transactionsByAddress.getTransactionHashesByDates().put(attachmentLocalDate, transactionsHashesByDate);
-            }
-            transactionsHashesByDate.add(transactionData.getHash());
-            addressTransactionsByAddresses.put(transactionsByAddress);
-        });
+        }
     }
 
     private HashSet<Hash> getRelatedAddresses(TransactionData transactionData) {
@@ -214,20 +188,11 @@ public class TransactionService extends BaseNodeTransactionService {
         return hashes;
     }
 
-    protected Hash calculateHashByTime(Instant date) {
-        LocalDate localDate = calculateInstantLocalDate(date);
-        return calculateHashByLocalDate(localDate);
-    }
-
     public LocalDate calculateInstantLocalDate(Instant date) {
         LocalDateTime ldt = LocalDateTime.ofInstant(date, ZoneOffset.UTC);
         return LocalDate.of(ldt.getYear(), ldt.getMonth(), ldt.getDayOfMonth());
     }
 
-    private Hash calculateHashByLocalDate(LocalDate localDate) {
-        return CryptoHelper.cryptoHash(localDate.toString().getBytes());
-    }
-
     protected ResponseEntity<AddHistoryEntitiesResponse> storeEntitiesByType(String url, AddEntitiesBulkRequest addEntitiesBulkRequest) {
         return storageConnector.storeInStorage(url, addEntitiesBulkRequest, AddHistoryEntitiesResponse.class);
     }
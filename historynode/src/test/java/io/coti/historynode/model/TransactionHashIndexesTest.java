@@ -0,0 +1,94 @@
+package io.coti.historynode.model;
+
+import io.coti.basenode.config.MetricsConfig;
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.database.DatabaseWriteBatch;
+import io.coti.basenode.database.interfaces.IDatabaseConnector;
+import io.coti.basenode.model.*;
+import io.coti.historynode.database.RocksDBConnector;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static utils.TransactionTestUtils.generateRandomAddressHash;
+import static utils.TransactionTestUtils.generateRandomHash;
+
+@ContextConfiguration(classes = {RocksDBConnector.class, MetricsConfig.class,
+        Transactions.class, Addresses.class, AddressTransactionsHistories.class, TransactionIndexes.class, TransactionVotes.class,
+        NodeRegistrations.class, RequestedAddressHashes.class, AddressTransactionIndexes.class, DateTransactionIndexes.class
+})
+@TestPropertySource(properties = {"application.name=target/TransactionHashIndexesTest", "database.folder.name=DB",
+        "db.drop.column.families=false", "reset.transactions=false", "db.block.cache.size.mb=8", "db.write.buffer.size.mb=4",
+        "db.bloom.filter.bits.per.key=10", "db.compression.type=NO_COMPRESSION", "db.column.family.profiles="})
+@RunWith(SpringRunner.class)
+public class TransactionHashIndexesTest {
+
+    private static final String DB_PATH = "target/TransactionHashIndexesTestDB";
+
+    @Autowired
+    private IDatabaseConnector databaseConnector;
+    @Autowired
+    private AddressTransactionIndexes addressTransactionIndexes;
+    @Autowired
+    private DateTransactionIndexes dateTransactionIndexes;
+
+    @Before
+    public void setUp() {
+        FileSystemUtils.deleteRecursively(new File(DB_PATH));
+        databaseConnector.init();
+    }
+
+    @After
+    public void tearDown() {
+        databaseConnector.shutdown();
+    }
+
+    @Test
+    public void getTransactionHashes_addressAndDateRange() {
+        Hash addressHash = generateRandomAddressHash();
+        Hash otherAddressHash = generateRandomAddressHash();
+        LocalDate date = LocalDate.of(2019, 3, 10);
+        Hash firstTransactionHash = generateRandomHash();
+        Hash secondTransactionHash = generateRandomHash();
+        Hash thirdTransactionHash = generateRandomHash();
+        try (DatabaseWriteBatch databaseWriteBatch = databaseConnector.createWriteBatch()) {
+            addressTransactionIndexes.put(databaseWriteBatch, addressHash, date.minusDays(1), firstTransactionHash);
+            addressTransactionIndexes.put(databaseWriteBatch, addressHash, date, secondTransactionHash);
+            addressTransactionIndexes.put(databaseWriteBatch, addressHash, date.plusDays(1), thirdTransactionHash);
+            addressTransactionIndexes.put(databaseWriteBatch, otherAddressHash, date, generateRandomHash());
+            Assert.assertTrue(databaseWriteBatch.commit());
+        }
+
+        Assert.assertEquals(Collections.singletonList(secondTransactionHash), addressTransactionIndexes.getTransactionHashes(addressHash, date, date));
+        Assert.assertEquals(Arrays.asList(firstTransactionHash, secondTransactionHash), addressTransactionIndexes.getTransactionHashes(addressHash, null, date));
+        Assert.assertEquals(Arrays.asList(secondTransactionHash, thirdTransactionHash), addressTransactionIndexes.getTransactionHashes(addressHash, date, null));
+        Assert.assertTrue(addressTransactionIndexes.getTransactionHashes(addressHash, date.plusDays(2), null).isEmpty());
+        Assert.assertTrue(addressTransactionIndexes.getTransactionHashes(generateRandomAddressHash(), null, null).isEmpty());
+    }
+
+    @Test
+    public void getTransactionHashes_date() {
+        LocalDate date = LocalDate.of(1960, 1, 1);
+        Hash transactionHash = generateRandomHash();
+        try (DatabaseWriteBatch databaseWriteBatch = databaseConnector.createWriteBatch()) {
+            dateTransactionIndexes.put(databaseWriteBatch, date, transactionHash);
+            dateTransactionIndexes.put(databaseWriteBatch, date.plusDays(1), generateRandomHash());
+            Assert.assertTrue(databaseWriteBatch.commit());
+        }
+
+        Assert.assertEquals(Collections.singletonList(transactionHash), dateTransactionIndexes.getTransactionHashes(date));
+        Assert.assertTrue(dateTransactionIndexes.getTransactionHashes(date.minusDays(1)).isEmpty());
+    }
+}
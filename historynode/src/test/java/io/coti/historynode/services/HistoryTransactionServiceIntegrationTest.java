@@ -2,6 +2,7 @@ package io.coti.historynode.services;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import io.coti.basenode.communication.JacksonSerializer;
+import io.coti.basenode.config.MetricsConfig;
 import io.coti.basenode.crypto.*;
 import io.coti.basenode.data.*;
 import io.coti.basenode.database.BaseNodeRocksDBConnector;
@@ -16,13 +17,11 @@ import io.coti.basenode.services.*;
 import io.coti.basenode.services.interfaces.*;
 import io.coti.basenode.services.liveview.LiveViewService;
 import io.coti.historynode.crypto.GetTransactionsByAddressRequestCrypto;
-import io.coti.historynode.data.AddressTransactionsByAddress;
-import io.coti.historynode.data.AddressTransactionsByDate;
 import io.coti.historynode.database.RocksDBConnector;
 import io.coti.historynode.http.GetTransactionsByAddressRequest;
 import io.coti.historynode.http.GetTransactionsByDateRequest;
-import io.coti.historynode.model.AddressTransactionsByAddresses;
-import io.coti.historynode.model.AddressTransactionsByDates;
+import io.coti.historynode.model.AddressTransactionIndexes;
+import io.coti.historynode.model.DateTransactionIndexes;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.runner.RunWith;
@@ -58,8 +57,8 @@ import static utils.TransactionTestUtils.generateRandomHash;
 
 
 @ContextConfiguration(classes = {TransactionService.class,
-        Transactions.class, RocksDBConnector.class,
-        AddressTransactionsByDates.class, AddressTransactionsByAddresses.class,
+        Transactions.class, RocksDBConnector.class, MetricsConfig.class,
+        DateTransactionIndexes.class, AddressTransactionIndexes.class,
         IDatabaseConnector.class, BaseNodeRocksDBConnector.class, TransactionService.class,
         GetTransactionsByAddressRequestCrypto.class, TransactionHelper.class, StorageConnector.class,
         AddressTransactionsHistories.class, TransactionCrypto.class, NodeCryptoHelper.class, BaseNodeBalanceService.class,
@@ -91,9 +90,9 @@ public class HistoryTransactionServiceIntegrationTest {
     @Autowired
     private StorageConnector storageConnector;
     @Autowired
-    private AddressTransactionsByDates addressTransactionsByDates;
+    private DateTransactionIndexes dateTransactionIndexes;
     @Autowired
-    private AddressTransactionsByAddresses addressTransactionsByAddresses;
+    private AddressTransactionIndexes addressTransactionIndexes;
     @Autowired
     public IDatabaseConnector databaseConnector;
     @Autowired
@@ -168,17 +167,11 @@ public class HistoryTransactionServiceIntegrationTest {
 
         transactionService.addToHistoryTransactionIndexes(transactionData);
 
-        Hash hashByDate = transactionService.calculateHashByTime(attachmentTime);
-        AddressTransactionsByDate transactionHashesByDateAddress = addressTransactionsByDates.getByHash(hashByDate);
-        Assert.assertTrue(transactionHashesByDateAddress.getTransactionHashes().contains(transactionData.getHash()));
-
         LocalDate attachmentLocalDate = transactionService.calculateInstantLocalDate(attachmentTime);
-        AddressTransactionsByAddress transactionHashesBySenderAddress =
-                addressTransactionsByAddresses.getByHash(inputBaseTransactionAddressHash);
-        Assert.assertTrue(transactionHashesBySenderAddress.getTransactionHashesByDates().get(attachmentLocalDate).contains(transactionHash));
-        AddressTransactionsByAddress transactionHashesByReceiverAddress =
-                addressTransactionsByAddresses.getByHash(receiverBaseTransactionAddressHash);
-        Assert.assertTrue(transactionHashesByReceiverAddress.getTransactionHashesByDates().get(attachmentLocalDate).contains(transactionHash));
+        Assert.assertTrue(dateTransactionIndexes.getTransactionHashes(attachmentLocalDate).contains(transactionHash));
+
+        Assert.assertTrue(addressTransactionIndexes.getTransactionHashes(inputBaseTransactionAddressHash, attachmentLocalDate, attachmentLocalDate).contains(transactionHash));
+        Assert.assertTrue(addressTransactionIndexes.getTransactionHashes(receiverBaseTransactionAddressHash, attachmentLocalDate, attachmentLocalDate).contains(transactionHash));
     }
 
     //            @Test
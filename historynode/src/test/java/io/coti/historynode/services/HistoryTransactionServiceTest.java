@@ -1,13 +1,15 @@
 package io.coti.historynode.services;
 
 import io.coti.basenode.communication.JacksonSerializer;
+import io.coti.basenode.config.MetricsConfig;
 import io.coti.basenode.crypto.ExpandedTransactionTrustScoreCrypto;
 import io.coti.basenode.crypto.NodeCryptoHelper;
 import io.coti.basenode.crypto.TransactionCrypto;
 import io.coti.basenode.crypto.TransactionSenderCrypto;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.TransactionData;
-import io.coti.basenode.database.BaseNodeRocksDBConnector;
+import io.coti.basenode.database.DatabaseWriteBatch;
+import io.coti.basenode.database.WritePolicy;
 import io.coti.basenode.database.interfaces.IDatabaseConnector;
 import io.coti.basenode.http.HttpJacksonSerializer;
 import io.coti.basenode.model.AddressTransactionsHistories;
@@ -16,18 +18,19 @@ import io.coti.basenode.model.Transactions;
 import io.coti.basenode.services.*;
 import io.coti.basenode.services.interfaces.IBalanceService;
 import io.coti.basenode.services.interfaces.ITransactionHelper;
+import io.coti.basenode.services.interfaces.ITransactionPropagationCheckService;
 import io.coti.basenode.services.liveview.LiveViewService;
 import io.coti.historynode.crypto.GetTransactionsByAddressRequestCrypto;
-import io.coti.historynode.data.AddressTransactionsByAddress;
-import io.coti.historynode.data.AddressTransactionsByDate;
 import io.coti.historynode.http.GetTransactionsByAddressRequest;
 import io.coti.historynode.http.GetTransactionsByDateRequest;
-import io.coti.historynode.model.AddressTransactionsByAddresses;
-import io.coti.historynode.model.AddressTransactionsByDates;
+import io.coti.historynode.model.AddressTransactionIndexes;
+import io.coti.historynode.model.DateTransactionIndexes;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.rocksdb.RocksDB;
+import org.rocksdb.WriteBatch;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -45,20 +48,22 @@ import java.io.UnsupportedEncodingException;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 import static utils.TransactionTestUtils.generateRandomAddressHash;
 import static utils.TransactionTestUtils.generateRandomHash;
 
 @ContextConfiguration(classes = {TransactionService.class,
         Transactions.class,
-        AddressTransactionsByDates.class, AddressTransactionsByAddresses.class,
-        IDatabaseConnector.class, BaseNodeRocksDBConnector.class, TransactionService.class,
+        DateTransactionIndexes.class, AddressTransactionIndexes.class,
+        MetricsConfig.class,
         GetTransactionsByAddressRequestCrypto.class, TransactionHelper.class, StorageConnector.class,
         AddressTransactionsHistories.class, TransactionCrypto.class, NodeCryptoHelper.class, BaseNodeBalanceService.class,
         BaseNodeConfirmationService.class, LiveViewService.class, TransactionIndexService.class, TransactionIndexes.class,
@@ -109,16 +114,56 @@ public class HistoryTransactionServiceTest {
     @MockBean
     private Transactions transactions;
     @MockBean
-    private AddressTransactionsByDates addressTransactionsByDates;
+    private DateTransactionIndexes dateTransactionIndexes;
     @MockBean
-    private AddressTransactionsByAddresses addressTransactionsByAddresses;
+    private AddressTransactionIndexes addressTransactionIndexes;
     @MockBean
     private BaseNodeDspVoteService baseNodeDspVoteService;
     @MockBean
     private SimpMessagingTemplate messagingSender;
+    @MockBean
+    private ITransactionPropagationCheckService transactionPropagationCheckService;
+    @MockBean
+    private PostponedTransactionService postponedTransactionService;
+    @MockBean
+    private IDatabaseConnector databaseConnector;
 
     @Before
     public void init() {
+        RocksDB.loadLibrary();
+        when(databaseConnector.createWriteBatch()).thenAnswer(invocation -> new DatabaseWriteBatch(databaseConnector));
+        when(databaseConnector.putBatch(any(WriteBatch.class), any(WritePolicy.class))).thenReturn(true);
+    }
+
+    @Test
+    public void init_emptyIndexesWithStoredTransactions_indexesRebuilt() {
+        TransactionData transactionData = TransactionTestUtils.createRandomTransaction();
+        transactionData.setAttachmentTime(Instant.now());
+        when(dateTransactionIndexes.isEmpty()).thenReturn(true);
+        when(transactions.isEmpty()).thenReturn(false);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionData>>getArgument(0).accept(transactionData);
+            return null;
+        }).when(transactions).forEach(any(Consumer.class));
+
+        transactionService.init();
+
+        LocalDate attachmentDate = transactionService.calculateInstantLocalDate(transactionData.getAttachmentTime());
+        verify(dateTransactionIndexes).put(any(DatabaseWriteBatch.class), eq(attachmentDate), eq(transactionData.getHash()));
+        transactionData.getBaseTransactions().forEach(baseTransactionData ->
+                verify(addressTransactionIndexes).put(any(DatabaseWriteBatch.class), eq(baseTransactionData.getAddressHash()), eq(attachmentDate), eq(transactionData.getHash())));
+        verify(databaseConnector).putBatch(any(WriteBatch.class), any(WritePolicy.class));
+    }
+
+    @Test
+    public void init_existingIndexes_notRebuilt() {
+        when(dateTransactionIndexes.isEmpty()).thenReturn(false);
+        when(transactions.isEmpty()).thenReturn(false);
+
+        transactionService.init();
+
+        verify(transactions, never()).forEach(any(Consumer.class));
+        verify(databaseConnector, never()).putBatch(any(WriteBatch.class), any(WritePolicy.class));
     }
 
 
@@ -133,7 +178,7 @@ public class HistoryTransactionServiceTest {
         List<Hash> transactionHashesToRetrieve =
                 transactionService.getTransactionHashesToRetrieve(getTransactionsByAddressRequest);
         Assert.assertTrue(transactionHashesToRetrieve.isEmpty());
-        // Default Mock -> No AddressTransactionsByAddress -> Empty result
+        // Default Mock -> No address transaction indexes -> Empty result
         transactionHashesToRetrieve =
                 transactionService.getTransactionHashesToRetrieve(getGetTransactionsByAddressRequest(address, startDate, endDate));
         Assert.assertTrue(transactionHashesToRetrieve.isEmpty());
@@ -146,13 +191,8 @@ public class HistoryTransactionServiceTest {
         LocalDate startDate = transactionService.calculateInstantLocalDate(Instant.now().minus(amountOfDaysBack, ChronoUnit.DAYS));
         LocalDate endDate = transactionService.calculateInstantLocalDate(Instant.now());
 
-        Hash transactionAddressHash = generateRandomAddressHash();
-        HashMap<LocalDate, HashSet<Hash>> transactionHashesByDate = new HashMap<>();
-        LocalDate earliestLocalDate = transactionService.calculateInstantLocalDate(Instant.now().minus(amountOfDaysBack, ChronoUnit.DAYS));
-        // Mock -> AddressTransactionsByAddress with no entries -> Empty result
-        AddressTransactionsByAddress mockedAddressTransactionsByAddress = new AddressTransactionsByAddress(transactionAddressHash, transactionHashesByDate, earliestLocalDate);
-
-        when(addressTransactionsByAddresses.getByHash(address)).thenReturn(mockedAddressTransactionsByAddress);
+        // Mock -> No address transaction indexes in the dates -> Empty result
+        when(addressTransactionIndexes.getTransactionHashes(address, startDate, endDate)).thenReturn(new ArrayList<>());
         List<Hash> transactionHashesToRetrieve =
                 transactionService.getTransactionHashesToRetrieve(getGetTransactionsByAddressRequest(address, startDate, endDate));
         Assert.assertTrue(transactionHashesToRetrieve.isEmpty());
@@ -214,15 +254,9 @@ public class HistoryTransactionServiceTest {
 
 
     protected HashSet<Hash> getTransactionHashesMocked(int amountOfDaysBack, Hash address, LocalDate startDate) {
-        Hash transactionAddressHash = generateRandomAddressHash();
-        HashMap<LocalDate, HashSet<Hash>> transactionHashesByDate = new HashMap<>();
-        LocalDate earliestLocalDate = transactionService.calculateInstantLocalDate(Instant.now().minus(amountOfDaysBack, ChronoUnit.DAYS));
-
         HashSet<Hash> transactionHashes = new HashSet<>();
         transactionHashes.add(generateRandomHash());
-        transactionHashesByDate.put(startDate, transactionHashes);
-        AddressTransactionsByAddress mockedAddressTransactionsByAddress = new AddressTransactionsByAddress(transactionAddressHash, transactionHashesByDate, earliestLocalDate);
-        when(addressTransactionsByAddresses.getByHash(address)).thenReturn(mockedAddressTransactionsByAddress);
+        when(addressTransactionIndexes.getTransactionHashes(eq(address), any(), any())).thenReturn(new ArrayList<>(transactionHashes));
         return transactionHashes;
     }
 
@@ -293,24 +327,7 @@ public class HistoryTransactionServiceTest {
         request.setDate(transactionService.calculateInstantLocalDate(today));
         MockHttpServletResponse response = new MockHttpServletResponse();
 
-        when(addressTransactionsByDates.getByHash(transactionService.calculateHashByTime(today))).thenReturn(null);
-
-        transactionService.getTransactionsByDate(request, response);
-        Assert.assertEquals(HttpStatus.OK.value(), response.getStatus());
-        Assert.assertEquals(EMPTY_OUTPUT, response.getContentAsString());
-
-        response = new MockHttpServletResponse();
-        AddressTransactionsByDate addressTransactionsByDate = new AddressTransactionsByDate(today, null);
-        when(addressTransactionsByDates.getByHash(transactionService.calculateHashByTime(today))).thenReturn(addressTransactionsByDate);
-
-        transactionService.getTransactionsByDate(request, response);
-        Assert.assertEquals(HttpStatus.OK.value(), response.getStatus());
-        Assert.assertEquals(EMPTY_OUTPUT, response.getContentAsString());
-
-        response = new MockHttpServletResponse();
-        HashSet<Hash> transactionHashes = new HashSet<>();
-        addressTransactionsByDate = new AddressTransactionsByDate(today, transactionHashes);
-        when(addressTransactionsByDates.getByHash(transactionService.calculateHashByTime(today))).thenReturn(addressTransactionsByDate);
+        when(dateTransactionIndexes.getTransactionHashes(request.getDate())).thenReturn(new ArrayList<>());
 
         transactionService.getTransactionsByDate(request, response);
         Assert.assertEquals(HttpStatus.OK.value(), response.getStatus());
@@ -325,14 +342,11 @@ public class HistoryTransactionServiceTest {
         request.setDate(transactionService.calculateInstantLocalDate(today));
         MockHttpServletResponse response = new MockHttpServletResponse();
 
-        when(addressTransactionsByDates.getByHash(transactionService.calculateHashByTime(today))).thenReturn(null);
-
-        HashSet<Hash> transactionHashes = new HashSet<>();
+        List<Hash> transactionHashes = new ArrayList<>();
         Hash transactionHashToRetrieveLocally = generateRandomHash();
         transactionHashes.add(transactionHashToRetrieveLocally);
 
-        AddressTransactionsByDate addressTransactionsByDate = new AddressTransactionsByDate(today, transactionHashes);
-        when(addressTransactionsByDates.getByHash(transactionService.calculateHashByTime(today))).thenReturn(addressTransactionsByDate);
+        when(dateTransactionIndexes.getTransactionHashes(request.getDate())).thenReturn(transactionHashes);
         TransactionData transactionData = TransactionTestUtils.createRandomTransaction();
         when(transactions.getByHash(any(Hash.class))).thenReturn(transactionData);
 
@@ -7,157 +7,98 @@ import io.coti.nodemanager.data.NetworkNodeStatus;
 import io.coti.nodemanager.model.ActiveNodes;
 import io.coti.nodemanager.services.interfaces.IHealthCheckService;
 import io.coti.nodemanager.services.interfaces.INodeManagementService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
 
 @Service
 @Slf4j
 public class HealthCheckService implements IHealthCheckService {
 
     private static final String NODE_HASH_END_POINT = "/nodeHash";
-    private static final int RETRY_INTERVAL_IN_SECONDS = 20;
+    private static final String HEALTH_CHECK_TIMER_NAME = "coti.nodemanager.health.check";
     private static final int MAX_NUM_OF_TRIES = 3;
-    private static final int CONNECT_TIMEOUT = 5000;
-    private static final int READ_TIMEOUT = 5000;
+    private static final double INTERVAL_JITTER = 0.2;
+    @Value("${health.check.interval.millis: 5000}")
+    private long healthCheckIntervalInMillis;
+    @Value("${health.check.retry.interval.millis: 20000}")
+    private long retryIntervalInMillis;
+    @Value("${health.check.timeout.millis: 5000}")
+    private long healthCheckTimeoutInMillis;
+    @Value("${health.check.threads: 2}")
+    private int healthCheckThreads;
     @Autowired
     private INodeManagementService nodeManagementService;
     @Autowired
     private ActiveNodes activeNodes;
-    private RestTemplate restTemplate;
     @Autowired
     private INetworkService networkService;
-    private Map<Hash, Thread> hashToThreadMap = new ConcurrentHashMap<>();
-    private Map<Hash, Hash> lockNodeHashMap = new ConcurrentHashMap<>();
-    private final Object lock = new Object();
+    @Autowired
+    private WebClient webClient;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    private ScheduledExecutorService healthCheckExecutor;
+    private final Map<Hash, NodeMonitor> nodeMonitors = new ConcurrentHashMap<>();
 
     @Override
     public void init() {
+        healthCheckExecutor = Executors.newScheduledThreadPool(healthCheckThreads, runnable -> {
+            Thread thread = new Thread(runnable, "Health check");
+            thread.setDaemon(true);
+            return thread;
+        });
         nodesHealthCheck();
-        initRestTemplate();
-    }
-
-    private void initRestTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(CONNECT_TIMEOUT);
-        factory.setReadTimeout(READ_TIMEOUT);
-        restTemplate = new RestTemplate(factory);
     }
 
     public void nodesHealthCheck() {
         try {
-            checkNodesList(networkService.getNetworkNodeDataList());
+            networkService.getNetworkNodeDataList().forEach(this::initNodeMonitorIfAbsent);
         } catch (Exception e) {
             log.error("Exception in health check: ", e);
         }
     }
 
-    private boolean isNodeConnected(NetworkNodeData networkNodeDataToCheck) {
-        if (networkNodeDataToCheck == null) {
-            return true;
-        }
-        int tries = 0;
-        while (tries < MAX_NUM_OF_TRIES) {
-            if (Thread.currentThread().isInterrupted()) {
-                return true;
-            }
-            try {
-                if (tries != 0) {
-                    log.info("Waiting {} seconds for #{} retry to {} of address {} healthcheck",
-                            RETRY_INTERVAL_IN_SECONDS, tries, networkNodeDataToCheck.getNodeType(),
-                            networkNodeDataToCheck.getHttpFullAddress());
-                    TimeUnit.SECONDS.sleep(RETRY_INTERVAL_IN_SECONDS);
-                }
-                Hash nodeHash = restTemplate.getForObject(networkNodeDataToCheck.getHttpFullAddress() + NODE_HASH_END_POINT, Hash.class);
-                if (nodeHash != null) {
-                    log.debug("{} of address {} and port {} is responding to healthcheck.",
-                            networkNodeDataToCheck.getNodeType(), networkNodeDataToCheck.getAddress(), networkNodeDataToCheck.getHttpPort());
-                    return true;
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                return true;
-            } catch (Exception ex) {
-                log.error("Exception in health check to {} . this was the #{} attempt out of {}. Err: {}",
-                        networkNodeDataToCheck.getHttpFullAddress(), tries + 1, MAX_NUM_OF_TRIES, ex.getMessage());
-            } finally {
-                tries++;
+    @Override
+    public void initNodeMonitorIfAbsent(NetworkNodeData networkNodeData) {
+        NodeMonitor nodeMonitor = new NodeMonitor(networkNodeData);
+        NodeMonitor previousNodeMonitor = nodeMonitors.put(networkNodeData.getNodeHash(), nodeMonitor);
+        if (previousNodeMonitor != null) {
+            previousNodeMonitor.cancel();
+            if (previousNodeMonitor.probeTimer != nodeMonitor.probeTimer) {
+                meterRegistry.remove(previousNodeMonitor.probeTimer);
             }
         }
-        return false;
+        nodeMonitor.scheduleProbe(getJitteredInterval(healthCheckIntervalInMillis));
     }
 
-    private NetworkNodeData checkAndDeleteNodeIfNeeded(NetworkNodeData networkNodeData) {
-        NetworkNodeData nodeToRemove = null;
-        if (!isNodeConnected(networkNodeData)) {
-            deleteNodeRecord(networkNodeData);
-            nodeToRemove = networkNodeData;
-        }
-        return nodeToRemove;
+    private long getJitteredInterval(long intervalInMillis) {
+        long jitter = (long) (intervalInMillis * INTERVAL_JITTER);
+        return ThreadLocalRandom.current().nextLong(intervalInMillis - jitter, intervalInMillis + jitter + 1);
     }
 
-    private void checkNodesList(List<NetworkNodeData> nodesList) {
-        ThreadFactory threadFactory = Executors.defaultThreadFactory();
-        try {
-            nodesList.forEach(networkNodeData -> initNodeMonitorThreadIfAbsent(threadFactory, networkNodeData));
-        } catch (Exception e) {
-            log.error("Error while checking nodeList", e);
+    private void removeNode(NodeMonitor nodeMonitor) {
+        NetworkNodeData networkNodeData = nodeMonitor.networkNodeData;
+        if (!nodeMonitors.remove(networkNodeData.getNodeHash(), nodeMonitor)) {
+            return;
         }
-    }
-
-    public void initNodeMonitorThreadIfAbsent(ThreadFactory threadFactory, NetworkNodeData networkNodeData) {
-        Hash nodeHash = networkNodeData.getNodeHash();
+        meterRegistry.remove(nodeMonitor.probeTimer);
         try {
-            synchronized (addLockToLockMap(nodeHash)) {
-                Runnable nodeMonitorTask = () -> monitorNode(networkNodeData);
-                Thread thread = hashToThreadMap.get(nodeHash);
-                if (thread != null) {
-                    thread.interrupt();
-                    try {
-                        thread.join();
-                    } catch (InterruptedException e) {
-                        thread.interrupt();
-                    }
-                }
-                thread = threadFactory.newThread(nodeMonitorTask);
-                thread.setName(nodeHash.toString());
-                hashToThreadMap.put(nodeHash, thread);
-                thread.start();
-            }
-
-        } finally {
-            removeLockFromLocksMap(nodeHash);
-        }
-    }
-
-    private void monitorNode(NetworkNodeData networkNodeData) {
-        Hash nodeHash = networkNodeData.getNodeHash();
-        boolean terminateThread = false;
-        while (!Thread.currentThread().isInterrupted() && !terminateThread) {
-            try {
-                Thread.sleep(5000);
-                NetworkNodeData networkNodeDataToRemove = checkAndDeleteNodeIfNeeded(networkNodeData);
-                if (networkNodeDataToRemove != null) {
-                    networkService.removeNode(networkNodeDataToRemove);
-                    nodeManagementService.propagateNetworkChanges();
-                    hashToThreadMap.remove(nodeHash);
-                    terminateThread = true;
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            } catch (Exception e) {
-                log.error("Exception in monitorNode: ", e);
-            }
+            deleteNodeRecord(networkNodeData);
+            networkService.removeNode(networkNodeData);
+            nodeManagementService.propagateNetworkChanges();
+        } catch (Exception e) {
+            log.error("Exception while removing node {}: ", networkNodeData.getNodeHash(), e);
         }
     }
 
@@ -169,34 +110,88 @@ public class HealthCheckService implements IHealthCheckService {
 
     public void shutdown() {
         log.info("Shutting down {}", this.getClass().getSimpleName());
-        try {
-            hashToThreadMap.forEach((nodeHash, thread) -> {
-                thread.interrupt();
-                try {
-                    thread.join();
-                } catch (InterruptedException e) {
-                    thread.interrupt();
-                }
-            });
-        } catch (Exception e) {
-            log.error("Interrupted shutdown health check service");
+        nodeMonitors.values().forEach(nodeMonitor -> {
+            nodeMonitor.cancel();
+            meterRegistry.remove(nodeMonitor.probeTimer);
+        });
+        nodeMonitors.clear();
+        if (healthCheckExecutor != null) {
+            healthCheckExecutor.shutdownNow();
         }
     }
 
-    private Hash addLockToLockMap(Hash hash) {
-        synchronized (lock) {
-            lockNodeHashMap.putIfAbsent(hash, hash);
-            return lockNodeHashMap.get(hash);
+    /**
+     * Probes a single node on the shared health check executor. The http request itself is asynchronous, so no thread waits for a
+     * node to answer. A node is removed after {@link #MAX_NUM_OF_TRIES} consecutive failed probes, together with its latency timer.
+     */
+    private class NodeMonitor {
+
+        private final NetworkNodeData networkNodeData;
+        private final Timer probeTimer;
+        private int failedProbes;
+        private volatile boolean cancelled;
+        private volatile ScheduledFuture<?> scheduledProbe;
+        private volatile Disposable runningProbe;
+
+        private NodeMonitor(NetworkNodeData networkNodeData) {
+            this.networkNodeData = networkNodeData;
+            probeTimer = meterRegistry.timer(HEALTH_CHECK_TIMER_NAME, "node", networkNodeData.getNodeHash().toHexString(), "type", String.valueOf(networkNodeData.getNodeType()));
         }
-    }
 
-    private void removeLockFromLocksMap(Hash hash) {
-        synchronized (lock) {
-            Hash hashLock = lockNodeHashMap.get(hash);
-            if (hashLock != null) {
-                lockNodeHashMap.remove(hash);
+        private void scheduleProbe(long delayInMillis) {
+            if (!cancelled) {
+                scheduledProbe = healthCheckExecutor.schedule(this::probe, delayInMillis, TimeUnit.MILLISECONDS);
             }
         }
-    }
 
+        private void probe() {
+            if (cancelled) {
+                return;
+            }
+            long probeStartTime = System.nanoTime();
+            runningProbe = webClient.get()
+                    .uri(networkNodeData.getHttpFullAddress() + NODE_HASH_END_POINT)
+                    .retrieve()
+                    .bodyToMono(Hash.class)
+                    .switchIfEmpty(Mono.error(new IllegalStateException("Empty node hash response")))
+                    .timeout(Duration.ofMillis(healthCheckTimeoutInMillis))
+                    .subscribe(nodeHash -> onProbeSuccess(probeStartTime), this::onProbeFailure);
+        }
+
+        private void onProbeSuccess(long probeStartTime) {
+            probeTimer.record(System.nanoTime() - probeStartTime, TimeUnit.NANOSECONDS);
+            log.debug("{} of address {} and port {} is responding to healthcheck.",
+                    networkNodeData.getNodeType(), networkNodeData.getAddress(), networkNodeData.getHttpPort());
+            failedProbes = 0;
+            scheduleProbe(getJitteredInterval(healthCheckIntervalInMillis));
+        }
+
+        private void onProbeFailure(Throwable throwable) {
+            failedProbes++;
+            log.error("Exception in health check to {} . this was the #{} attempt out of {}. Err: {}",
+                    networkNodeData.getHttpFullAddress(), failedProbes, MAX_NUM_OF_TRIES, throwable.getMessage());
+            if (cancelled) {
+                return;
+            }
+            if (failedProbes < MAX_NUM_OF_TRIES) {
+                log.info("Waiting {} milliseconds for #{} retry to {} of address {} healthcheck",
+                        retryIntervalInMillis, failedProbes, networkNodeData.getNodeType(), networkNodeData.getHttpFullAddress());
+                scheduleProbe(getJitteredInterval(retryIntervalInMillis));
+            } else {
+                healthCheckExecutor.execute(() -> removeNode(this));
+            }
+        }
+
+        private void cancel() {
+            cancelled = true;
+            ScheduledFuture<?> probeToCancel = scheduledProbe;
+            if (probeToCancel != null) {
+                probeToCancel.cancel(false);
+            }
+            Disposable probeToDispose = runningProbe;
+            if (probeToDispose != null) {
+                probeToDispose.dispose();
+            }
+        }
+    }
 }
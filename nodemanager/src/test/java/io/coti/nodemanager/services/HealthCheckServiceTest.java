@@ -0,0 +1,110 @@
+package io.coti.nodemanager.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.NetworkNodeData;
+import io.coti.basenode.data.NetworkType;
+import io.coti.basenode.data.NodeType;
+import io.coti.basenode.services.interfaces.INetworkService;
+import io.coti.nodemanager.data.NetworkNodeStatus;
+import io.coti.nodemanager.model.ActiveNodes;
+import io.coti.nodemanager.services.interfaces.INodeManagementService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HealthCheckServiceTest {
+
+    private static final Hash NODE_HASH = new Hash("abcdef");
+    private HttpServer httpServer;
+    private final AtomicInteger responseStatus = new AtomicInteger(200);
+    private final AtomicInteger requests = new AtomicInteger();
+    private HealthCheckService healthCheckService;
+    private INetworkService networkService;
+    private INodeManagementService nodeManagementService;
+    private ActiveNodes activeNodes;
+    private SimpleMeterRegistry meterRegistry;
+
+    @Before
+    public void setUp() throws Exception {
+        byte[] nodeHashResponse = new ObjectMapper().writeValueAsBytes(NODE_HASH);
+        httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        httpServer.createContext("/nodeHash", exchange -> {
+            requests.incrementAndGet();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(responseStatus.get(), nodeHashResponse.length);
+            exchange.getResponseBody().write(nodeHashResponse);
+            exchange.close();
+        });
+        httpServer.start();
+
+        networkService = Mockito.mock(INetworkService.class);
+        nodeManagementService = Mockito.mock(INodeManagementService.class);
+        activeNodes = Mockito.mock(ActiveNodes.class);
+        meterRegistry = new SimpleMeterRegistry();
+        healthCheckService = new HealthCheckService();
+        ReflectionTestUtils.setField(healthCheckService, "healthCheckIntervalInMillis", 50);
+        ReflectionTestUtils.setField(healthCheckService, "retryIntervalInMillis", 50);
+        ReflectionTestUtils.setField(healthCheckService, "healthCheckTimeoutInMillis", 3000);
+        ReflectionTestUtils.setField(healthCheckService, "healthCheckThreads", 1);
+        ReflectionTestUtils.setField(healthCheckService, "networkService", networkService);
+        ReflectionTestUtils.setField(healthCheckService, "nodeManagementService", nodeManagementService);
+        ReflectionTestUtils.setField(healthCheckService, "activeNodes", activeNodes);
+        ReflectionTestUtils.setField(healthCheckService, "webClient", WebClient.create());
+        ReflectionTestUtils.setField(healthCheckService, "meterRegistry", meterRegistry);
+        Mockito.when(networkService.getNetworkNodeDataList()).thenReturn(new ArrayList<>());
+        healthCheckService.init();
+    }
+
+    @After
+    public void tearDown() {
+        healthCheckService.shutdown();
+        httpServer.stop(0);
+    }
+
+    @Test
+    public void initNodeMonitorIfAbsent_respondingNode_probesAndRecordsLatency() throws InterruptedException {
+        healthCheckService.initNodeMonitorIfAbsent(generateNetworkNodeData());
+
+        Timer probeTimer = meterRegistry.get("coti.nodemanager.health.check").tag("node", NODE_HASH.toHexString()).timer();
+        long deadline = System.currentTimeMillis() + 10000;
+        while (probeTimer.count() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        Assert.assertTrue(probeTimer.count() >= 2);
+        Mockito.verify(networkService, Mockito.never()).removeNode(ArgumentMatchers.any());
+    }
+
+    @Test
+    public void initNodeMonitorIfAbsent_failingNode_removedAfterMaxTries() {
+        responseStatus.set(500);
+        NetworkNodeData networkNodeData = generateNetworkNodeData();
+
+        healthCheckService.initNodeMonitorIfAbsent(networkNodeData);
+
+        Mockito.verify(networkService, Mockito.timeout(5000)).removeNode(networkNodeData);
+        Mockito.verify(activeNodes).delete(networkNodeData);
+        Mockito.verify(nodeManagementService).addNodeHistory(ArgumentMatchers.eq(networkNodeData), ArgumentMatchers.eq(NetworkNodeStatus.INACTIVE), ArgumentMatchers.any());
+        Mockito.verify(nodeManagementService).propagateNetworkChanges();
+        Assert.assertEquals(3, requests.get());
+        Assert.assertNull(meterRegistry.find("coti.nodemanager.health.check").tag("node", NODE_HASH.toHexString()).timer());
+    }
+
+    private NetworkNodeData generateNetworkNodeData() {
+        return new NetworkNodeData(NodeType.FullNode, "localhost", String.valueOf(httpServer.getAddress().getPort()), NODE_HASH, NetworkType.TestNet);
+    }
+
+}
@@ -7,6 +7,7 @@ import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import sun.security.provider.Sun;
 
 import java.lang.reflect.InvocationTargetException;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.Provider;
@@ -53,6 +54,27 @@ public class Algorithm implements IAlgorithm {
         return cryptoHashAlgorithm.digest(input);
     }
 
+    @Override
+    public int hash(byte[] input, int inputLength, byte[] output) {
+        if (bouncyCastleAlgorithms.contains(hashingAlgorithm)) {
+            messageDigestAlgorithm.update(input, 0, inputLength);
+            try {
+                return messageDigestAlgorithm.digest(output, 0, output.length);
+            } catch (DigestException e) {
+                throw new IllegalArgumentException("Output buffer too small for " + hashingAlgorithm, e);
+            }
+        }
+        cryptoHashAlgorithm.update(input, 0, inputLength);
+        return cryptoHashAlgorithm.digest(output, 0, output.length);
+    }
+
+    @Override
+    public int getDigestLength() {
+        if (bouncyCastleAlgorithms.contains(hashingAlgorithm))
+            return messageDigestAlgorithm.getDigestLength();
+        return cryptoHashAlgorithm.getDigestLength();
+    }
+
     private MessageDigest getBouncyCastle(AlgorithmTypes hashingAlgorithm) throws NoSuchAlgorithmException {
         return MessageDigest.getInstance(hashingAlgorithm.toString().replace('_', '-'), new BouncyCastleProvider());
     }
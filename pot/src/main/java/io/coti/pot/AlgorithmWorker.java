@@ -3,28 +3,50 @@ package io.coti.pot;
 import io.coti.pot.interfaces.IAlgorithm;
 import io.coti.pot.interfaces.IAlgorithmOrder;
 import io.coti.pot.interfaces.IAlgorithmWorker;
-import org.apache.commons.lang3.ArrayUtils;
 
-import java.math.BigInteger;
-import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 class AlgorithmWorker implements IAlgorithmWorker {
 
+    private static final int NONCE_LENGTH = Integer.BYTES;
+    private static final long NONCE_RANGE = 1L << Integer.SIZE;
+    private static final ExecutorService nonceSearchExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "PoT nonce search");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final ThreadLocal<NonceSearchContext> nonceSearchContexts = ThreadLocal.withInitial(NonceSearchContext::new);
     private IAlgorithmOrder ordering;
+    private int workerThreads;
 
     public AlgorithmWorker(IAlgorithmOrder ordering) {
+        this(ordering, 1);
+    }
+
+    public AlgorithmWorker(IAlgorithmOrder ordering, int workerThreads) {
+        if (workerThreads < 1) {
+            throw new IllegalArgumentException("workerThreads must be at least 1");
+        }
         this.ordering = ordering;
+        this.workerThreads = workerThreads;
     }
 
     @Override
     public int[] hash(byte[] data, byte[] target) {
-        BigInteger targetOutput = new BigInteger(1, target);
         int[] nonces = new int[ordering.getHashingAlgorithms().size()];
         byte[] lastCorrectHash = data;
 
         for (int i = 0; i < nonces.length; i++) {
             IAlgorithm.AlgorithmTypes hashingAlgorithm = ordering.getHashingAlgorithms().get(i);
-            int nonce = findNonce(hashingAlgorithm, lastCorrectHash, targetOutput);
+            int nonce = workerThreads > 1 ? findNonceInParallel(hashingAlgorithm, lastCorrectHash, target) : findNonce(hashingAlgorithm, lastCorrectHash, target);
             lastCorrectHash = concatAndHash(hashingAlgorithm, lastCorrectHash, nonce);
             nonces[i] = nonce;
         }
@@ -37,14 +59,12 @@ class AlgorithmWorker implements IAlgorithmWorker {
             return false;
         }
 
-        BigInteger targetOutput = new BigInteger(1, target);
         byte[] lastCorrectHash = data;
 
         for (int i = 0; i < nonce.length; i++) {
             IAlgorithm.AlgorithmTypes hashingAlgorithm = ordering.getHashingAlgorithms().get(i);
             byte[] hashedData = concatAndHash(hashingAlgorithm, lastCorrectHash, nonce[i]);
-            BigInteger currentOutput = new BigInteger(1, hashedData);
-            if (currentOutput.compareTo(targetOutput) > -1) {
+            if (!isBelowTarget(hashedData, hashedData.length, target)) {
                 return false;
             }
             lastCorrectHash = hashedData;
@@ -52,24 +72,118 @@ class AlgorithmWorker implements IAlgorithmWorker {
         return true;
     }
 
-    private int findNonce(IAlgorithm.AlgorithmTypes hashingAlgorithm, byte[] lastCorrectHash, BigInteger targetOutput) {
-        byte[] hashedData;
-        boolean validHash;
-        int nonce = 0;
-
-        do {
-            hashedData = concatAndHash(hashingAlgorithm, lastCorrectHash, nonce);
-            BigInteger currentOutput = new BigInteger(1, hashedData);
-            validHash = (currentOutput.compareTo(targetOutput) < 0);
-            nonce = nonce + 1;
-        } while (!validHash);
-        return nonce - 1;
+    private int findNonce(IAlgorithm.AlgorithmTypes hashingAlgorithm, byte[] lastCorrectHash, byte[] target) {
+        AtomicLong foundNonceIndex = new AtomicLong(NONCE_RANGE);
+        searchNonce(hashingAlgorithm, lastCorrectHash, target, 0, 1, foundNonceIndex);
+        return getFoundNonce(foundNonceIndex);
+    }
+
+    private int findNonceInParallel(IAlgorithm.AlgorithmTypes hashingAlgorithm, byte[] lastCorrectHash, byte[] target) {
+        AtomicLong foundNonceIndex = new AtomicLong(NONCE_RANGE);
+        List<Future<?>> searches = new ArrayList<>(workerThreads - 1);
+        for (int firstNonceIndex = 1; firstNonceIndex < workerThreads; firstNonceIndex++) {
+            long searchFirstNonceIndex = firstNonceIndex;
+            searches.add(nonceSearchExecutor.submit(() -> searchNonce(hashingAlgorithm, lastCorrectHash, target, searchFirstNonceIndex, workerThreads, foundNonceIndex)));
+        }
+        searchNonce(hashingAlgorithm, lastCorrectHash, target, 0, workerThreads, foundNonceIndex);
+        try {
+            for (Future<?> search : searches) {
+                search.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            searches.forEach(search -> search.cancel(true));
+            throw new IllegalStateException("Interrupted while searching for a nonce", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Nonce search failed", e.getCause());
+        }
+        return getFoundNonce(foundNonceIndex);
+    }
+
+    /**
+     * Nonces are tried in the order 0, 1, ..., Integer.MAX_VALUE, Integer.MIN_VALUE, ..., -1 and each searcher takes every nonceStep-th
+     * of them. A searcher stops as soon as it passes the smallest valid index found so far, so the result is always the first valid
+     * nonce, whatever the number of searchers.
+     */
+    private void searchNonce(IAlgorithm.AlgorithmTypes hashingAlgorithm, byte[] lastCorrectHash, byte[] target, long firstNonceIndex, int nonceStep, AtomicLong foundNonceIndex) {
+        NonceSearchContext context = nonceSearchContexts.get();
+        IAlgorithm algorithm = context.getAlgorithm(hashingAlgorithm);
+        int inputLength = lastCorrectHash.length + NONCE_LENGTH;
+        byte[] input = context.getInput(inputLength);
+        byte[] output = context.getOutput(algorithm.getDigestLength());
+        System.arraycopy(lastCorrectHash, 0, input, 0, lastCorrectHash.length);
+        int nonceOffset = lastCorrectHash.length;
+
+        for (long nonceIndex = firstNonceIndex; nonceIndex < foundNonceIndex.get(); nonceIndex += nonceStep) {
+            int nonce = (int) nonceIndex;
+            input[nonceOffset] = (byte) (nonce >>> 24);
+            input[nonceOffset + 1] = (byte) (nonce >>> 16);
+            input[nonceOffset + 2] = (byte) (nonce >>> 8);
+            input[nonceOffset + 3] = (byte) nonce;
+            int outputLength = algorithm.hash(input, inputLength, output);
+            if (isBelowTarget(output, outputLength, target)) {
+                foundNonceIndex.accumulateAndGet(nonceIndex, Math::min);
+                return;
+            }
+        }
+    }
+
+    private int getFoundNonce(AtomicLong foundNonceIndex) {
+        if (foundNonceIndex.get() == NONCE_RANGE) {
+            throw new IllegalStateException("No nonce satisfies the target");
+        }
+        return (int) foundNonceIndex.get();
     }
 
     private byte[] concatAndHash(IAlgorithm.AlgorithmTypes hashingAlgorithm, byte[] data, int nonce) {
-        byte[] nonceByte = ByteBuffer.allocate(4).putInt(nonce).array();
-        data = ArrayUtils.addAll(data, nonceByte);
-        data = ordering.getHashingAlgorithm(hashingAlgorithm).hash(data);
-        return data;
+        byte[] input = new byte[data.length + NONCE_LENGTH];
+        System.arraycopy(data, 0, input, 0, data.length);
+        input[data.length] = (byte) (nonce >>> 24);
+        input[data.length + 1] = (byte) (nonce >>> 16);
+        input[data.length + 2] = (byte) (nonce >>> 8);
+        input[data.length + 3] = (byte) nonce;
+        return ordering.getHashingAlgorithm(hashingAlgorithm).hash(input);
+    }
+
+    static boolean isBelowTarget(byte[] value, int valueLength, byte[] target) {
+        int length = Math.max(valueLength, target.length);
+        for (int i = 0; i < length; i++) {
+            int valueByte = getRightAlignedByte(value, valueLength, length, i);
+            int targetByte = getRightAlignedByte(target, target.length, length, i);
+            if (valueByte != targetByte) {
+                return valueByte < targetByte;
+            }
+        }
+        return false;
+    }
+
+    private static int getRightAlignedByte(byte[] bytes, int bytesLength, int length, int index) {
+        int bytesIndex = index - (length - bytesLength);
+        return bytesIndex < 0 ? 0 : bytes[bytesIndex] & 0xFF;
+    }
+
+    private static class NonceSearchContext {
+
+        private final Map<IAlgorithm.AlgorithmTypes, IAlgorithm> algorithms = new EnumMap<>(IAlgorithm.AlgorithmTypes.class);
+        private byte[] input = new byte[0];
+        private byte[] output = new byte[0];
+
+        private IAlgorithm getAlgorithm(IAlgorithm.AlgorithmTypes hashingAlgorithm) {
+            return algorithms.computeIfAbsent(hashingAlgorithm, Algorithm::new);
+        }
+
+        private byte[] getInput(int length) {
+            if (input.length < length) {
+                input = new byte[length];
+            }
+            return input;
+        }
+
+        private byte[] getOutput(int length) {
+            if (output.length != length) {
+                output = new byte[length];
+            }
+            return output;
+        }
     }
 }
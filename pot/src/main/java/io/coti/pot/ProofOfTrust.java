@@ -14,12 +14,16 @@ public class ProofOfTrust implements IProofOfTrust {
     private IAlgorithmWorker hashWorker;
 
     public ProofOfTrust(int trustScore) {
+        this(trustScore, 1);
+    }
+
+    public ProofOfTrust(int trustScore, int workerThreads) {
 
         if (trustScore < 0 || trustScore > maxTrustScore) {
             throw new IllegalArgumentException("trustScore must be between 0 and 100 inclusive");
         }
         hashOrder = new AlgorithmOrder(trustScore, maxTrustScore);
-        hashWorker = new AlgorithmWorker(hashOrder);
+        hashWorker = new AlgorithmWorker(hashOrder, workerThreads);
     }
 
     public List<IAlgorithm.AlgorithmTypes> getHashingAlgorithms() {
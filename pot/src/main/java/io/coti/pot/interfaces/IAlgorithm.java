@@ -21,4 +21,8 @@ public interface IAlgorithm {
     }
 
     byte[] hash(byte[] input);
+
+    int hash(byte[] input, int inputLength, byte[] output);
+
+    int getDigestLength();
 }
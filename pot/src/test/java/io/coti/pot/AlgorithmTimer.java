@@ -6,16 +6,22 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static javax.xml.bind.DatatypeConverter.parseHexBinary;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 class AlgorithmTimer {
     private static int sampleSize = 1000000;
     private static byte[][] inputData = new byte[sampleSize][512];
 
     private static Map<IAlgorithm.AlgorithmTypes, Double> results = new HashMap<>();
+    private static byte[] targetDifficulty = parseHexBinary("00F00000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000");
 
     @BeforeAll
     public static void setUp() {
@@ -131,6 +137,49 @@ class AlgorithmTimer {
         results.put(type, dowork(type));
     }
 
+    @Test
+    public void bufferedHash() {
+        for (IAlgorithm.AlgorithmTypes type : IAlgorithm.AlgorithmTypes.values()) {
+            Algorithm algo = new Algorithm(type);
+            byte[] output = new byte[algo.getDigestLength()];
+            long startTimeRound = BenchmarkBatching.getCpuTime();
+
+            for (int i = 0; i < sampleSize; i++) {
+                algo.hash(inputData[i], inputData[i].length, output);
+            }
+
+            long endTimeRound = BenchmarkBatching.getCpuTime();
+            assertArrayEquals(algo.hash(inputData[sampleSize - 1]), output);
+            System.out.println("time for all " + sampleSize + " buffered " + type + " runs to complete:");
+            System.out.println("  " + (endTimeRound - startTimeRound) / 1000000000.0 + "s");
+            System.out.println();
+        }
+    }
+
+    @Test
+    public void nonceSearch() {
+        int workerThreads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        byte[] transactionData = "hello world".getBytes();
+        for (int trustScore = 0; trustScore <= 100; trustScore += 25) {
+            ProofOfTrust singleThreadPot = new ProofOfTrust(trustScore);
+            ProofOfTrust multiThreadPot = new ProofOfTrust(trustScore, workerThreads);
+
+            long startTime = System.nanoTime();
+            int[] singleThreadNonces = singleThreadPot.hash(transactionData, targetDifficulty);
+            long singleThreadDuration = System.nanoTime() - startTime;
+            startTime = System.nanoTime();
+            int[] multiThreadNonces = multiThreadPot.hash(transactionData, targetDifficulty);
+            long multiThreadDuration = System.nanoTime() - startTime;
+
+            assertArrayEquals(singleThreadNonces, multiThreadNonces);
+            assertTrue(singleThreadPot.verify(transactionData, multiThreadNonces, targetDifficulty));
+            System.out.println("nonce search for trust score " + trustScore + " with nonces " + Arrays.toString(singleThreadNonces) + ":");
+            System.out.println("  1 thread: " + singleThreadDuration / 1000000000.0 + "s");
+            System.out.println("  " + workerThreads + " threads: " + multiThreadDuration / 1000000000.0 + "s");
+            System.out.println();
+        }
+    }
+
     private double dowork(IAlgorithm.AlgorithmTypes type) {
         double durationRound;
         Algorithm algo = new Algorithm(type);
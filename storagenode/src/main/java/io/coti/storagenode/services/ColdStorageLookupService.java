@@ -0,0 +1,79 @@
+package io.coti.storagenode.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Looks up objects in cold storage in the background, so that a retrieval can query the hot and the cold storage concurrently.
+ * Lookups run on a bounded pool. When all the lookup threads are busy, no background lookup is started and the cold storage is
+ * queried by the caller only if the hot storage misses.
+ */
+@Slf4j
+@Service
+public class ColdStorageLookupService {
+
+    private static final long IDLE_THREAD_KEEP_ALIVE_SECONDS = 60;
+    @Value("${cold.storage.lookup.threads: 8}")
+    private int lookupThreads;
+    private ThreadPoolExecutor lookupExecutor;
+
+    @PostConstruct
+    public void init() {
+        lookupExecutor = new ThreadPoolExecutor(lookupThreads, lookupThreads, IDLE_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "Cold storage lookup");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+        lookupExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    public <R> ColdStorageLookup<R> lookup(Supplier<R> coldStorageQuery) {
+        ColdStorageLookup<R> coldStorageLookup = new ColdStorageLookup<>(coldStorageQuery);
+        lookupExecutor.execute(coldStorageLookup.lookupTask);
+        return coldStorageLookup;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("Shutting down {}", this.getClass().getSimpleName());
+        lookupExecutor.shutdownNow();
+    }
+
+    public static class ColdStorageLookup<R> {
+
+        private final FutureTask<R> lookupTask;
+
+        private ColdStorageLookup(Supplier<R> coldStorageQuery) {
+            lookupTask = new FutureTask<>(coldStorageQuery::get);
+        }
+
+        /**
+         * Returns the cold storage result, waiting for the background lookup or querying the cold storage on the calling thread
+         * when the lookup was not started.
+         */
+        public R get() {
+            lookupTask.run();
+            try {
+                return lookupTask.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for cold storage lookup", e);
+            }
+        }
+
+        public void cancel() {
+            lookupTask.cancel(true);
+        }
+    }
+}
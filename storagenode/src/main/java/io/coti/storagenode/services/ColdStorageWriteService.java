@@ -0,0 +1,157 @@
+package io.coti.storagenode.services;
+
+import io.coti.basenode.data.Hash;
+import io.coti.storagenode.data.enums.ElasticSearchData;
+import io.coti.storagenode.services.interfaces.IObjectService;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.rest.RestStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes objects to cold storage in the background. Objects are queued in a bounded queue, so callers block when the cold storage
+ * falls behind, and are written by bulk requests. Objects whose bulk insertion failed are retried with a growing delay.
+ */
+@Slf4j
+@Service
+public class ColdStorageWriteService {
+
+    private static final long POLL_TIMEOUT_MILLIS = 500;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 30000;
+    private static final EnumSet<RestStatus> INSERTED_STATUSES = EnumSet.of(RestStatus.CREATED, RestStatus.OK);
+    @Value("${cold.storage.write.queue.size: 10000}")
+    private int writeQueueSize;
+    @Value("${cold.storage.write.bulk.size: 500}")
+    private int bulkSize;
+    @Value("${cold.storage.write.max.retries: 5}")
+    private int maxRetries;
+    @Value("${cold.storage.write.retry.delay.millis: 1000}")
+    private long retryDelayInMillis;
+    @Autowired
+    private IObjectService objectService;
+    private BlockingQueue<ColdStorageWrite> writeQueue;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void init() {
+        writeQueue = new ArrayBlockingQueue<>(writeQueueSize);
+        running = true;
+        writerThread = new Thread(this::writeBulks, "Cold storage writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    public void write(ElasticSearchData objectType, Map<Hash, String> hashToObjectJsonDataMap) {
+        try {
+            for (Map.Entry<Hash, String> entry : hashToObjectJsonDataMap.entrySet()) {
+                writeQueue.put(new ColdStorageWrite(objectType, entry.getKey(), entry.getValue()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while queuing {} objects to cold storage", objectType);
+        }
+    }
+
+    public int getWriteQueueSize() {
+        return writeQueue.size();
+    }
+
+    private void writeBulks() {
+        List<ColdStorageWrite> bulk = new ArrayList<>(bulkSize);
+        while (running || !writeQueue.isEmpty()) {
+            try {
+                ColdStorageWrite coldStorageWrite = writeQueue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (coldStorageWrite == null) {
+                    continue;
+                }
+                bulk.add(coldStorageWrite);
+                writeQueue.drainTo(bulk, bulkSize - 1);
+                writeBulk(bulk);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Error at cold storage writer", e);
+            } finally {
+                bulk.clear();
+            }
+        }
+    }
+
+    private void writeBulk(List<ColdStorageWrite> bulk) throws InterruptedException {
+        Map<ElasticSearchData, Map<Hash, String>> objectTypeToHashToObjectJsonDataMap = new EnumMap<>(ElasticSearchData.class);
+        bulk.forEach(coldStorageWrite -> objectTypeToHashToObjectJsonDataMap.computeIfAbsent(coldStorageWrite.objectType, objectType -> new LinkedHashMap<>())
+                .put(coldStorageWrite.hash, coldStorageWrite.objectAsJson));
+        for (Map.Entry<ElasticSearchData, Map<Hash, String>> entry : objectTypeToHashToObjectJsonDataMap.entrySet()) {
+            insertWithRetries(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void insertWithRetries(ElasticSearchData objectType, Map<Hash, String> hashToObjectJsonDataMap) throws InterruptedException {
+        Map<Hash, String> pendingHashToObjectJsonDataMap = hashToObjectJsonDataMap;
+        for (int attempt = 0; ; attempt++) {
+            pendingHashToObjectJsonDataMap = insert(objectType, pendingHashToObjectJsonDataMap);
+            if (pendingHashToObjectJsonDataMap.isEmpty()) {
+                return;
+            }
+            if (attempt >= maxRetries || !running) {
+                log.error("Failed to insert {} {} to cold storage after {} attempts", pendingHashToObjectJsonDataMap.size(), objectType, attempt + 1);
+                return;
+            }
+            log.warn("Failed to insert {} {} to cold storage. Retrying", pendingHashToObjectJsonDataMap.size(), objectType);
+            Thread.sleep(retryDelayInMillis * (attempt + 1));
+        }
+    }
+
+    private Map<Hash, String> insert(ElasticSearchData objectType, Map<Hash, String> hashToObjectJsonDataMap) {
+        try {
+            Map<Hash, RestStatus> insertResponseMap = objectService.insertMultiObjects(hashToObjectJsonDataMap, true, objectType);
+            Map<Hash, String> failedHashToObjectJsonDataMap = new LinkedHashMap<>();
+            hashToObjectJsonDataMap.forEach((hash, objectAsJson) -> {
+                if (!INSERTED_STATUSES.contains(insertResponseMap.get(hash))) {
+                    failedHashToObjectJsonDataMap.put(hash, objectAsJson);
+                }
+            });
+            return failedHashToObjectJsonDataMap;
+        } catch (Exception e) {
+            log.error("Error at inserting {} to cold storage: {}", objectType, e.getMessage());
+            return hashToObjectJsonDataMap;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("Shutting down {}", this.getClass().getSimpleName());
+        running = false;
+        try {
+            writerThread.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!writeQueue.isEmpty()) {
+            log.error("{} objects were not written to cold storage", writeQueue.size());
+        }
+    }
+
+    private static class ColdStorageWrite {
+
+        private final ElasticSearchData objectType;
+        private final Hash hash;
+        private final String objectAsJson;
+
+        private ColdStorageWrite(ElasticSearchData objectType, Hash hash, String objectAsJson) {
+            this.objectType = objectType;
+            this.hash = hash;
+            this.objectAsJson = objectAsJson;
+        }
+    }
+}
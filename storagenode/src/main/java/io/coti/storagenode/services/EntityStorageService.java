@@ -8,6 +8,7 @@ import io.coti.basenode.http.SerializableResponse;
 import io.coti.basenode.http.data.GetHashToPropagatable;
 import io.coti.basenode.http.interfaces.IResponse;
 import io.coti.storagenode.data.enums.ElasticSearchData;
+import io.coti.storagenode.services.ColdStorageLookupService.ColdStorageLookup;
 import io.coti.storagenode.services.interfaces.IEntityStorageService;
 import lombok.extern.slf4j.Slf4j;
 import org.elasticsearch.rest.RestStatus;
@@ -15,10 +16,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
-import java.util.EnumSet;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 import static io.coti.basenode.http.BaseNodeHttpStringConstants.STATUS_ERROR;
 import static io.coti.storagenode.http.HttpStringConstants.*;
@@ -29,6 +27,10 @@ public abstract class EntityStorageService implements IEntityStorageService {
     @Autowired
     protected ObjectService objectService;
     @Autowired
+    protected ColdStorageWriteService coldStorageWriteService;
+    @Autowired
+    protected ColdStorageLookupService coldStorageLookupService;
+    @Autowired
     protected JacksonSerializer jacksonSerializer;
     protected ElasticSearchData objectType;
 
@@ -38,21 +40,21 @@ public abstract class EntityStorageService implements IEntityStorageService {
     }
 
     private <T extends IPropagatable> T retrieveObjectFromStorage(Hash hash) {
-        boolean fromColdStorage = false;
-        String objectAsJson = objectService.getObjectByHash(hash, fromColdStorage, objectType);
-
-        if (objectAsJson == null) {
-            fromColdStorage = true;
-            objectAsJson = objectService.getObjectByHash(hash, fromColdStorage, objectType);
-            if (objectAsJson == null) {
-                return null;
+        ColdStorageLookup<String> coldStorageLookup = coldStorageLookupService.lookup(() -> objectService.getObjectByHash(hash, true, objectType));
+        try {
+            String objectAsJson = objectService.getObjectByHash(hash, false, objectType);
+            if (verifyRetrievedSingleObject(hash, objectAsJson, false, objectType)) {
+                return jacksonSerializer.deserialize(objectAsJson);
             }
-        }
 
-        if (verifyRetrievedSingleObject(hash, objectAsJson, fromColdStorage, objectType)) {
-            return jacksonSerializer.deserialize(objectAsJson);
+            objectAsJson = coldStorageLookup.get();
+            if (verifyRetrievedSingleObject(hash, objectAsJson, true, objectType)) {
+                return jacksonSerializer.deserialize(objectAsJson);
+            }
+            return null;
+        } finally {
+            coldStorageLookup.cancel();
         }
-        return null;
     }
 
     protected boolean verifyRetrievedSingleObject(Hash objectHash, String objectAsJson, boolean fromColdStorage, ElasticSearchData objectType) {
@@ -71,9 +73,10 @@ public abstract class EntityStorageService implements IEntityStorageService {
         return false;
     }
 
-    private String replaceHotStorageObjectWithColdStorageObject(Hash objectHash, ElasticSearchData objectType) {
+    private String replaceHotStorageObjectWithColdStorageObject(Hash objectHash, ColdStorageLookup<Map<Hash, String>> coldStorageLookup, ElasticSearchData objectType) {
         try {
-            String coldStorageObjectAsJson = objectService.getObjectByHash(objectHash, true, objectType);
+            Map<Hash, String> coldStorageObjectsFromDBMap = coldStorageLookup.get();
+            String coldStorageObjectAsJson = coldStorageObjectsFromDBMap != null ? coldStorageObjectsFromDBMap.get(objectHash) : null;
             if (coldStorageObjectAsJson != null) {
                 if (!validateObjectDataIntegrity(objectHash, coldStorageObjectAsJson)) {
                     return null;
@@ -103,9 +106,8 @@ public abstract class EntityStorageService implements IEntityStorageService {
             RestStatus insertStatus = objectService.insertObjectJson(hash, objectAsJsonString, false, objectType);
             if (!insertStatus.equals(RestStatus.CREATED)) {
                 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new SerializableResponse(String.format(INSERT_OBJECT_ERROR, insertStatus.toString()), STATUS_ERROR));
-            } else {
-                objectService.insertObjectJson(hash, objectAsJsonString, true, objectType);
             }
+            coldStorageWriteService.write(objectType, Collections.singletonMap(hash, objectAsJsonString));
             return ResponseEntity.ok().body(new SerializableResponse(String.format(INSERT_OBJECT_SUCCESS, hash.toString())));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new SerializableResponse(e.getMessage(), STATUS_ERROR));
@@ -125,19 +127,13 @@ public abstract class EntityStorageService implements IEntityStorageService {
         insertResponseMap.forEach((hash, restStatus) -> {
             if (EnumSet.of(RestStatus.CREATED, RestStatus.OK).contains(restStatus)) {
                 hashToColdStorageObjectJsonDataMap.put(hash, hashToObjectJsonDataMap.get(hash));
+                hashToStoreResultMap.put(hash, Boolean.TRUE);
             } else {
                 hashToStoreResultMap.put(hash, Boolean.FALSE);
             }
         });
 
-        Map<Hash, RestStatus> insertColdResponseMap = objectService.insertMultiObjects(hashToColdStorageObjectJsonDataMap, true, objectType);
-        insertColdResponseMap.forEach((hash, restStatus) -> {
-            if (!restStatus.equals(RestStatus.CREATED) && !restStatus.equals(RestStatus.OK)) {
-                hashToStoreResultMap.put(hash, Boolean.FALSE);
-            } else {
-                hashToStoreResultMap.putIfAbsent(hash, Boolean.TRUE);
-            }
-        });
+        coldStorageWriteService.write(objectType, hashToColdStorageObjectJsonDataMap);
         return ResponseEntity.status(HttpStatus.OK).body(new AddHistoryEntitiesResponse(hashToStoreResultMap));
     }
 
@@ -157,18 +153,22 @@ public abstract class EntityStorageService implements IEntityStorageService {
     public Map<Hash, String> retrieveMultipleObjectsFromStorage(List<Hash> hashes) {
         Map<Hash, String> responsesMap = new HashMap<>();
 
-        Map<Hash, String> objectsFromDBMap = objectService.getMultiObjectsFromDb(hashes, false, objectType);
-
-        verifyEntitiesFromDbMap(responsesMap, objectsFromDBMap);
+        ColdStorageLookup<Map<Hash, String>> coldStorageLookup = coldStorageLookupService.lookup(() -> objectService.getMultiObjectsFromDb(hashes, true, objectType));
+        try {
+            Map<Hash, String> objectsFromDBMap = objectService.getMultiObjectsFromDb(hashes, false, objectType);
+            verifyEntitiesFromDbMap(responsesMap, objectsFromDBMap, coldStorageLookup);
+        } finally {
+            coldStorageLookup.cancel();
+        }
         return responsesMap;
 
     }
 
-    protected void verifyEntitiesFromDbMap(Map<Hash, String> responsesMap, Map<Hash, String> objectsFromDBMap) {
+    protected void verifyEntitiesFromDbMap(Map<Hash, String> responsesMap, Map<Hash, String> objectsFromDBMap, ColdStorageLookup<Map<Hash, String>> coldStorageLookup) {
         objectsFromDBMap.forEach((hash, objectAsJsonString) ->
                 {
                     if (!verifyRetrievedSingleObject(hash, objectAsJsonString, false, objectType)) {
-                        responsesMap.put(hash, replaceHotStorageObjectWithColdStorageObject(hash, objectType));
+                        responsesMap.put(hash, replaceHotStorageObjectWithColdStorageObject(hash, coldStorageLookup, objectType));
                     } else {
                         responsesMap.put(hash, objectAsJsonString);
                     }
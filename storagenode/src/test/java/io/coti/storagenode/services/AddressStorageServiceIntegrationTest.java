@@ -29,7 +29,8 @@ import java.util.Map;
 
 @ContextConfiguration(classes = {AddressStorageService.class,
         ObjectService.class, JacksonSerializer.class, GetHistoryAddressesRequestCrypto.class,
-        GetHistoryAddressesResponseCrypto.class, NodeCryptoHelper.class, DbConnectorService.class})
+        GetHistoryAddressesResponseCrypto.class, NodeCryptoHelper.class, DbConnectorService.class, ColdStorageWriteService.class,
+        ColdStorageLookupService.class})
 @TestPropertySource(locations = "classpath:test.properties")
 @SpringBootTest
 @RunWith(SpringRunner.class)
@@ -35,7 +35,7 @@ import static io.coti.basenode.http.BaseNodeHttpStringConstants.STATUS_ERROR;
 import static org.mockito.Mockito.when;
 
 @ContextConfiguration(classes = {AddressStorageService.class,
-        JacksonSerializer.class, BaseNodeValidationService.class})
+        JacksonSerializer.class, BaseNodeValidationService.class, ColdStorageLookupService.class})
 @TestPropertySource(locations = "classpath:test.properties")
 @SpringBootTest
 @RunWith(SpringRunner.class)
@@ -56,6 +56,8 @@ public class AddressStorageServiceTest {
     @MockBean
     private ObjectService objectService;
     @MockBean
+    private ColdStorageWriteService coldStorageWriteService;
+    @MockBean
     private DbConnectorService dbConnectorService;
     //
     @MockBean
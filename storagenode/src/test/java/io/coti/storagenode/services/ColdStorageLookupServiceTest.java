@@ -0,0 +1,99 @@
+package io.coti.storagenode.services;
+
+import io.coti.storagenode.services.ColdStorageLookupService.ColdStorageLookup;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ColdStorageLookupServiceTest {
+
+    private static final long LOOKUP_TIMEOUT_SECONDS = 10;
+
+    private ColdStorageLookupService coldStorageLookupService;
+
+    @Before
+    public void init() {
+        coldStorageLookupService = new ColdStorageLookupService();
+        ReflectionTestUtils.setField(coldStorageLookupService, "lookupThreads", 1);
+        coldStorageLookupService.init();
+    }
+
+    @After
+    public void shutdown() {
+        coldStorageLookupService.shutdown();
+    }
+
+    @Test
+    public void lookup_threadAvailable_queriedOnceInBackground() throws InterruptedException {
+        AtomicReference<Thread> queryThread = new AtomicReference<>();
+        AtomicInteger queries = new AtomicInteger();
+        CountDownLatch queried = new CountDownLatch(1);
+
+        ColdStorageLookup<String> coldStorageLookup = coldStorageLookupService.lookup(() -> {
+            queryThread.set(Thread.currentThread());
+            queries.incrementAndGet();
+            queried.countDown();
+            return "object";
+        });
+
+        Assert.assertTrue(queried.await(LOOKUP_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        Assert.assertEquals("object", coldStorageLookup.get());
+        Assert.assertEquals("object", coldStorageLookup.get());
+        Assert.assertEquals(1, queries.get());
+        Assert.assertNotSame(Thread.currentThread(), queryThread.get());
+    }
+
+    @Test
+    public void lookup_allThreadsBusy_queriedByCallerOnlyOnGet() throws InterruptedException {
+        CountDownLatch busyLookupStarted = new CountDownLatch(1);
+        CountDownLatch busyLookupReleased = new CountDownLatch(1);
+        coldStorageLookupService.lookup(() -> {
+            busyLookupStarted.countDown();
+            try {
+                busyLookupReleased.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+        Assert.assertTrue(busyLookupStarted.await(LOOKUP_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        AtomicReference<Thread> queryThread = new AtomicReference<>();
+
+        ColdStorageLookup<String> coldStorageLookup = coldStorageLookupService.lookup(() -> {
+            queryThread.set(Thread.currentThread());
+            return "object";
+        });
+        Assert.assertNull(queryThread.get());
+
+        Assert.assertEquals("object", coldStorageLookup.get());
+        Assert.assertSame(Thread.currentThread(), queryThread.get());
+        busyLookupReleased.countDown();
+    }
+
+    @Test
+    public void cancel_runningLookup_lookupThreadInterrupted() throws InterruptedException {
+        CountDownLatch lookupStarted = new CountDownLatch(1);
+        CountDownLatch lookupInterrupted = new CountDownLatch(1);
+        ColdStorageLookup<String> coldStorageLookup = coldStorageLookupService.lookup(() -> {
+            lookupStarted.countDown();
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(LOOKUP_TIMEOUT_SECONDS));
+            } catch (InterruptedException e) {
+                lookupInterrupted.countDown();
+            }
+            return null;
+        });
+        Assert.assertTrue(lookupStarted.await(LOOKUP_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        coldStorageLookup.cancel();
+
+        Assert.assertTrue(lookupInterrupted.await(LOOKUP_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,109 @@
+package io.coti.storagenode.services;
+
+import io.coti.basenode.data.Hash;
+import io.coti.storagenode.data.enums.ElasticSearchData;
+import io.coti.storagenode.services.interfaces.IObjectService;
+import org.elasticsearch.rest.RestStatus;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ColdStorageWriteServiceTest {
+
+    private static final long WRITE_TIMEOUT_MILLIS = 10000;
+
+    private ColdStorageWriteService coldStorageWriteService;
+    private IObjectService objectService;
+    private List<Integer> bulkSizes;
+    private Map<Hash, String> coldStorage;
+
+    @Before
+    public void init() {
+        objectService = mock(IObjectService.class);
+        bulkSizes = new CopyOnWriteArrayList<>();
+        coldStorage = new ConcurrentHashMap<>();
+        coldStorageWriteService = new ColdStorageWriteService();
+        ReflectionTestUtils.setField(coldStorageWriteService, "objectService", objectService);
+        ReflectionTestUtils.setField(coldStorageWriteService, "writeQueueSize", 100);
+        ReflectionTestUtils.setField(coldStorageWriteService, "bulkSize", 10);
+        ReflectionTestUtils.setField(coldStorageWriteService, "maxRetries", 3);
+        ReflectionTestUtils.setField(coldStorageWriteService, "retryDelayInMillis", 1L);
+    }
+
+    @After
+    public void shutdown() {
+        coldStorageWriteService.shutdown();
+    }
+
+    @Test
+    public void write_manyObjects_writtenInBulks() throws InterruptedException {
+        when(objectService.insertMultiObjects(anyMap(), eq(true), any(ElasticSearchData.class))).thenAnswer(invocation -> insert(invocation.getArgument(0)));
+        coldStorageWriteService.init();
+        Map<Hash, String> hashToObjectJsonDataMap = createObjects(25);
+
+        coldStorageWriteService.write(ElasticSearchData.TRANSACTIONS, hashToObjectJsonDataMap);
+
+        waitForColdStorage(hashToObjectJsonDataMap.size());
+        Assert.assertEquals(hashToObjectJsonDataMap, coldStorage);
+        Assert.assertTrue(bulkSizes.stream().allMatch(bulkSize -> bulkSize <= 10));
+        Assert.assertEquals(25, bulkSizes.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    public void write_failedInsertion_retried() throws InterruptedException {
+        AtomicBoolean failed = new AtomicBoolean();
+        when(objectService.insertMultiObjects(anyMap(), eq(true), any(ElasticSearchData.class))).thenAnswer(invocation -> {
+            Map<Hash, String> hashToObjectJsonDataMap = invocation.getArgument(0);
+            if (failed.compareAndSet(false, true)) {
+                Map<Hash, RestStatus> insertResponseMap = new HashMap<>();
+                hashToObjectJsonDataMap.keySet().forEach(hash -> insertResponseMap.put(hash, RestStatus.SERVICE_UNAVAILABLE));
+                return insertResponseMap;
+            }
+            return insert(hashToObjectJsonDataMap);
+        });
+        coldStorageWriteService.init();
+        Map<Hash, String> hashToObjectJsonDataMap = createObjects(3);
+
+        coldStorageWriteService.write(ElasticSearchData.ADDRESSES, hashToObjectJsonDataMap);
+
+        waitForColdStorage(hashToObjectJsonDataMap.size());
+        Assert.assertTrue(failed.get());
+        Assert.assertEquals(hashToObjectJsonDataMap, coldStorage);
+    }
+
+    private Map<Hash, RestStatus> insert(Map<Hash, String> hashToObjectJsonDataMap) {
+        bulkSizes.add(hashToObjectJsonDataMap.size());
+        coldStorage.putAll(hashToObjectJsonDataMap);
+        Map<Hash, RestStatus> insertResponseMap = new HashMap<>();
+        hashToObjectJsonDataMap.keySet().forEach(hash -> insertResponseMap.put(hash, RestStatus.CREATED));
+        return insertResponseMap;
+    }
+
+    private Map<Hash, String> createObjects(int numberOfObjects) {
+        Map<Hash, String> hashToObjectJsonDataMap = new LinkedHashMap<>();
+        for (int i = 0; i < numberOfObjects; i++) {
+            hashToObjectJsonDataMap.put(new Hash(i), "{\"index\":" + i + "}");
+        }
+        return hashToObjectJsonDataMap;
+    }
+
+    private void waitForColdStorage(int numberOfObjects) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WRITE_TIMEOUT_MILLIS;
+        while (coldStorage.size() < numberOfObjects && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
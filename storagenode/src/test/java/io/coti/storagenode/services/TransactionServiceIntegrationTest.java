@@ -39,7 +39,8 @@ import static testUtils.TestUtils.createRandomTransaction;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 @ContextConfiguration(classes = {ObjectService.class, DbConnectorService.class, TransactionStorageService.class,
-        CryptoHelper.class, AddressStorageService.class, JacksonSerializer.class
+        CryptoHelper.class, AddressStorageService.class, JacksonSerializer.class, ColdStorageWriteService.class,
+        ColdStorageLookupService.class
 })
 @TestPropertySource(locations = "classpath:test.properties")
 @SpringBootTest
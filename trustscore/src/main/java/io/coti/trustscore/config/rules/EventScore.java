@@ -1,13 +1,33 @@
 package io.coti.trustscore.config.rules;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.coti.trustscore.utils.CompiledExpression;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 @Data
 public abstract class EventScore {
 
+    public static final String DECAY_ARGUMENT = "T";
+
     private String name;
 
     private double weight;
 
     private String decay;
+
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private CompiledExpression compiledDecay;
+
+    public void setDecay(String decay) {
+        this.decay = decay;
+        compiledDecay = decay == null ? null : new CompiledExpression(decay, DECAY_ARGUMENT);
+    }
+
+    public double evaluateDecay(double numberOfDecays) {
+        return compiledDecay.evaluate(numberOfDecays);
+    }
 }
@@ -1,11 +1,40 @@
 package io.coti.trustscore.config.rules;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.coti.trustscore.data.Enums.TransactionEventScoreType;
+import io.coti.trustscore.utils.CompiledExpression;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 @Data
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class TransactionEventScore extends EventScore {
 
     private String nonlinearFunction;
+
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private volatile CompiledExpression compiledNonlinearFunction;
+
+    public void setNonlinearFunction(String nonlinearFunction) {
+        this.nonlinearFunction = nonlinearFunction;
+        compiledNonlinearFunction = null;
+    }
+
+    public CompiledExpression compileNonlinearFunction() {
+        CompiledExpression nonlinearFunctionExpression = compiledNonlinearFunction;
+        if (nonlinearFunctionExpression == null) {
+            nonlinearFunctionExpression = new CompiledExpression(nonlinearFunction,
+                    TransactionEventScoreType.enumFromString(getName()).getNonlinearFunctionArgument());
+            compiledNonlinearFunction = nonlinearFunctionExpression;
+        }
+        return nonlinearFunctionExpression;
+    }
+
+    public double evaluateNonlinearFunction(double argumentValue) {
+        return compileNonlinearFunction().evaluate(argumentValue);
+    }
 }
@@ -2,14 +2,20 @@ package io.coti.trustscore.data.Enums;
 
 public enum TransactionEventScoreType {
 
-    TRANSACTION_FREQUENCY("TransactionFrequency"),
-    TURNOVER("Turnover"),
-    AVERAGE_BALANCE("AverageBalance");
+    TRANSACTION_FREQUENCY("TransactionFrequency", "N"),
+    TURNOVER("Turnover", "T"),
+    AVERAGE_BALANCE("AverageBalance", "B");
 
     private String text;
+    private String nonlinearFunctionArgument;
 
-    TransactionEventScoreType(String text) {
+    TransactionEventScoreType(String text, String nonlinearFunctionArgument) {
         this.text = text;
+        this.nonlinearFunctionArgument = nonlinearFunctionArgument;
+    }
+
+    public String getNonlinearFunctionArgument() {
+        return nonlinearFunctionArgument;
     }
 
     public static TransactionEventScoreType enumFromString(String text) {
@@ -96,9 +96,15 @@ public class TrustScoreService {
 
     private RulesData rulesData;
 
+    @Value("${user.trust.score.cache.size: 100000}")
+    private long userTrustScoreCacheSize;
+
+    private UserTrustScoreCache userTrustScoreCache;
+
     @PostConstruct
     private void init() {
         log.info("{} is up", this.getClass().getSimpleName());
+        userTrustScoreCache = new UserTrustScoreCache(userTrustScoreCacheSize);
         bucketEventServiceList = new ArrayList<>();
         rulesData = loadRulesFromJsonFile();
         initBuckets();
@@ -159,6 +165,7 @@ public class TrustScoreService {
             trustScores.put(trustScoreData);
 
             updateUserTypeInBuckets(trustScoreData);
+            userTrustScoreCache.invalidate(trustScoreData.getUserHash());
 
             SetUserTypeResponse setUserTypeResponse = new SetUserTypeResponse(userType, request.getUserHash());
             return ResponseEntity.status(HttpStatus.OK)
@@ -274,6 +281,7 @@ public class TrustScoreService {
                 trustScores.put(oldTrustScoreData);
                 kycTrustScoreResponse = new SetKycTrustScoreResponse(oldTrustScoreData);
             }
+            userTrustScoreCache.invalidate(request.getUserHash());
 
             InsertEventRequest insertEventRequest = new InsertEventRequest();
             insertEventRequest.setEventDate(Instant.now());
@@ -309,6 +317,7 @@ public class TrustScoreService {
             } else {
                 trustScoreData.setZeroTrustFlag(request.isZeroTrustFlag());
                 trustScores.put(trustScoreData);
+                userTrustScoreCache.invalidate(trustScoreData.getUserHash());
 
                 return ResponseEntity.status(HttpStatus.OK)
                         .body(new SetUserZeroTrustFlagResponse(trustScoreData));
@@ -405,6 +414,7 @@ public class TrustScoreService {
         bucketTransactionService.addEventToCalculations(transactionEventData, bucketTransactionEventsData);
 
         bucketEvents.put(bucketTransactionEventsData);
+        userTrustScoreCache.invalidate(trustScoreData.getUserHash());
 
         if (transactionData.getType() == TransactionType.Payment && transactionData.getAmount().doubleValue() > 0) {
             addTransactionToChargeBackBucket(transactionData.getSenderHash(), transactionData);
@@ -417,9 +427,14 @@ public class TrustScoreService {
         BucketChargeBackEventsData bucketChargeBackEventsData = (BucketChargeBackEventsData) bucketEvents.getByHash(bucketHash);
         bucketChargeBackEventsService.addPaymentTransactionToCalculations(transactionData, bucketChargeBackEventsData);
         bucketEvents.put(bucketChargeBackEventsData);
+        userTrustScoreCache.invalidate(userHash);
     }
 
     public double calculateUserTrustScore(TrustScoreData trustScoreData) {
+        return userTrustScoreCache.get(trustScoreData.getUserHash(), () -> calculateUserTrustScoreFromBuckets(trustScoreData));
+    }
+
+    private double calculateUserTrustScoreFromBuckets(TrustScoreData trustScoreData) {
 
         if (trustScoreData.getZeroTrustFlag() != null && trustScoreData.getZeroTrustFlag()) {
             return 0;
@@ -497,6 +512,7 @@ public class TrustScoreService {
                 bucketInitialTrustScoreEventsData);
 
         bucketEvents.put(bucketInitialTrustScoreEventsData);
+        userTrustScoreCache.invalidate(request.getUserHash());
         return new SetInitialTrustScoreEventResponse(request.getUserHash(), request.getEventType(), request.getInitialTrustScoreType(), request.getScore());
     }
 
@@ -509,6 +525,7 @@ public class TrustScoreService {
 
             bucketChargeBackEventsService.addEventToCalculations(chargeBackEventsData, bucketChargeBackEventsData);
             bucketEvents.put(bucketChargeBackEventsData);
+            userTrustScoreCache.invalidate(request.getUserHash());
 
             Hash transactionDataHash = (request.getTransactionData() != null) ? request.getTransactionData().getHash() : null;
             return new SetHighFrequencyEventScoreResponse(request.getUserHash(), request.getEventType(), request.getHighFrequencyEventScoreType(), transactionDataHash);
@@ -529,6 +546,7 @@ public class TrustScoreService {
         } catch (Exception e) {
             log.error(e.toString());
         }
+        userTrustScoreCache.invalidate(request.getUserHash());
         return new SetNotFulfilmentEventScoreResponse(request.getUserHash(), request.getEventType(), request.getCompensableEventScoreType());
     }
 
@@ -544,6 +562,7 @@ public class TrustScoreService {
         } catch (Exception e) {
             log.error(e.toString());
         }
+        userTrustScoreCache.invalidate(request.getUserHash());
 
         Hash transactionDataHash = (request.getTransactionData() != null) ? request.getTransactionData().getHash() : null;
         return new SetBehaviorEventResponse(request.getUserHash(), request.getEventType(), request.getBehaviorEventsScoreType(), transactionDataHash);
@@ -0,0 +1,61 @@
+package io.coti.trustscore.services;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.coti.basenode.data.Hash;
+import io.coti.trustscore.utils.DatesCalculation;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Calculated user trust scores, valid until the user's buckets change or the day changes and the bucket scores need to decay again.
+ */
+class UserTrustScoreCache {
+
+    private static final int INVALIDATION_STRIPES = 64;
+    private final Cache<Hash, CachedUserTrustScore> cache;
+    private final AtomicLongArray invalidationStamps = new AtomicLongArray(INVALIDATION_STRIPES);
+
+    UserTrustScoreCache(long maximumSize) {
+        cache = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    double get(Hash userHash, DoubleSupplier trustScoreCalculator) {
+        Date today = DatesCalculation.setDateOnBeginningOfDay(new Date());
+        CachedUserTrustScore cachedUserTrustScore = cache.getIfPresent(userHash);
+        if (cachedUserTrustScore != null && cachedUserTrustScore.calculationDay.equals(today)) {
+            return cachedUserTrustScore.trustScore;
+        }
+        int stripe = getStripe(userHash);
+        long stamp = invalidationStamps.get(stripe);
+        double trustScore = trustScoreCalculator.getAsDouble();
+        cachedUserTrustScore = new CachedUserTrustScore(trustScore, today);
+        cache.put(userHash, cachedUserTrustScore);
+        if (invalidationStamps.get(stripe) != stamp) {
+            cache.asMap().remove(userHash, cachedUserTrustScore);
+        }
+        return trustScore;
+    }
+
+    void invalidate(Hash userHash) {
+        invalidationStamps.incrementAndGet(getStripe(userHash));
+        cache.invalidate(userHash);
+    }
+
+    private int getStripe(Hash userHash) {
+        return (userHash.hashCode() & Integer.MAX_VALUE) % INVALIDATION_STRIPES;
+    }
+
+    private static class CachedUserTrustScore {
+
+        private final double trustScore;
+        private final Date calculationDay;
+
+        private CachedUserTrustScore(double trustScore, Date calculationDay) {
+            this.trustScore = trustScore;
+            this.calculationDay = calculationDay;
+        }
+    }
+}
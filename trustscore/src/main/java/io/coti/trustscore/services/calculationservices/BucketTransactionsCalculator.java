@@ -8,13 +8,13 @@ import io.coti.trustscore.data.Buckets.BucketTransactionEventsData;
 import io.coti.trustscore.data.Enums.TransactionEventScoreType;
 import io.coti.trustscore.data.Enums.UserType;
 import io.coti.trustscore.data.Events.BalanceCountAndContribution;
-import io.coti.trustscore.services.calculationservices.interfaces.IScoreCalculator;
 import io.coti.trustscore.utils.DatesCalculation;
 import javafx.util.Pair;
 import lombok.Data;
 
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -38,6 +38,8 @@ public class BucketTransactionsCalculator extends BucketCalculator {
     public static void init(RulesData rulesData) {
         userToTransactionEventsScoreMapping = rulesData.getUserTypeToUserScoreMap().entrySet().stream().
                 collect(Collectors.toMap(e -> e.getKey(), e -> e.getValue().getTransactionEventScore()));
+        userToTransactionEventsScoreMapping.values().forEach(transactionEventsScore ->
+                transactionEventsScore.getTransactionEventScoreList().forEach(TransactionEventScore::compileNonlinearFunction));
     }
 
 
@@ -170,28 +172,17 @@ public class BucketTransactionsCalculator extends BucketCalculator {
 
     public void setCurrentDayTransactionsScores() {
 
-        Map<TransactionEventScore, String> transactionEventScoreToCalculationFormulaMap = new ConcurrentHashMap<>();
-        transactionEventScoreToCalculationFormulaMap.put(transactionEventsScore.getTransactionEventScoreMap()
-                .get(TransactionEventScoreType.TURNOVER), createTurnOverScoreFormula(bucketTransactionEventsData));
-        transactionEventScoreToCalculationFormulaMap.put(transactionEventsScore.getTransactionEventScoreMap()
-                .get(TransactionEventScoreType.TRANSACTION_FREQUENCY), createTransactionFrequencyScoreFormula());
-
-        IScoreCalculator functionCalculator = new ScoreCalculator(transactionEventScoreToCalculationFormulaMap);
-        Map<TransactionEventScore, Double> eventScoresToFunctionalScoreMap = functionCalculator.calculate();
+        Map<TransactionEventScore, Double> eventScoresToFunctionalScoreMap = new HashMap<>();
+        eventScoresToFunctionalScoreMap.put(getEventScoreByEventScoreType(TransactionEventScoreType.TURNOVER),
+                calculateTurnOverScore(bucketTransactionEventsData));
+        eventScoresToFunctionalScoreMap.put(getEventScoreByEventScoreType(TransactionEventScoreType.TRANSACTION_FREQUENCY),
+                calculateTransactionFrequencyScore());
         updateBucketScoresByFunction(eventScoresToFunctionalScoreMap);
     }
 
     public void setCurrentMonthTransactionsScores() {
-        Map<TransactionEventScore, Map<Date, String>> eventScoresToDatesScoreFormulaMap = new ConcurrentHashMap<>();
-        eventScoresToDatesScoreFormulaMap.put(transactionEventsScore.getTransactionEventScoreMap()
-                .get(TransactionEventScoreType.AVERAGE_BALANCE), createLastDaysAverageBalanceScoreFormula());
         // Calculate every day from the last days balance score.
-        VectorScoreCalculator vectorScoreCalculator = new VectorScoreCalculator(eventScoresToDatesScoreFormulaMap);
-        Map<TransactionEventScore, Map<Date, Double>> latestTransactionEventScoreToCalculationFormulaMap =
-                (vectorScoreCalculator).calculateVectorScore();
-        Map<Date, Double> latestBalanceTransactionEventScoreToCalculationFormulaMap =
-                latestTransactionEventScoreToCalculationFormulaMap.get(transactionEventsScore.getTransactionEventScoreMap()
-                        .get(TransactionEventScoreType.AVERAGE_BALANCE));
+        Map<Date, Double> latestBalanceTransactionEventScoreToCalculationFormulaMap = calculateLastDaysAverageBalanceScores();
         updateCurrentMonthBalance(bucketTransactionEventsData, latestBalanceTransactionEventScoreToCalculationFormulaMap);
         updateCurrentMonthBalanceContribution();
     }
@@ -221,15 +212,14 @@ public class BucketTransactionsCalculator extends BucketCalculator {
     }
 
 
-    public Map<Date, String> createLastDaysAverageBalanceScoreFormula() {
+    public Map<Date, Double> calculateLastDaysAverageBalanceScores() {
 
-        String nonlinearFormula = transactionEventsScore.getTransactionEventScoreMap()
-                .get(TransactionEventScoreType.AVERAGE_BALANCE).getNonlinearFunction();
+        TransactionEventScore averageBalanceEventScore = getEventScoreByEventScoreType(TransactionEventScoreType.AVERAGE_BALANCE);
         Map<Date, BalanceCountAndContribution> currentMonthBalanceByDayMap
                 = bucketTransactionEventsData.getCurrentMonthDayToBalanceCountAndContribution();
         return currentMonthBalanceByDayMap.entrySet().stream()
                 .filter(x -> x.getValue().getContribution() == 0)
-                .collect(Collectors.toMap(e -> e.getKey(), e -> nonlinearFormula.replace("B", String.valueOf(e.getValue().getCount()))));//.concat(
+                .collect(Collectors.toMap(e -> e.getKey(), e -> averageBalanceEventScore.evaluateNonlinearFunction(e.getValue().getCount())));
     }
 
     private void updateCurrentMonthBalanceContribution() {
@@ -266,34 +256,35 @@ public class BucketTransactionsCalculator extends BucketCalculator {
 
     private void updateBucketScoresByFunction(Map<TransactionEventScore, Double> transactionEventScoreToUpdatedBucketValuesMap) {
 
-        if (transactionEventScoreToUpdatedBucketValuesMap.containsKey(getEventScoreByEventScoreType(TransactionEventScoreType.TURNOVER))) {
-            bucketTransactionEventsData.setCurrentDateTurnOverContribution(
-                    transactionEventScoreToUpdatedBucketValuesMap.get(getEventScoreByEventScoreType(TransactionEventScoreType.TURNOVER)));
+        Double turnOverContribution = getUpdatedBucketValue(transactionEventScoreToUpdatedBucketValuesMap, TransactionEventScoreType.TURNOVER);
+        if (turnOverContribution != null) {
+            bucketTransactionEventsData.setCurrentDateTurnOverContribution(turnOverContribution);
         }
-        if (transactionEventScoreToUpdatedBucketValuesMap.containsKey(getEventScoreByEventScoreType(TransactionEventScoreType.AVERAGE_BALANCE))) {
-            bucketTransactionEventsData.setCurrentMonthBalanceContribution(
-                    transactionEventScoreToUpdatedBucketValuesMap.get(getEventScoreByEventScoreType(TransactionEventScoreType.AVERAGE_BALANCE)));
+        Double monthBalanceContribution = getUpdatedBucketValue(transactionEventScoreToUpdatedBucketValuesMap, TransactionEventScoreType.AVERAGE_BALANCE);
+        if (monthBalanceContribution != null) {
+            bucketTransactionEventsData.setCurrentMonthBalanceContribution(monthBalanceContribution);
         }
-        if (transactionEventScoreToUpdatedBucketValuesMap.containsKey(getEventScoreByEventScoreType(TransactionEventScoreType.TRANSACTION_FREQUENCY))) {
-            bucketTransactionEventsData.setCurrentDateNumberOfTransactionsContribution(
-                    transactionEventScoreToUpdatedBucketValuesMap.get(getEventScoreByEventScoreType(TransactionEventScoreType.TRANSACTION_FREQUENCY)));
+        Double numberOfTransactionsContribution = getUpdatedBucketValue(transactionEventScoreToUpdatedBucketValuesMap, TransactionEventScoreType.TRANSACTION_FREQUENCY);
+        if (numberOfTransactionsContribution != null) {
+            bucketTransactionEventsData.setCurrentDateNumberOfTransactionsContribution(numberOfTransactionsContribution);
         }
     }
 
+    private Double getUpdatedBucketValue(Map<TransactionEventScore, Double> transactionEventScoreToUpdatedBucketValuesMap, TransactionEventScoreType eventScoreType) {
+        TransactionEventScore eventScore = getEventScoreByEventScoreType(eventScoreType);
+        return eventScore != null ? transactionEventScoreToUpdatedBucketValuesMap.get(eventScore) : null;
+    }
 
-    public String createTransactionFrequencyScoreFormula() {
-        String nonlinearFunctionformulaString = transactionEventsScore.getTransactionEventScoreMap()
-                .get(TransactionEventScoreType.TRANSACTION_FREQUENCY).getNonlinearFunction();
 
+    public double calculateTransactionFrequencyScore() {
         double numberOfTransactions = bucketTransactionEventsData.getCurrentDateNumberOfTransactions();
-        return nonlinearFunctionformulaString.replace("N", String.valueOf(numberOfTransactions));
+        return getEventScoreByEventScoreType(TransactionEventScoreType.TRANSACTION_FREQUENCY).evaluateNonlinearFunction(numberOfTransactions);
     }
 
 
-    public String createTurnOverScoreFormula(BucketTransactionEventsData bucketTransactionEventsData) {
-        String nonlinearFunctionString = transactionEventsScore.getTransactionEventScoreMap().get(TransactionEventScoreType.TURNOVER).getNonlinearFunction();
+    public double calculateTurnOverScore(BucketTransactionEventsData bucketTransactionEventsData) {
         double turnover = bucketTransactionEventsData.getCurrentDateTurnOver();
-        return nonlinearFunctionString.replace("T", String.valueOf(turnover));
+        return getEventScoreByEventScoreType(TransactionEventScoreType.TURNOVER).evaluateNonlinearFunction(turnover);
     }
 
     public double getBucketSumScore(BucketTransactionEventsData bucketTransactionEventsData) {
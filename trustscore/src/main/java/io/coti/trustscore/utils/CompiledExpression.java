@@ -0,0 +1,48 @@
+package io.coti.trustscore.utils;
+
+import lombok.Getter;
+import org.mariuszgromada.math.mxparser.Argument;
+import org.mariuszgromada.math.mxparser.Expression;
+
+/**
+ * A rule formula that is parsed once per thread and evaluated many times with different argument values. mXparser expressions
+ * are not thread safe, so each thread keeps its own expression with its own bound arguments.
+ */
+public class CompiledExpression {
+
+    @Getter
+    private final String formula;
+    private final String[] argumentNames;
+    private final ThreadLocal<BoundExpression> boundExpressions;
+
+    public CompiledExpression(String formula, String... argumentNames) {
+        this.formula = formula;
+        this.argumentNames = argumentNames.clone();
+        boundExpressions = ThreadLocal.withInitial(() -> new BoundExpression(this.formula, this.argumentNames));
+    }
+
+    public double evaluate(double... argumentValues) {
+        if (argumentValues.length != argumentNames.length) {
+            throw new IllegalArgumentException("Expected " + argumentNames.length + " argument values for " + formula);
+        }
+        BoundExpression boundExpression = boundExpressions.get();
+        for (int i = 0; i < argumentValues.length; i++) {
+            boundExpression.arguments[i].setArgumentValue(argumentValues[i]);
+        }
+        return boundExpression.expression.calculate();
+    }
+
+    private static class BoundExpression {
+
+        private final Expression expression;
+        private final Argument[] arguments;
+
+        private BoundExpression(String formula, String[] argumentNames) {
+            arguments = new Argument[argumentNames.length];
+            for (int i = 0; i < argumentNames.length; i++) {
+                arguments[i] = new Argument(argumentNames[i], Double.NaN);
+            }
+            expression = new Expression(formula, arguments);
+        }
+    }
+}
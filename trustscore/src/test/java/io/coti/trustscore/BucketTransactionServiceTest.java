@@ -2,6 +2,7 @@ package io.coti.trustscore;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.coti.basenode.config.MetricsConfig;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.TransactionData;
 import io.coti.basenode.data.TransactionType;
@@ -40,7 +41,7 @@ import static io.coti.trustscore.utils.MathCalculation.ifTwoNumbersAreEqualOrAlm
 @SpringBootTest
 @ContextConfiguration(classes = {BucketTransactionService.class,
         BucketTransactionsCalculator.class,
-        BaseNodeRocksDBConnector.class,
+        BaseNodeRocksDBConnector.class, MetricsConfig.class,
         BucketTransactionService.class,
         BucketTransactionEvents.class
 })
@@ -1,6 +1,7 @@
 package io.coti.trustscore.services;
 
 
+import io.coti.basenode.config.MetricsConfig;
 import io.coti.basenode.database.BaseNodeRocksDBConnector;
 import io.coti.trustscore.data.Buckets.BucketInitialTrustScoreEventsData;
 import io.coti.trustscore.data.Enums.EventType;
@@ -27,7 +28,7 @@ import static io.coti.trustscore.utils.DatesCalculation.decreaseTodayDateByDays;
 @RunWith(SpringRunner.class)
 @SpringBootTest
 @ContextConfiguration(classes = {BucketInitialTrustScoreEventsService.class,
-        BaseNodeRocksDBConnector.class
+        BaseNodeRocksDBConnector.class, MetricsConfig.class
 })
 public class BucketInitialTrustScoreEventsServiceTest {
 
@@ -0,0 +1,37 @@
+package io.coti.trustscore.services;
+
+import io.coti.basenode.data.Hash;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class UserTrustScoreCacheTest {
+
+    private final Hash userHash = new Hash("0a1b2c");
+
+    @Test
+    public void get_calculatesOnceUntilInvalidated() {
+        UserTrustScoreCache userTrustScoreCache = new UserTrustScoreCache(10);
+        AtomicInteger calculations = new AtomicInteger();
+
+        Assert.assertEquals(41.0, userTrustScoreCache.get(userHash, () -> 40.0 + calculations.incrementAndGet()), 0);
+        Assert.assertEquals(41.0, userTrustScoreCache.get(userHash, () -> 40.0 + calculations.incrementAndGet()), 0);
+        Assert.assertEquals(1, calculations.get());
+
+        userTrustScoreCache.invalidate(userHash);
+        Assert.assertEquals(42.0, userTrustScoreCache.get(userHash, () -> 40.0 + calculations.incrementAndGet()), 0);
+        Assert.assertEquals(2, calculations.get());
+    }
+
+    @Test
+    public void get_invalidatedDuringCalculation_notCached() {
+        UserTrustScoreCache userTrustScoreCache = new UserTrustScoreCache(10);
+
+        Assert.assertEquals(10.0, userTrustScoreCache.get(userHash, () -> {
+            userTrustScoreCache.invalidate(userHash);
+            return 10.0;
+        }), 0);
+        Assert.assertEquals(20.0, userTrustScoreCache.get(userHash, () -> 20.0), 0);
+    }
+}
@@ -0,0 +1,55 @@
+package io.coti.trustscore.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class CompiledExpressionTest {
+
+    private static final String DECAY_FORMULA = "exp(-ln(2)/30*T)";
+    private static final String NONLINEAR_FORMULA = "tanh(N/400*1.098612289)";
+
+    @Test
+    public void evaluate_matchesStringEvaluation() {
+        CompiledExpression decay = new CompiledExpression(DECAY_FORMULA, "T");
+        CompiledExpression nonlinearFunction = new CompiledExpression(NONLINEAR_FORMULA, "N");
+
+        for (int numberOfDecays = -40; numberOfDecays <= 400; numberOfDecays++) {
+            Assert.assertEquals(MathCalculation.evaluateExpression(DECAY_FORMULA.replaceAll("T", String.valueOf(numberOfDecays))),
+                    decay.evaluate(numberOfDecays), 0);
+        }
+        for (double numberOfTransactions : new double[]{0, 1, 17.5, 399.99, 123456.789}) {
+            Assert.assertEquals(MathCalculation.evaluateExpression(NONLINEAR_FORMULA.replace("N", String.valueOf(numberOfTransactions))),
+                    nonlinearFunction.evaluate(numberOfTransactions), 0);
+        }
+    }
+
+    @Test
+    public void evaluate_concurrentThreads() throws Exception {
+        CompiledExpression decay = new CompiledExpression(DECAY_FORMULA, "T");
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        List<Callable<Boolean>> evaluations = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            int numberOfDecays = i;
+            evaluations.add(() -> {
+                double expected = MathCalculation.evaluateExpression(DECAY_FORMULA.replaceAll("T", String.valueOf(numberOfDecays)));
+                for (int j = 0; j < 1000; j++) {
+                    if (decay.evaluate(numberOfDecays) != expected) {
+                        return false;
+                    }
+                }
+                return true;
+            });
+        }
+        for (Future<Boolean> evaluation : executorService.invokeAll(evaluations)) {
+            Assert.assertTrue(evaluation.get());
+        }
+        executorService.shutdown();
+    }
+}
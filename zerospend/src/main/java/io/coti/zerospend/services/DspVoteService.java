@@ -11,6 +11,7 @@ import io.coti.basenode.services.TransactionIndexService;
 import io.coti.basenode.services.interfaces.INetworkService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
@@ -35,14 +36,16 @@ public class DspVoteService extends BaseNodeDspVoteService {
     private DspConsensusCrypto dspConsensusCrypto;
     @Autowired
     private INetworkService networkService;
-    private ConcurrentMap<Hash, List<DspVote>> transactionHashToVotesListMapping;
+    @Value("${dsp.vote.timeout.seconds: 300}")
+    private long dspVoteTimeoutSeconds;
+    private ConcurrentMap<Hash, DspVoteTally> transactionHashToVoteTallyMapping;
     private Map<Hash, Hash> lockVotedTransactionRecordHashMap = new ConcurrentHashMap<>();
     private final Object lock = new Object();
     private Map<Hash, HashSet<TransactionDspVote>> missingTransactionsAwaitingHandling;
 
     @Override
     public void init() {
-        transactionHashToVotesListMapping = new ConcurrentHashMap<>();
+        transactionHashToVoteTallyMapping = new ConcurrentHashMap<>();
         missingTransactionsAwaitingHandling = new ConcurrentHashMap<>();
         super.init();
     }
@@ -71,7 +74,7 @@ public class DspVoteService extends BaseNodeDspVoteService {
         try {
             synchronized (addLockToLockMap(transactionHash)) {
                 transactionVotes.put(transactionVoteData);
-                transactionHashToVotesListMapping.put(transactionHash, new LinkedList<>());
+                transactionHashToVoteTallyMapping.put(transactionHash, new DspVoteTally(dspHashList.size()));
 
                 HashSet<TransactionDspVote> transactionDspVotesAwaitingHandling = missingTransactionsAwaitingHandling.get(transactionHash);
                 if (transactionDspVotesAwaitingHandling != null && !transactionDspVotesAwaitingHandling.isEmpty()) {
@@ -96,6 +99,9 @@ public class DspVoteService extends BaseNodeDspVoteService {
         }
     }
 
+    /**
+     * Must be called while holding the lock of the transaction, so the decision is published under the same lock as the votes are counted.
+     */
     private void handleDspVote(TransactionDspVote transactionDspVote, TransactionVoteData transactionVoteData, Hash voterDspHash, Hash transactionHash) {
         if (!transactionVoteData.getLegalVoterDspHashes().contains(voterDspHash)) {
             throw new DspVoteException(String.format("Unauthorized Dsp vote received. Sender =  %s, Transaction =  %s", voterDspHash, transactionHash));
@@ -103,12 +109,20 @@ public class DspVoteService extends BaseNodeDspVoteService {
         if (!transactionDspVoteCrypto.verifySignature(transactionDspVote)) {
             throw new DspVoteException(String.format("Invalid vote signature. Sender =  %s, Transaction = %s", voterDspHash, transactionHash));
         }
-        if (transactionHashToVotesListMapping.get(transactionHash) == null) {
+        DspVoteTally dspVoteTally = transactionHashToVoteTallyMapping.get(transactionHash);
+        if (dspVoteTally == null) {
             log.debug("Dsp vote result already published");
             return;
         }
         log.debug("Adding new vote: {}", transactionDspVote);
-        transactionHashToVotesListMapping.get(transactionHash).add(new DspVote(transactionDspVote));
+        Boolean isLegalTransaction = dspVoteTally.addVote(new DspVote(transactionDspVote));
+        if (isLegalTransaction == null) {
+            log.debug("Undecided majority for transaction {}", transactionHash);
+            return;
+        }
+        publishDecision(transactionHash, dspVoteTally.getDspHashToVoteMapping(), isLegalTransaction);
+        transactionHashToVoteTallyMapping.remove(transactionHash, dspVoteTally);
+        log.debug("{} vote majority achieved for transaction {}", isLegalTransaction ? "Valid" : "Invalid", transactionHash);
     }
 
     public void receiveDspVote(TransactionDspVote transactionDspVote) {
@@ -133,33 +147,15 @@ public class DspVoteService extends BaseNodeDspVoteService {
 
     }
 
-    @Scheduled(fixedDelay = 1000)
-    private void sumAndSaveVotes() {
-        for (Map.Entry<Hash, List<DspVote>> transactionHashToVotesListEntrySet :
-                transactionHashToVotesListMapping.entrySet()) {
-            Hash transactionHash = transactionHashToVotesListEntrySet.getKey();
-            try {
-                synchronized (addLockToLockMap(transactionHash)) {
-                    List<DspVote> dspVotes = transactionHashToVotesListEntrySet.getValue();
-                    if (dspVotes != null && !dspVotes.isEmpty()) {
-                        TransactionVoteData currentTransactionVoteData = transactionVotes.getByHash(transactionHash);
-                        Map<Hash, DspVote> mapHashToDspVote = currentTransactionVoteData.getDspHashToVoteMapping();
-                        dspVotes.forEach(dspVote -> mapHashToDspVote.putIfAbsent(dspVote.getVoterDspHash(), dspVote));
-                        if (isPositiveMajorityAchieved(currentTransactionVoteData)) {
-                            publishDecision(transactionHash, mapHashToDspVote, true);
-                            log.debug("Valid vote majority achieved for transaction {}", currentTransactionVoteData.getHash());
-                        } else if (isNegativeMajorityAchieved(currentTransactionVoteData)) {
-                            publishDecision(transactionHash, mapHashToDspVote, false);
-                            log.debug("Invalid vote majority achieved for transaction {}", currentTransactionVoteData.getHash());
-                        } else {
-                            log.debug("Undecided majority for transaction {}", currentTransactionVoteData.getHash());
-                        }
-                    }
-                }
-            } finally {
-                removeLockFromLocksMap(transactionHash);
+    @Scheduled(initialDelay = 10000, fixedDelay = 10000)
+    private void reportTimedOutVoteTallies() {
+        Instant timeoutTime = Instant.now().minusSeconds(dspVoteTimeoutSeconds);
+        transactionHashToVoteTallyMapping.forEach((transactionHash, dspVoteTally) -> {
+            if (dspVoteTally.getCreationTime().isBefore(timeoutTime) && dspVoteTally.markTimeoutReported()) {
+                log.warn("No dsp vote majority for transaction {} within {} seconds. Received {} of {} votes. The transaction is kept pending for further votes",
+                        transactionHash, dspVoteTimeoutSeconds, dspVoteTally.getDspHashToVoteMapping().size(), dspVoteTally.getLegalVotersCount());
             }
-        }
+        });
     }
 
     private synchronized void publishDecision(Hash transactionHash, Map<Hash, DspVote> mapHashToDspVote, boolean isLegalTransaction) {
@@ -172,7 +168,6 @@ public class DspVoteService extends BaseNodeDspVoteService {
         setIndexForDspResult(transactionData, dspConsensusResult);
         confirmationService.setDspcToTrue(dspConsensusResult);
         propagationPublisher.propagate(dspConsensusResult, Arrays.asList(NodeType.DspNode, NodeType.TrustScoreNode, NodeType.FinancialServer, NodeType.HistoryNode));
-        transactionHashToVotesListMapping.remove(transactionHash);
     }
 
     public synchronized void setIndexForDspResult(TransactionData transactionData, DspConsensusResult dspConsensusResult) {
@@ -184,28 +179,72 @@ public class DspVoteService extends BaseNodeDspVoteService {
     }
 
     public void publishDecision(Hash transactionHash) {
-        publishDecision(transactionHash, new HashMap<>(), true);
+        try {
+            synchronized (addLockToLockMap(transactionHash)) {
+                publishDecision(transactionHash, new HashMap<>(), true);
+                transactionHashToVoteTallyMapping.remove(transactionHash);
+            }
+        } finally {
+            removeLockFromLocksMap(transactionHash);
+        }
     }
 
-    private boolean isPositiveMajorityAchieved(TransactionVoteData currentVotes) {
-        long positiveVotersCount = currentVotes
-                .getDspHashToVoteMapping()
-                .values()
-                .stream()
-                .filter(DspVote::isValidTransaction)
-                .count();
-        long totalVotersCount = currentVotes.getLegalVoterDspHashes().size();
-        return positiveVotersCount > totalVotersCount / 2;
-    }
+    /**
+     * Votes of a single transaction, counted as they arrive. Once either side holds a majority of the legal voters the tally is decided
+     * and ignores any further vote. An undecided tally is kept however long it takes, so a late majority still reaches consensus.
+     */
+    private static class DspVoteTally {
+
+        private final int legalVotersCount;
+        private final Map<Hash, DspVote> dspHashToVoteMapping = new LinkedHashMap<>();
+        private final Instant creationTime = Instant.now();
+        private int positiveVotesCount;
+        private int negativeVotesCount;
+        private boolean decided;
+        private boolean timeoutReported;
+
+        private DspVoteTally(int legalVotersCount) {
+            this.legalVotersCount = legalVotersCount;
+        }
+
+        private synchronized Boolean addVote(DspVote dspVote) {
+            if (decided || dspHashToVoteMapping.putIfAbsent(dspVote.getVoterDspHash(), dspVote) != null) {
+                return null;
+            }
+            if (dspVote.isValidTransaction()) {
+                positiveVotesCount++;
+            } else {
+                negativeVotesCount++;
+            }
+            if (positiveVotesCount > legalVotersCount / 2) {
+                decided = true;
+                return true;
+            }
+            if (negativeVotesCount > legalVotersCount / 2) {
+                decided = true;
+                return false;
+            }
+            return null;
+        }
 
-    private boolean isNegativeMajorityAchieved(TransactionVoteData currentVotes) {
-        long negativeVotersCount = currentVotes
-                .getDspHashToVoteMapping()
-                .values()
-                .stream()
-                .filter(vote -> !vote.isValidTransaction())
-                .count();
-        long totalVotersCount = currentVotes.getLegalVoterDspHashes().size();
-        return negativeVotersCount > totalVotersCount / 2;
+        private synchronized boolean markTimeoutReported() {
+            if (decided || timeoutReported) {
+                return false;
+            }
+            timeoutReported = true;
+            return true;
+        }
+
+        private synchronized Map<Hash, DspVote> getDspHashToVoteMapping() {
+            return new LinkedHashMap<>(dspHashToVoteMapping);
+        }
+
+        private int getLegalVotersCount() {
+            return legalVotersCount;
+        }
+
+        private Instant getCreationTime() {
+            return creationTime;
+        }
     }
-}
\ No newline at end of file
+}
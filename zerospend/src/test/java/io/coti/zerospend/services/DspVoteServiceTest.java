@@ -0,0 +1,110 @@
+package io.coti.zerospend.services;
+
+import io.coti.basenode.communication.interfaces.IPropagationPublisher;
+import io.coti.basenode.crypto.DspConsensusCrypto;
+import io.coti.basenode.crypto.TransactionDspVoteCrypto;
+import io.coti.basenode.data.*;
+import io.coti.basenode.model.TransactionVotes;
+import io.coti.basenode.model.Transactions;
+import io.coti.basenode.services.TransactionIndexService;
+import io.coti.basenode.services.interfaces.IConfirmationService;
+import io.coti.basenode.services.interfaces.INetworkService;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DspVoteServiceTest {
+
+    private static final int NUMBER_OF_DSP_NODES = 3;
+    private DspVoteService dspVoteService;
+    private TransactionVotes transactionVotes;
+    private IPropagationPublisher propagationPublisher;
+    private List<Hash> dspNodeHashes;
+    private TransactionData transactionData;
+
+    @Before
+    public void setUp() {
+        dspVoteService = new DspVoteService();
+        transactionVotes = Mockito.mock(TransactionVotes.class);
+        propagationPublisher = Mockito.mock(IPropagationPublisher.class);
+        transactionData = new TransactionData(new ArrayList<>(), generateHash(0), "", 80, Instant.now(), TransactionType.Payment);
+        Transactions transactions = Mockito.mock(Transactions.class);
+        Mockito.when(transactions.getByHash(transactionData.getHash())).thenReturn(transactionData);
+        TransactionDspVoteCrypto transactionDspVoteCrypto = Mockito.mock(TransactionDspVoteCrypto.class);
+        Mockito.when(transactionDspVoteCrypto.verifySignature(ArgumentMatchers.any())).thenReturn(true);
+        TransactionIndexService transactionIndexService = Mockito.mock(TransactionIndexService.class);
+        Mockito.when(transactionIndexService.getLastTransactionIndexData()).thenReturn(new TransactionIndexData(generateHash(1), 0, new byte[0]));
+        Map<Hash, NetworkNodeData> dspNodes = new HashMap<>();
+        dspNodeHashes = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_DSP_NODES; i++) {
+            NetworkNodeData networkNodeData = new NetworkNodeData();
+            networkNodeData.setHash(generateHash(10 + i));
+            dspNodes.put(networkNodeData.getHash(), networkNodeData);
+            dspNodeHashes.add(networkNodeData.getHash());
+        }
+        INetworkService networkService = Mockito.mock(INetworkService.class);
+        Mockito.when(networkService.getMapFromFactory(NodeType.DspNode)).thenReturn(dspNodes);
+
+        ReflectionTestUtils.setField(dspVoteService, "transactionVotes", transactionVotes);
+        ReflectionTestUtils.setField(dspVoteService, "transactions", transactions);
+        ReflectionTestUtils.setField(dspVoteService, "transactionDspVoteCrypto", transactionDspVoteCrypto);
+        ReflectionTestUtils.setField(dspVoteService, "dspConsensusCrypto", Mockito.mock(DspConsensusCrypto.class));
+        ReflectionTestUtils.setField(dspVoteService, "transactionIndexService", transactionIndexService);
+        ReflectionTestUtils.setField(dspVoteService, "networkService", networkService);
+        ReflectionTestUtils.setField(dspVoteService, "confirmationService", Mockito.mock(IConfirmationService.class));
+        ReflectionTestUtils.setField(dspVoteService, "propagationPublisher", propagationPublisher);
+        ReflectionTestUtils.setField(dspVoteService, "dspVoteTimeoutSeconds", 0L);
+        dspVoteService.init();
+
+        dspVoteService.preparePropagatedTransactionForVoting(transactionData);
+        ArgumentCaptor<TransactionVoteData> transactionVoteDataCaptor = ArgumentCaptor.forClass(TransactionVoteData.class);
+        Mockito.verify(transactionVotes).put(transactionVoteDataCaptor.capture());
+        Mockito.when(transactionVotes.getByHash(transactionData.getHash())).thenReturn(transactionVoteDataCaptor.getValue());
+    }
+
+    @Test
+    public void receiveDspVote_majority_publishedOnceWithMajorityResult() {
+        dspVoteService.receiveDspVote(generateDspVote(0, false));
+        dspVoteService.receiveDspVote(generateDspVote(1, false));
+        dspVoteService.receiveDspVote(generateDspVote(2, true));
+
+        ArgumentCaptor<DspConsensusResult> dspConsensusResultCaptor = ArgumentCaptor.forClass(DspConsensusResult.class);
+        Mockito.verify(propagationPublisher, Mockito.times(1)).propagate(dspConsensusResultCaptor.capture(), ArgumentMatchers.anyList());
+        Assert.assertFalse(dspConsensusResultCaptor.getValue().isDspConsensus());
+        Assert.assertEquals(2, dspConsensusResultCaptor.getValue().getDspVotes().size());
+        Assert.assertSame(dspConsensusResultCaptor.getValue(), transactionData.getDspConsensusResult());
+    }
+
+    @Test
+    public void receiveDspVote_majorityAfterTimeout_stillPublished() {
+        dspVoteService.receiveDspVote(generateDspVote(0, true));
+        ReflectionTestUtils.invokeMethod(dspVoteService, "reportTimedOutVoteTallies");
+        Mockito.verify(propagationPublisher, Mockito.never()).propagate(ArgumentMatchers.any(), ArgumentMatchers.anyList());
+
+        dspVoteService.receiveDspVote(generateDspVote(1, true));
+
+        ArgumentCaptor<DspConsensusResult> dspConsensusResultCaptor = ArgumentCaptor.forClass(DspConsensusResult.class);
+        Mockito.verify(propagationPublisher).propagate(dspConsensusResultCaptor.capture(), ArgumentMatchers.anyList());
+        Assert.assertTrue(dspConsensusResultCaptor.getValue().isDspConsensus());
+    }
+
+    private TransactionDspVote generateDspVote(int dspNodeIndex, boolean validTransaction) {
+        TransactionDspVote transactionDspVote = new TransactionDspVote(transactionData.getHash(), validTransaction);
+        transactionDspVote.setVoterDspHash(dspNodeHashes.get(dspNodeIndex));
+        return transactionDspVote;
+    }
+
+    private Hash generateHash(int value) {
+        return new Hash(String.format("%064x", value));
+    }
+}